@@ -0,0 +1,71 @@
+package com.easyjava.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.TableInfoAssembler;
+
+/**
+ * 表结构组装基准：字段名转驼峰、SQL 类型映射，以及组装整张表
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemaBenchmark {
+
+    @Param({ "10", "50", "200" })
+    private int columns;
+
+    private String[] fieldNames;
+
+    private String[] sqlTypes;
+
+    @Setup
+    public void setUp() {
+        TableInfo tableInfo = TableFixtures.create(columns, 0);
+        fieldNames = new String[columns];
+        sqlTypes = new String[columns];
+        for (int i = 0; i < columns; i++) {
+            fieldNames[i] = tableInfo.getFieldList().get(i).getFieldName();
+            sqlTypes[i] = tableInfo.getFieldList().get(i).getSqlType();
+        }
+    }
+
+    @Benchmark
+    public void processField(Blackhole blackhole) {
+        for (String fieldName : fieldNames) {
+            blackhole.consume(TableInfoAssembler.processField(fieldName, false));
+        }
+    }
+
+    @Benchmark
+    public void processJavaType(Blackhole blackhole) {
+        for (String sqlType : sqlTypes) {
+            blackhole.consume(TableInfoAssembler.processJavaType(sqlType));
+        }
+    }
+
+    @Benchmark
+    public TableInfo assembleTable() {
+        return TableFixtures.create(columns, 3);
+    }
+}
@@ -0,0 +1,72 @@
+package com.easyjava.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.easyjava.bean.ShardingConfig;
+import com.easyjava.sharding.ShardingExecutor;
+
+/**
+ * 分表索引计算基准，覆盖各分表策略
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShardingBenchmark {
+
+    private static final String TABLE_NAME = "order_info";
+
+    @Param({ "hash", "mod", "range" })
+    private String strategyType;
+
+    private ShardingExecutor executor;
+
+    private long numericValue;
+
+    private String stringValue;
+
+    @Setup
+    public void setUp() {
+        executor = new ShardingExecutor();
+
+        ShardingConfig config = executor.getShardingConfig();
+        config.setEnabled(true);
+        config.setStrategyType(strategyType);
+        config.setTableCount(16);
+        Map<String, String> fieldConfig = new HashMap<>();
+        fieldConfig.put(TABLE_NAME, "user_id");
+        config.setFieldConfig(fieldConfig);
+
+        numericValue = 123_456_789L;
+        stringValue = "user_123456789";
+    }
+
+    @Benchmark
+    public int numericShardIndex() {
+        return executor.calculateShardIndex(TABLE_NAME, numericValue);
+    }
+
+    @Benchmark
+    public int stringShardIndex() {
+        return executor.calculateShardIndex(TABLE_NAME, stringValue);
+    }
+}
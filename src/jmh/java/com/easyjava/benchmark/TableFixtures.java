@@ -0,0 +1,32 @@
+package com.easyjava.benchmark;
+
+import java.util.Random;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.SyntheticSchema;
+
+/**
+ * 基准测试使用的合成表结构，固定随机种子，同样的列数和索引数每次得到相同的表
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public final class TableFixtures {
+
+    private static final String[] COLUMN_TYPES = { "varchar(64)", "int", "datetime", "decimal(10,2)", "bigint",
+            "tinyint", "text", "date" };
+
+    private TableFixtures() {
+    }
+
+    /**
+     * 创建合成表
+     *
+     * @param columns 列数，至少为1
+     * @param indexes 主键以外的唯一索引数，每个索引包含一到两列
+     */
+    public static TableInfo create(int columns, int indexes) {
+        return SyntheticSchema.createTable("bench_table_" + columns, columns, indexes, COLUMN_TYPES,
+                new Random(columns));
+    }
+}
@@ -0,0 +1,69 @@
+package com.easyjava.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.easyjava.manager.TemplateManager;
+
+/**
+ * 模板变量替换基准：模板行数随表宽增长，分别使用简单变量和需要按属性取值的嵌套变量
+ * 模板中只引用表级变量都能解析到的占位符，避免每次替换都输出“未找到模板变量”的警告
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateBenchmark {
+
+    @Param({ "10", "50", "200" })
+    private int columns;
+
+    private String simpleTemplate;
+
+    private String nestedTemplate;
+
+    private Map<String, Object> variables;
+
+    @Setup
+    public void setUp() {
+        variables = TemplateManager.createTableVariables(TableFixtures.create(columns, 3));
+
+        // 每列一行，每行三个变量
+        StringBuilder simple = new StringBuilder();
+        StringBuilder nested = new StringBuilder();
+        for (int i = 0; i < columns; i++) {
+            simple.append("private ${beanName} field").append(i).append("; // ${tableName} ${comment}\n");
+            nested.append("private ${table.beanName} field").append(i)
+                    .append("; // ${table.tableName} ${firstField.propertyName}\n");
+        }
+        simpleTemplate = simple.toString();
+        nestedTemplate = nested.toString();
+    }
+
+    @Benchmark
+    public String processSimpleVariables() {
+        return TemplateManager.processTemplate(simpleTemplate, variables);
+    }
+
+    @Benchmark
+    public String processNestedVariables() {
+        return TemplateManager.processTemplate(nestedTemplate, variables);
+    }
+}
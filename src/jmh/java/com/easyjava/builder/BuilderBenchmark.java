@@ -0,0 +1,78 @@
+package com.easyjava.builder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.benchmark.TableFixtures;
+
+/**
+ * 代码生成器基准：Mapper XML 渲染、表模型构建和增量生成使用的表结构哈希
+ * 与被测的包内方法放在同一个包中
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderBenchmark {
+
+    @Param({ "10", "50", "200" })
+    private int columns;
+
+    @Param({ "1", "5" })
+    private int indexes;
+
+    private TableInfo tableInfo;
+
+    private TableModel model;
+
+    private StringBuilder buffer;
+
+    @Setup
+    public void setUp() {
+        tableInfo = TableFixtures.create(columns, indexes);
+        model = new TableModel(tableInfo);
+        buffer = new StringBuilder(64 * 1024);
+    }
+
+    @Benchmark
+    public int renderMapperXml() throws IOException {
+        buffer.setLength(0);
+        ArtifactType.MAPPER_XML.render(model, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public int renderPo() throws IOException {
+        buffer.setLength(0);
+        ArtifactType.PO.render(model, buffer);
+        return buffer.length();
+    }
+
+    @Benchmark
+    public TableModel createTableModel() {
+        return new TableModel(tableInfo);
+    }
+
+    @Benchmark
+    public String calculateTableStructureHash() {
+        return IncrementalGenerator.calculateTableStructureHash(tableInfo);
+    }
+}
@@ -1,6 +1,13 @@
 package com.easyjava;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,20 +15,23 @@ import org.slf4j.LoggerFactory;
 import com.easyjava.bean.GenerateOptions;
 import com.easyjava.bean.TableInfo;
 import com.easyjava.builder.BuildBase;
-import com.easyjava.builder.BuildController;
-import com.easyjava.builder.BuildMapper;
-import com.easyjava.builder.BuildMapperXML;
-import com.easyjava.builder.BuildPo;
-import com.easyjava.builder.BuildQuery;
-import com.easyjava.builder.BuildService;
-import com.easyjava.builder.BuildServiceImpl;
-import com.easyjava.builder.BuildTest;
 import com.easyjava.builder.BuilderTable;
+import com.easyjava.builder.GenerationEngine;
+import com.easyjava.builder.GenerationProfile;
+import com.easyjava.builder.GenerationWatcher;
 import com.easyjava.builder.IncrementalGenerator;
+import com.easyjava.builder.ScaleHarness;
+import com.easyjava.builder.TablePipeline;
 import com.easyjava.manager.DynamicConfigManager;
 import com.easyjava.manager.TemplateCommandTool;
+import com.easyjava.output.GeneratedFiles;
+import com.easyjava.schema.SchemaReader;
+import com.easyjava.schema.SchemaReaders;
+import com.easyjava.schema.SchemaSnapshot;
+import com.easyjava.schema.TableFilter;
 import com.easyjava.utils.ConfigValidator;
 import com.easyjava.utils.ConfigUtils;
+import com.easyjava.utils.JsonUtils;
 import com.easyjava.utils.PropertiesUtils;
 
 /**
@@ -35,6 +45,9 @@ public class AppEnhanced {
     
     private static final Logger log = LoggerFactory.getLogger(AppEnhanced.class);
     
+    /** 生成耗时统计文件，位于 path.base 下 */
+    private static final String PROFILE_FILE = "generation_profile.json";
+    
     public static void main(String[] args) {
         
         // 检查是否启动模板管理工具
@@ -70,6 +83,12 @@ public class AppEnhanced {
             return;
         }
         
+        // 检查是否启动大规模表结构压测
+        if (args.length > 0 && "scale-test".equalsIgnoreCase(args[0])) {
+            runScaleTest(args);
+            return;
+        }
+        
         // 检查是否从文件加载配置
         if (args.length > 1 && "--config".equalsIgnoreCase(args[0])) {
             DynamicConfigManager.loadConfigurationFromFile(args[1]);
@@ -87,17 +106,19 @@ public class AppEnhanced {
         // 配置日志
         LogbackConfig.configureLogback();
         
-        // 1. 配置验证
+        // 1. 创建生成选项
+        GenerateOptions options = createGenerateOptions(args);
+        
+        // 2. 配置验证
         log.info("步骤1: 验证配置...");
-        ConfigValidator.ValidationResult validationResult = ConfigValidator.validateAllConfig();
+        ConfigValidator.ValidationResult validationResult = ConfigValidator.validateAllConfig(
+                options.isDatabaseRequired());
         
         if (!validationResult.isValid()) {
             log.error("配置验证失败，程序终止");
             return;
         }
         
-        // 2. 创建生成选项
-        GenerateOptions options = createGenerateOptions(args);
         options.printOptions();
         
         try {
@@ -108,20 +129,97 @@ public class AppEnhanced {
             return;
         }
         
+        GeneratedFiles.setWriteIfChanged(options.isWriteIfChanged());
+        
+        if (options.isArchiveOutput()) {
+            try {
+                GeneratedFiles.openArchive(Paths.get(options.getOutputArchive()),
+                        Paths.get(PropertiesUtils.geString("path.base")), options.getOutputArchiveLevel());
+            } catch (IOException e) {
+                log.error("创建归档文件失败: {}", options.getOutputArchive(), e);
+                return;
+            }
+        }
+        
+        if (options.isWatch()) {
+            try {
+                new GenerationWatcher(options, () -> createGenerateOptions(args)).run();
+            } catch (IOException e) {
+                log.error("启动监听模式失败", e);
+            }
+            return;
+        }
+        
+        if (options.isProfile()) {
+            GenerationEngine.setProfile(new GenerationProfile());
+        }
+        
+        try {
+            generate(options);
+        } finally {
+            closeArchive();
+            reportProfile(options);
+        }
+    }
+    
+    /**
+     * 生成基础类和各表代码
+     * 开启暂存时基础类和各表代码在同一次暂存中，任何一步失败都放弃本次生成的全部文件；
+     * 表结构指纹在提交成功后才记录
+     */
+    private static void generate(GenerateOptions options) {
+        List<Runnable> afterCommit = new ArrayList<>();
+        if (GenerationEngine.runStaged(options, () -> generateFiles(options, afterCommit))) {
+            afterCommit.forEach(Runnable::run);
+        }
+    }
+    
+    /**
+     * 生成基础类和各表代码
+     * 
+     * @param afterCommit 生成文件提交后才执行的操作
+     * @return 是否全部成功
+     */
+    private static boolean generateFiles(GenerateOptions options, List<Runnable> afterCommit) {
         // 3. 生成基础类（如果需要）
         if (options.isGenerateBaseClasses()) {
             log.info("步骤2: 生成基础类...");
             BuildBase.execute();
         }
         
+        // 流水线模式：边读取表结构边生成代码
+        if (options.isPipeline()) {
+            if (options.isIncrementalGenerate()) {
+                log.warn("增量生成需要先比较所有表，流水线模式不可用，改为批量读取");
+            } else if (options.getSaveSnapshotPath() != null && !options.getSaveSnapshotPath().trim().isEmpty()) {
+                log.warn("保存表结构快照需要读取全部表，流水线模式不可用，改为批量读取");
+            } else {
+                return generatePipelined(options);
+            }
+        }
+        
         // 4. 获取表信息
         log.info("步骤3: 获取数据库表信息...");
-        List<TableInfo> allTables = BuilderTable.GetTables();
+        Map<String, String> fingerprints = loadFingerprints(options);
+        List<TableInfo> allTables;
+        if (fingerprints != null && !fingerprints.isEmpty()) {
+            Set<String> tableNames = IncrementalGenerator.getTablesToIntrospect(fingerprints);
+            if (tableNames.isEmpty()) {
+                log.info("所有表的结构指纹均未变化，无需生成代码");
+                return true;
+            }
+            allTables = readTables(options, TableFilter.ofNames(tableNames));
+        } else {
+            allTables = loadTables(options);
+        }
+        if (allTables == null) {
+            return false;
+        }
         log.info("共发现 {} 个表", allTables.size());
         
         if (allTables.isEmpty()) {
             log.warn("没有发现任何表，程序结束");
-            return;
+            return true;
         }
         
         // 5. 增量生成处理
@@ -135,21 +233,72 @@ public class AppEnhanced {
         }
         
         if (tablesToGenerate.isEmpty()) {
+            if (fingerprints != null) {
+                afterCommit.add(() -> IncrementalGenerator.recordSchemaFingerprints(allTables, fingerprints));
+            }
             log.info("没有需要生成的表，程序结束");
-            return;
+            return true;
         }
         
         // 6. 生成代码
         log.info("步骤5: 开始生成代码...");
         
+        boolean success;
         if (options.isIncrementalGenerate()) {
-            IncrementalGenerator.generateChangedTables(tablesToGenerate, options);
+            success = IncrementalGenerator.generateChangedTables(tablesToGenerate, options, afterCommit);
+            if (fingerprints != null && success) {
+                afterCommit.add(() -> IncrementalGenerator.recordSchemaFingerprints(allTables, fingerprints));
+            }
         } else {
-            generateAllTables(tablesToGenerate, options);
+            success = generateAllTables(tablesToGenerate, options);
         }
         
         log.info("=== 代码生成完成 ===");
         printGenerationSummary(tablesToGenerate, options);
+        return success;
+    }
+    
+    /**
+     * 用合成的表结构压测完整生成流程，生成选项与正常生成使用相同的命令行参数
+     */
+    private static void runScaleTest(String[] args) {
+        LogbackConfig.configureLogback();
+        
+        GenerateOptions options = createGenerateOptions(args);
+        try {
+            options.validate();
+            ScaleHarness.run(args, options);
+        } catch (IllegalArgumentException e) {
+            log.error("压测参数错误: {}", e.getMessage());
+        } catch (IOException e) {
+            log.error("压测失败", e);
+        }
+    }
+    
+    /**
+     * 输出生成耗时报告，报告写出失败不影响生成结果
+     */
+    private static void reportProfile(GenerateOptions options) {
+        GenerationProfile profile = GenerationEngine.getProfile();
+        if (profile == null) {
+            return;
+        }
+        GenerationEngine.setProfile(null);
+        
+        profile.logSummary(options.getProfileTop());
+        try {
+            profile.writeJson(Paths.get(PropertiesUtils.geString("path.base"), PROFILE_FILE), options.getProfileTop());
+        } catch (IOException e) {
+            log.error("写出生成耗时统计失败", e);
+        }
+    }
+    
+    private static void closeArchive() {
+        try {
+            GeneratedFiles.closeArchive();
+        } catch (IOException e) {
+            log.error("写入归档文件失败", e);
+        }
     }
     
     /**
@@ -187,10 +336,79 @@ public class AppEnhanced {
                     options.setIncrementalGenerate(false);
                     options.setOverwriteExisting(true);
                     break;
+                case "--no-prefilter":
+                    options.setIncrementalPrefilter(false);
+                    break;
+                case "--pipeline":
+                    options.setPipeline(true);
+                    break;
+                case "--always-write":
+                    options.setWriteIfChanged(false);
+                    break;
+                case "--staged":
+                    options.setStagedOutput(true);
+                    break;
+                case "--no-archive":
+                    options.setOutputArchive("");
+                    break;
+                case "--parallel":
+                    options.setParallelGenerate(true);
+                    break;
+                case "--no-metrics":
+                    options.setIntrospectMetrics(false);
+                    break;
+                case "--profile":
+                    options.setProfile(true);
+                    break;
+                case "--watch":
+                    options.setWatch(true);
+                    break;
+                case "--metrics-json":
+                    options.setIntrospectMetricsJson(true);
+                    break;
                 case "--help":
                     printUsage();
                     System.exit(0);
                     break;
+                default:
+                    if (arg.startsWith("--introspect=")) {
+                        options.setIntrospectMode(arg.substring("--introspect=".length()));
+                    } else if (arg.startsWith("--introspect-pool=")) {
+                        options.setIntrospectPoolSize(
+                                Integer.parseInt(arg.substring("--introspect-pool=".length())));
+                    } else if (arg.startsWith("--snapshot=")) {
+                        options.setSchemaSource("snapshot");
+                        options.setSnapshotPath(arg.substring("--snapshot=".length()));
+                    } else if (arg.startsWith("--ddl=")) {
+                        options.setSchemaSource("ddl");
+                        options.setDdlPath(arg.substring("--ddl=".length()));
+                    } else if (arg.startsWith("--pipeline-queue=")) {
+                        options.setPipelineQueueSize(
+                                Integer.parseInt(arg.substring("--pipeline-queue=".length())));
+                    } else if (arg.startsWith("--parallel-executor=")) {
+                        options.setParallelGenerate(true);
+                        options.setParallelExecutor(arg.substring("--parallel-executor=".length()));
+                    } else if (arg.startsWith("--parallel-threads=")) {
+                        options.setParallelGenerate(true);
+                        options.setParallelThreads(
+                                Integer.parseInt(arg.substring("--parallel-threads=".length())));
+                    } else if (arg.startsWith("--watch-interval=")) {
+                        options.setWatch(true);
+                        options.setWatchInterval(
+                                Integer.parseInt(arg.substring("--watch-interval=".length())));
+                    } else if (arg.startsWith("--archive=")) {
+                        options.setOutputArchive(arg.substring("--archive=".length()));
+                    } else if (arg.startsWith("--archive-level=")) {
+                        options.setOutputArchiveLevel(
+                                Integer.parseInt(arg.substring("--archive-level=".length())));
+                    } else if (arg.startsWith("--include=")) {
+                        options.setTablesInclude(arg.substring("--include=".length()));
+                    } else if (arg.startsWith("--exclude=")) {
+                        options.setTablesExclude(arg.substring("--exclude=".length()));
+                    } else if (arg.startsWith("--save-snapshot=")) {
+                        options.setSaveSnapshotPath(arg.substring("--save-snapshot=".length()));
+                    }
+                    break;
             }
         }
         
@@ -198,75 +416,160 @@ public class AppEnhanced {
     }
     
     /**
-     * 生成所有表的代码
+     * 增量生成时先读取表结构指纹，用于跳过未变化表的逐表读取
+     * 
+     * @return 表名到指纹的映射，不适用或读取失败时返回null
      */
-    private static void generateAllTables(List<TableInfo> tables, GenerateOptions options) {
-        
-        int totalTables = tables.size();
-        int currentTable = 0;
+    private static Map<String, String> loadFingerprints(GenerateOptions options) {
+        if (!options.isIncrementalGenerate() || !options.isIncrementalPrefilter()
+                || !options.isDatabaseRequired()) {
+            return null;
+        }
         
-        for (TableInfo tableInfo : tables) {
-            currentTable++;
-            log.info("正在处理表 {}/{}: {}", currentTable, totalTables, tableInfo.getTableName());
-            
-            try {
-                generateSingleTable(tableInfo, options);
-                log.info("表 {} 处理完成", tableInfo.getTableName());
-            } catch (Exception e) {
-                log.error("处理表 {} 时发生错误", tableInfo.getTableName(), e);
-            }
+        // 保存快照需要完整的表结构
+        if (options.getSaveSnapshotPath() != null && !options.getSaveSnapshotPath().trim().isEmpty()) {
+            return null;
         }
+        
+        log.info("读取表结构指纹...");
+        return BuilderTable.GetTableFingerprints(options.getTableFilter());
     }
     
     /**
-     * 生成单个表的代码
+     * 按配置的表结构来源读取表信息
+     * 
+     * @return 表信息列表，读取失败时返回null
      */
-    private static void generateSingleTable(TableInfo tableInfo, GenerateOptions options) {
-        
-        if (options.isGeneratePo()) {
-            BuildPo.execute(tableInfo);
-        }
+    private static List<TableInfo> loadTables(GenerateOptions options) {
         
-        if (options.isGenerateQuery()) {
-            BuildQuery.execute(tableInfo);
+        List<TableInfo> tables;
+        if (options.isDatabaseRequired()) {
+            tables = readTables(options, options.getTableFilter());
+            if (tables == null) {
+                return null;
+            }
+        } else {
+            SchemaReader reader = SchemaReaders.create(options, null);
+            try {
+                tables = reader.readAll(options.getTableFilter());
+            } catch (Exception e) {
+                log.error("读取表结构失败，读取器: {}", reader.getName(), e);
+                return null;
+            }
         }
         
-        if (options.isGenerateMapper()) {
-            BuildMapper.execute(tableInfo);
+        // 已经是快照时不再重复保存
+        String saveSnapshotPath = options.getSaveSnapshotPath();
+        if (saveSnapshotPath != null && !saveSnapshotPath.trim().isEmpty()
+                && !"snapshot".equalsIgnoreCase(options.getSchemaSource())) {
+            try {
+                SchemaSnapshot.save(tables, Paths.get(saveSnapshotPath));
+            } catch (IOException e) {
+                log.error("保存表结构快照失败: {}", saveSnapshotPath, e);
+            }
         }
         
-        if (options.isGenerateMapperXml()) {
-            BuildMapperXML.execute(tableInfo);
+        return tables;
+    }
+    
+    /**
+     * 从数据库读取表信息
+     * 
+     * @return 表信息列表，连接或查询失败时返回null，不把失败当作没有表
+     */
+    private static List<TableInfo> readTables(GenerateOptions options, TableFilter filter) {
+        try {
+            return BuilderTable.ReadTables(options, filter);
+        } catch (Exception e) {
+            log.error("读取表结构失败", e);
+            return null;
         }
-        
-        if (options.isGenerateService()) {
-            BuildService.execute(tableInfo);
+    }
+    
+    /**
+     * 流水线模式生成
+     * 表结构在读取线程上逐表读取，经有界队列交给当前线程生成代码，不再先加载全部表
+     * 
+     * @return 是否全部成功
+     */
+    private static boolean generatePipelined(GenerateOptions options) {
+        log.info("步骤3: 流水线模式，边读取表结构边生成代码...");
+        
+        Map<String, String> generatedTables = new LinkedHashMap<>();
+        List<String> failures = new ArrayList<>();
+        
+        int count = TablePipeline.run(sink -> streamTables(options, sink), options.getPipelineQueueSize(),
+                tableInfo -> {
+                    log.info("正在处理表 {}: {}", generatedTables.size() + 1, tableInfo.getTableName());
+                    if (log.isDebugEnabled()) {
+                        log.debug(JsonUtils.convertObject2Json(tableInfo));
+                    }
+                    
+                    failures.addAll(GenerationEngine.generateTable(tableInfo, options));
+                    generatedTables.put(tableInfo.getTableName(), tableInfo.getComment());
+                });
+        
+        if (count < 0) {
+            return false;
         }
         
-        if (options.isGenerateServiceImpl()) {
-            BuildServiceImpl.execute(tableInfo);
+        if (count == 0) {
+            log.warn("没有发现任何表，程序结束");
+            return true;
         }
         
-        if (options.isGenerateController()) {
-            BuildController.execute(tableInfo);
+        log.info("=== 代码生成完成 ===");
+        printGenerationSummary(generatedTables, options);
+        return failures.isEmpty();
+    }
+    
+    /**
+     * 按配置的表结构来源逐表读取，每读取完一个表交给 sink
+     */
+    private static void streamTables(GenerateOptions options, Consumer<TableInfo> sink) throws Exception {
+        if (options.isDatabaseRequired()) {
+            BuilderTable.StreamTables(options, sink);
+        } else {
+            SchemaReaders.create(options, null).read(options.getTableFilter(), sink);
         }
-        
-        if (options.isGenerateTests()) {
-            BuildTest.executeServiceTest(tableInfo);
-            BuildTest.executeControllerTest(tableInfo);
+    }
+    
+    /**
+     * 生成所有表的代码
+     * 
+     * @return 是否全部成功
+     */
+    private static boolean generateAllTables(List<TableInfo> tables, GenerateOptions options) {
+        List<String> failures = GenerationEngine.generate(tables, options);
+        if (!failures.isEmpty()) {
+            log.warn("{} 个生成任务失败: {}", failures.size(), failures);
         }
+        return failures.isEmpty();
     }
     
     /**
      * 打印生成摘要
      */
     private static void printGenerationSummary(List<TableInfo> tables, GenerateOptions options) {
+        Map<String, String> tableComments = new LinkedHashMap<>();
+        for (TableInfo table : tables) {
+            tableComments.put(table.getTableName(), table.getComment());
+        }
+        printGenerationSummary(tableComments, options);
+    }
+    
+    /**
+     * 打印生成摘要
+     * 
+     * @param tableComments 表名到表注释的映射
+     */
+    private static void printGenerationSummary(Map<String, String> tableComments, GenerateOptions options) {
         log.info("");
         log.info("=== 生成摘要 ===");
-        log.info("处理表数量: {}", tables.size());
+        log.info("处理表数量: {}", tableComments.size());
         
-        for (TableInfo table : tables) {
-            log.info("  - {} ({})", table.getTableName(), table.getComment());
+        for (Map.Entry<String, String> table : tableComments.entrySet()) {
+            log.info("  - {} ({})", table.getKey(), table.getValue());
         }
         
         log.info("");
@@ -281,6 +584,7 @@ public class AppEnhanced {
         if (options.isGenerateTests()) log.info("  ✅ 测试类");
         
         log.info("");
+        log.info("生成文件: {}", GeneratedFiles.getStats());
         log.info("代码输出目录: {}", PropertiesUtils.geString("path.base"));
         log.info("===============");
     }
@@ -300,6 +604,7 @@ public class AppEnhanced {
         System.out.println("  sharding        启动分表交互式配置管理器");
         System.out.println("  auto-sharding   直接读取配置执行分表 (无交互)");
         System.out.println("  check-sharding  检查分表配置 (无交互)");
+        System.out.println("  scale-test      用合成表结构压测生成流程，写入临时目录，不连接数据库");
         System.out.println("  --show-config   显示当前配置信息");
         System.out.println("");
         System.out.println("生成选项:");
@@ -311,6 +616,29 @@ public class AppEnhanced {
         System.out.println("  --with-tests    生成测试代码");
         System.out.println("  --with-swagger  生成Swagger注解");
         System.out.println("  --force         强制重新生成所有文件");
+        System.out.println("  --no-prefilter  增量生成时不使用表结构指纹预筛选");
+        System.out.println("  --introspect=<mode>  表结构读取模式: show(逐表) / bulk(information_schema批量) / parallel(并行) / jdbc(JDBC元数据)");
+        System.out.println("  --introspect-pool=<n> 并行读取表结构的线程数，连接借自共享连接池，最多为连接池大小减1");
+        System.out.println("  --no-metrics    不打印表结构读取统计");
+        System.out.println("  --metrics-json  把表结构读取统计写到 path.base/introspection_metrics.json");
+        System.out.println("  --profile       统计每个表、每种代码的生成耗时，输出报告并写到 path.base/" + PROFILE_FILE);
+        System.out.println("  --snapshot=<file>      从表结构快照读取，不连接数据库");
+        System.out.println("  --ddl=<dir>            解析建表脚本目录(.sql)，不连接数据库");
+        System.out.println("  --include=<tables>     只生成指定表，逗号分隔，支持 * ? 通配符和 regex: 前缀");
+        System.out.println("  --exclude=<tables>     排除指定表，格式同 --include");
+        System.out.println("  --save-snapshot=<file> 读取表结构后保存表结构快照");
+        System.out.println("  --pipeline             流水线模式，边读取表结构边生成代码，适合大库");
+        System.out.println("  --pipeline-queue=<n>   流水线队列容量");
+        System.out.println("  --always-write         每次都重写生成文件，不比较内容");
+        System.out.println("  --staged               先暂存生成文件，全部成功后再统一提交到输出目录");
+        System.out.println("  --archive=<文件>       生成文件直接写入 zip/jar 文件，不写入输出目录");
+        System.out.println("  --archive-level=<n>    归档压缩级别 0-9，0 表示不压缩");
+        System.out.println("  --no-archive           关闭配置文件中的归档输出");
+        System.out.println("  --parallel             并行生成，每个表的每种代码作为独立任务");
+        System.out.println("  --parallel-executor=<type> 并行执行器: virtual(虚拟线程) / forkjoin / fixed");
+        System.out.println("  --parallel-threads=<n> forkjoin / fixed 执行器的线程数，默认CPU核数");
+        System.out.println("  --watch                监听模式，表结构、自定义模板或配置文件变化时只重新生成受影响的代码");
+        System.out.println("  --watch-interval=<ms>  监听模式检查表结构变化的间隔");
         System.out.println("  --help          显示此帮助信息");
         System.out.println("");
         System.out.println("示例:");
@@ -319,6 +647,22 @@ public class AppEnhanced {
         System.out.println("  java -jar easyjava.jar auto-sharding");
         System.out.println("  java -jar easyjava.jar --full --incremental");
         System.out.println("  java -jar easyjava.jar --basic --overwrite");
+        System.out.println("  java -jar easyjava.jar --save-snapshot=schema.ejss");
+        System.out.println("  java -jar easyjava.jar --snapshot=schema.ejss");
+        System.out.println("  java -jar easyjava.jar --ddl=db/migration");
+        System.out.println("  java -jar easyjava.jar --include=user_*,order_info --exclude=*_bak");
+        System.out.println("  java -jar easyjava.jar --watch --ddl=db/migration");
+        System.out.println("");
+        System.out.println("压测选项 (scale-test):");
+        System.out.println("  --tables=<n,...>       表数量，逗号分隔时依次压测各个规模，默认 1000");
+        System.out.println("  --columns=<n>          每表列数，默认 20");
+        System.out.println("  --indexes=<n>          每表主键以外的唯一索引数，默认 2");
+        System.out.println("  --types=<types>        字段类型，逗号分隔，默认 SqlTypeMapper 支持的所有类型");
+        System.out.println("  --seed=<n>             随机种子");
+        System.out.println("  --discard              只渲染和统计，不写入文件");
+        System.out.println("  --keep                 保留生成文件所在的临时目录");
+        System.out.println("  --report=<file>        把压测结果写成JSON");
+        System.out.println("  java -jar easyjava.jar scale-test --tables=100,1000,10000 --columns=200 --parallel");
         System.out.println("");
         System.out.println("分表功能:");
         System.out.println("  sharding        - 交互式分表配置 (可配置各种参数)");
@@ -55,6 +55,13 @@ public class Constants {
     public static String BEAN_DATE_DESERIALIZATIO_CLASS;
 
     static {
+        reload();
+    }
+
+    /**
+     * 按当前配置重新计算后缀、包名和输出路径，配置重新加载后调用
+     */
+    public static void reload() {
 
         // 生成作者名
         AUTHER_COMMENT = PropertiesUtils.geString("auther.comment");
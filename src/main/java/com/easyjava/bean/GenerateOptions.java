@@ -1,5 +1,10 @@
 package com.easyjava.bean;
 
+import java.util.regex.PatternSyntaxException;
+
+import com.easyjava.schema.TableFilter;
+import com.easyjava.utils.PropertiesUtils;
+
 /**
  * 代码生成选项配置类
  * 用于控制哪些代码需要生成
@@ -45,6 +50,81 @@ public class GenerateOptions {
     /** 是否生成基础类（如果不存在的话） */
     private boolean generateBaseClasses = true;
     
+    /** 表结构读取模式：show（逐表查询）、bulk（information_schema批量查询）、parallel（连接池并行查询）或 jdbc（JDBC元数据，适用于非MySQL数据库） */
+    private String introspectMode = PropertiesUtils.getString("generate.introspect.mode", "show");
+    
+    /** 并行读取表结构的线程数，连接借自共享连接池 */
+    private int introspectPoolSize = PropertiesUtils.getInt("generate.introspect.pool.size", 4);
+    
+    /** 表结构读取结束后打印每类查询的耗时、行数和最慢的表 */
+    private boolean introspectMetrics = PropertiesUtils.getBoolean("generate.introspect.metrics", true);
+    
+    /** 同时把表结构读取统计以JSON格式写到 path.base 下 */
+    private boolean introspectMetricsJson = PropertiesUtils.getBoolean("generate.introspect.metrics.json", false);
+    
+    /** 表结构读取统计中列出的最慢表数量 */
+    private int introspectMetricsTop = PropertiesUtils.getInt("generate.introspect.metrics.top", 10);
+    
+    /** 记录每个表、每种代码的渲染和写入耗时，生成结束后输出报告和JSON */
+    private boolean profile = PropertiesUtils.getBoolean("generate.profile", false);
+    
+    /** 耗时报告中列出的最慢表数量 */
+    private int profileTop = PropertiesUtils.getInt("generate.profile.top", 20);
+    
+    /** 表结构来源：database（连接数据库读取）、snapshot（读取快照文件）或 ddl（解析建表脚本） */
+    private String schemaSource = PropertiesUtils.getString("generate.schema.source", "database");
+    
+    /** 表结构快照文件路径（schemaSource 为 snapshot 时读取） */
+    private String snapshotPath = PropertiesUtils.getString("generate.schema.snapshot.path");
+    
+    /** 读取数据库后保存表结构快照的路径，为空时不保存 */
+    private String saveSnapshotPath = PropertiesUtils.getString("generate.schema.snapshot.save.path");
+    
+    /** 建表脚本目录或文件（schemaSource 为 ddl 时读取） */
+    private String ddlPath = PropertiesUtils.getString("generate.schema.ddl.path");
+    
+    /** 只生成这些表，逗号分隔，支持通配符和 regex: 前缀，为空表示全部 */
+    private String tablesInclude = PropertiesUtils.getString("generate.tables.include");
+    
+    /** 排除这些表，格式同 tablesInclude */
+    private String tablesExclude = PropertiesUtils.getString("generate.tables.exclude");
+    
+    /** 增量生成时先用 information_schema 表结构指纹预筛选，跳过未变化表的逐表读取 */
+    private boolean incrementalPrefilter = PropertiesUtils.getBoolean("generate.incremental.prefilter", true);
+    
+    /** 流水线模式：边读取表结构边生成代码，不先把所有表加载到内存 */
+    private boolean pipeline = PropertiesUtils.getBoolean("generate.pipeline", false);
+    
+    /** 流水线模式下读取与生成之间的队列容量 */
+    private int pipelineQueueSize = PropertiesUtils.getInt("generate.pipeline.queue.size", 8);
+    
+    /** 并行生成：每个（表，代码类型）作为独立任务并行执行 */
+    private boolean parallelGenerate = PropertiesUtils.getBoolean("generate.parallel", false);
+    
+    /** 并行生成的执行器：virtual（虚拟线程）、forkjoin 或 fixed（固定线程池） */
+    private String parallelExecutor = PropertiesUtils.getString("generate.parallel.executor", "virtual");
+    
+    /** forkjoin / fixed 执行器的线程数，0 表示使用 CPU 核数 */
+    private int parallelThreads = PropertiesUtils.getInt("generate.parallel.threads", 0);
+    
+    /** 只在内容变化时写入生成文件，未变化的文件保持原有修改时间 */
+    private boolean writeIfChanged = PropertiesUtils.getBoolean("generate.write.if.changed", true);
+    
+    /** 暂存输出：生成文件先写入暂存区，全部成功后再统一原子提交到输出目录 */
+    private boolean stagedOutput = PropertiesUtils.getBoolean("generate.output.staging", false);
+    
+    /** 归档输出：生成文件直接写入该 zip / jar 文件，为空时写入输出目录 */
+    private String outputArchive = PropertiesUtils.getString("generate.output.archive", "");
+    
+    /** 归档压缩级别 0-9，0 表示不压缩 */
+    private int outputArchiveLevel = PropertiesUtils.getInt("generate.output.archive.level", 6);
+    
+    /** 监听模式：首次生成后常驻运行，表结构、模板或配置文件变化时只重新生成受影响的代码 */
+    private boolean watch = PropertiesUtils.getBoolean("generate.watch", false);
+    
+    /** 监听模式检查表结构变化的间隔（毫秒） */
+    private int watchInterval = PropertiesUtils.getInt("generate.watch.interval", 1000);
+    
     /**
      * 默认构造函数
      */
@@ -93,6 +173,77 @@ public class GenerateOptions {
         if (generateMapperXml && !generateMapper) {
             throw new IllegalArgumentException("生成Mapper XML需要同时生成Mapper接口");
         }
+        
+        if (!"show".equalsIgnoreCase(introspectMode) && !"bulk".equalsIgnoreCase(introspectMode)
+                && !"parallel".equalsIgnoreCase(introspectMode) && !"jdbc".equalsIgnoreCase(introspectMode)) {
+            throw new IllegalArgumentException("不支持的表结构读取模式: " + introspectMode);
+        }
+        
+        if (introspectPoolSize < 1) {
+            throw new IllegalArgumentException("表结构读取并行线程数必须大于0");
+        }
+        
+        if (profileTop < 1) {
+            throw new IllegalArgumentException("耗时报告的最慢表数量必须大于0");
+        }
+        
+        if (introspectMetricsTop < 1) {
+            throw new IllegalArgumentException("表结构读取统计中的最慢表数量必须大于0");
+        }
+        
+        if (!"database".equalsIgnoreCase(schemaSource) && !"snapshot".equalsIgnoreCase(schemaSource)
+                && !"ddl".equalsIgnoreCase(schemaSource)) {
+            throw new IllegalArgumentException("不支持的表结构来源: " + schemaSource);
+        }
+        
+        if ("snapshot".equalsIgnoreCase(schemaSource) && (snapshotPath == null || snapshotPath.trim().isEmpty())) {
+            throw new IllegalArgumentException("使用快照作为表结构来源时需要配置快照文件路径");
+        }
+        
+        if ("ddl".equalsIgnoreCase(schemaSource) && (ddlPath == null || ddlPath.trim().isEmpty())) {
+            throw new IllegalArgumentException("使用建表脚本作为表结构来源时需要配置脚本路径");
+        }
+        
+        if (!"virtual".equalsIgnoreCase(parallelExecutor) && !"forkjoin".equalsIgnoreCase(parallelExecutor)
+                && !"fixed".equalsIgnoreCase(parallelExecutor)) {
+            throw new IllegalArgumentException("不支持的并行生成执行器: " + parallelExecutor);
+        }
+        
+        if (parallelThreads < 0) {
+            throw new IllegalArgumentException("并行生成线程数不能小于0");
+        }
+        
+        if (isArchiveOutput()) {
+            if (stagedOutput) {
+                throw new IllegalArgumentException("归档输出与暂存输出不能同时开启");
+            }
+            if (incrementalGenerate) {
+                throw new IllegalArgumentException("归档输出只支持完整生成，不能与增量生成同时开启");
+            }
+        }
+        
+        if (outputArchiveLevel < 0 || outputArchiveLevel > 9) {
+            throw new IllegalArgumentException("归档压缩级别必须在0到9之间");
+        }
+        
+        if (pipelineQueueSize < 1) {
+            throw new IllegalArgumentException("流水线队列容量必须大于0");
+        }
+        
+        if (watch) {
+            if (isArchiveOutput()) {
+                throw new IllegalArgumentException("监听模式会反复写入输出目录，不能与归档输出同时开启");
+            }
+            if (watchInterval < 100) {
+                throw new IllegalArgumentException("监听间隔不能小于100毫秒");
+            }
+        }
+        
+        try {
+            getTableFilter();
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("表名过滤规则中的正则表达式无效: " + e.getPattern());
+        }
     }
     
     /**
@@ -111,6 +262,45 @@ public class GenerateOptions {
         System.out.println("Swagger注解: " + (generateSwagger ? "✅" : "❌"));
         System.out.println("覆盖已存在文件: " + (overwriteExisting ? "✅" : "❌"));
         System.out.println("增量生成: " + (incrementalGenerate ? "✅" : "❌"));
+        System.out.println("表结构读取模式: " + introspectMode
+                + ("parallel".equalsIgnoreCase(introspectMode) ? " (线程数: " + introspectPoolSize + ")" : ""));
+        if (introspectMetrics || introspectMetricsJson) {
+            System.out.println("表结构读取统计: ✅" + (introspectMetricsJson ? " (JSON)" : ""));
+        }
+        System.out.println("表结构来源: " + schemaSource
+                + ("snapshot".equalsIgnoreCase(schemaSource) ? " (" + snapshotPath + ")" : "")
+                + ("ddl".equalsIgnoreCase(schemaSource) ? " (" + ddlPath + ")" : ""));
+        if (saveSnapshotPath != null && !saveSnapshotPath.trim().isEmpty()) {
+            System.out.println("保存表结构快照: " + saveSnapshotPath);
+        }
+        if (!writeIfChanged) {
+            System.out.println("只写入变化的文件: ❌");
+        }
+        if (stagedOutput) {
+            System.out.println("暂存输出: ✅");
+        }
+        if (isArchiveOutput()) {
+            System.out.println("归档输出: " + outputArchive + " (压缩级别: " + outputArchiveLevel + ")");
+        }
+        if (parallelGenerate) {
+            System.out.println("并行生成: ✅ (执行器: " + parallelExecutor
+                    + (parallelThreads > 0 ? "，线程数: " + parallelThreads : "") + ")");
+        }
+        if (profile) {
+            System.out.println("生成耗时统计: ✅");
+        }
+        if (pipeline) {
+            System.out.println("流水线模式: ✅ (队列容量: " + pipelineQueueSize + ")");
+        }
+        if (watch) {
+            System.out.println("监听模式: ✅ (检查间隔: " + watchInterval + " ms)");
+        }
+        if (tablesInclude != null && !tablesInclude.trim().isEmpty()) {
+            System.out.println("包含表: " + tablesInclude);
+        }
+        if (tablesExclude != null && !tablesExclude.trim().isEmpty()) {
+            System.out.println("排除表: " + tablesExclude);
+        }
         System.out.println("==================");
     }
     
@@ -210,4 +400,222 @@ public class GenerateOptions {
     public void setGenerateBaseClasses(boolean generateBaseClasses) {
         this.generateBaseClasses = generateBaseClasses;
     }
+    
+    public String getIntrospectMode() {
+        return introspectMode;
+    }
+    
+    public void setIntrospectMode(String introspectMode) {
+        this.introspectMode = introspectMode;
+    }
+    
+    public int getIntrospectPoolSize() {
+        return introspectPoolSize;
+    }
+    
+    public void setIntrospectPoolSize(int introspectPoolSize) {
+        this.introspectPoolSize = introspectPoolSize;
+    }
+    
+    public String getSchemaSource() {
+        return schemaSource;
+    }
+    
+    public void setSchemaSource(String schemaSource) {
+        this.schemaSource = schemaSource;
+    }
+    
+    public String getSnapshotPath() {
+        return snapshotPath;
+    }
+    
+    public void setSnapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+    }
+    
+    public String getSaveSnapshotPath() {
+        return saveSnapshotPath;
+    }
+    
+    public void setSaveSnapshotPath(String saveSnapshotPath) {
+        this.saveSnapshotPath = saveSnapshotPath;
+    }
+    
+    public String getDdlPath() {
+        return ddlPath;
+    }
+    
+    public void setDdlPath(String ddlPath) {
+        this.ddlPath = ddlPath;
+    }
+    
+    public String getTablesInclude() {
+        return tablesInclude;
+    }
+    
+    public void setTablesInclude(String tablesInclude) {
+        this.tablesInclude = tablesInclude;
+    }
+    
+    public String getTablesExclude() {
+        return tablesExclude;
+    }
+    
+    public void setTablesExclude(String tablesExclude) {
+        this.tablesExclude = tablesExclude;
+    }
+    
+    public boolean isIncrementalPrefilter() {
+        return incrementalPrefilter;
+    }
+    
+    public void setIncrementalPrefilter(boolean incrementalPrefilter) {
+        this.incrementalPrefilter = incrementalPrefilter;
+    }
+    
+    public boolean isIntrospectMetrics() {
+        return introspectMetrics;
+    }
+    
+    public void setIntrospectMetrics(boolean introspectMetrics) {
+        this.introspectMetrics = introspectMetrics;
+    }
+    
+    public boolean isIntrospectMetricsJson() {
+        return introspectMetricsJson;
+    }
+    
+    public void setIntrospectMetricsJson(boolean introspectMetricsJson) {
+        this.introspectMetricsJson = introspectMetricsJson;
+    }
+    
+    public int getIntrospectMetricsTop() {
+        return introspectMetricsTop;
+    }
+    
+    public void setIntrospectMetricsTop(int introspectMetricsTop) {
+        this.introspectMetricsTop = introspectMetricsTop;
+    }
+    
+    public boolean isProfile() {
+        return profile;
+    }
+    
+    public void setProfile(boolean profile) {
+        this.profile = profile;
+    }
+    
+    public int getProfileTop() {
+        return profileTop;
+    }
+    
+    public void setProfileTop(int profileTop) {
+        this.profileTop = profileTop;
+    }
+    
+    public boolean isParallelGenerate() {
+        return parallelGenerate;
+    }
+    
+    public void setParallelGenerate(boolean parallelGenerate) {
+        this.parallelGenerate = parallelGenerate;
+    }
+    
+    public String getParallelExecutor() {
+        return parallelExecutor;
+    }
+    
+    public void setParallelExecutor(String parallelExecutor) {
+        this.parallelExecutor = parallelExecutor;
+    }
+    
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+    
+    public void setParallelThreads(int parallelThreads) {
+        this.parallelThreads = parallelThreads;
+    }
+    
+    public boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+    
+    public void setWriteIfChanged(boolean writeIfChanged) {
+        this.writeIfChanged = writeIfChanged;
+    }
+    
+    public boolean isStagedOutput() {
+        return stagedOutput;
+    }
+    
+    public void setStagedOutput(boolean stagedOutput) {
+        this.stagedOutput = stagedOutput;
+    }
+    
+    public boolean isArchiveOutput() {
+        return outputArchive != null && !outputArchive.trim().isEmpty();
+    }
+    
+    public String getOutputArchive() {
+        return outputArchive;
+    }
+    
+    public void setOutputArchive(String outputArchive) {
+        this.outputArchive = outputArchive;
+    }
+    
+    public int getOutputArchiveLevel() {
+        return outputArchiveLevel;
+    }
+    
+    public void setOutputArchiveLevel(int outputArchiveLevel) {
+        this.outputArchiveLevel = outputArchiveLevel;
+    }
+    
+    public boolean isWatch() {
+        return watch;
+    }
+    
+    public void setWatch(boolean watch) {
+        this.watch = watch;
+    }
+    
+    public int getWatchInterval() {
+        return watchInterval;
+    }
+    
+    public void setWatchInterval(int watchInterval) {
+        this.watchInterval = watchInterval;
+    }
+    
+    public boolean isPipeline() {
+        return pipeline;
+    }
+    
+    public void setPipeline(boolean pipeline) {
+        this.pipeline = pipeline;
+    }
+    
+    public int getPipelineQueueSize() {
+        return pipelineQueueSize;
+    }
+    
+    public void setPipelineQueueSize(int pipelineQueueSize) {
+        this.pipelineQueueSize = pipelineQueueSize;
+    }
+    
+    /**
+     * 根据包含、排除规则创建表名过滤器
+     */
+    public TableFilter getTableFilter() {
+        return TableFilter.of(tablesInclude, tablesExclude);
+    }
+    
+    /**
+     * 当前表结构来源是否需要连接数据库
+     */
+    public boolean isDatabaseRequired() {
+        return "database".equalsIgnoreCase(schemaSource);
+    }
 }
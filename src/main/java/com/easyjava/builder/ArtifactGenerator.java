@@ -0,0 +1,53 @@
+package com.easyjava.builder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+
+import com.easyjava.bean.GenerateOptions;
+
+/**
+ * 按表生成的代码类型
+ * 生成器只负责把表模型渲染为文本，不打开文件；文本写到哪里（文件、归档、内存）由 {@link ArtifactSink} 决定。
+ * 内置的生成器见 {@link ArtifactType}，自定义生成器实现本接口后在
+ * META-INF/services/com.easyjava.builder.ArtifactGenerator 中登记，生成时自动加载
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public interface ArtifactGenerator {
+
+    /**
+     * 生成器名称，用于失败列表和日志，各生成器之间不能重复
+     */
+    String getName();
+
+    default String getDescription() {
+        return getName();
+    }
+
+    /**
+     * 生成选项中是否启用了该生成器
+     */
+    default boolean isEnabled(GenerateOptions options) {
+        return true;
+    }
+
+    /**
+     * 渲染时读取的模板文件名，如 Po.txt；监听模式下模板变化时只重新生成使用了该模板的代码类型
+     */
+    default Set<String> getTemplateNames() {
+        return Collections.emptySet();
+    }
+
+    /**
+     * 生成文件的路径
+     */
+    File getOutputFile(TableModel model);
+
+    /**
+     * 把表模型渲染到输出中，同一个生成器可能在多个线程上同时调用
+     */
+    void render(TableModel model, Appendable out) throws IOException;
+}
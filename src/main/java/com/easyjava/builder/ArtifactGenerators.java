@@ -0,0 +1,125 @@
+package com.easyjava.builder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.GenerateOptions;
+
+/**
+ * 代码生成器注册表
+ * 包含内置的 {@link ArtifactType} 和通过 ServiceLoader 登记的自定义生成器；
+ * 渲染使用可复用的缓冲区，缓冲区在线程之间共享，虚拟线程下同样可以复用
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class ArtifactGenerators {
+
+    private static final Logger log = LoggerFactory.getLogger(ArtifactGenerators.class);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    /** 超过该容量的缓冲区用完后不再复用，避免个别大文件长期占用内存 */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ConcurrentLinkedQueue<StringBuilder> buffers = new ConcurrentLinkedQueue<>();
+
+    private static volatile List<ArtifactGenerator> generators;
+
+    /**
+     * 所有生成器，内置生成器在前，自定义生成器按登记顺序排在后面
+     */
+    public static List<ArtifactGenerator> getAll() {
+        List<ArtifactGenerator> result = generators;
+        if (result == null) {
+            synchronized (ArtifactGenerators.class) {
+                result = generators;
+                if (result == null) {
+                    result = load();
+                    generators = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 生成选项中启用的生成器
+     */
+    public static List<ArtifactGenerator> getEnabled(GenerateOptions options) {
+        List<ArtifactGenerator> enabled = new ArrayList<>();
+        for (ArtifactGenerator generator : getAll()) {
+            if (generator.isEnabled(options)) {
+                enabled.add(generator);
+            }
+        }
+        return enabled;
+    }
+
+    /**
+     * 渲染一个表的一种代码并写入输出
+     */
+    public static void generate(ArtifactGenerator generator, TableModel model, ArtifactSink sink)
+            throws IOException {
+        generate(generator, model, sink, null);
+    }
+
+    /**
+     * 渲染一个表的一种代码并写入输出，同时把渲染和写入耗时记录到统计中
+     *
+     * @param profile 耗时统计，为null时不记录
+     */
+    public static void generate(ArtifactGenerator generator, TableModel model, ArtifactSink sink,
+            GenerationProfile profile) throws IOException {
+        StringBuilder buffer = buffers.poll();
+        if (buffer == null) {
+            buffer = new StringBuilder(BUFFER_SIZE);
+        }
+
+        try {
+            long start = System.nanoTime();
+            generator.render(model, buffer);
+            long rendered = System.nanoTime();
+            sink.write(generator, generator.getOutputFile(model), buffer);
+
+            if (profile != null) {
+                profile.record(model.getTableName(), generator.getName(), rendered - start,
+                        System.nanoTime() - rendered, GenerationProfile.utf8Length(buffer));
+            }
+        } finally {
+            if (buffer.capacity() <= MAX_POOLED_BUFFER_SIZE) {
+                buffer.setLength(0);
+                buffers.offer(buffer);
+            }
+        }
+    }
+
+    private static List<ArtifactGenerator> load() {
+        List<ArtifactGenerator> result = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (ArtifactType type : ArtifactType.values()) {
+            result.add(type);
+            names.add(type.getName());
+        }
+
+        for (ArtifactGenerator generator : ServiceLoader.load(ArtifactGenerator.class)) {
+            if (!names.add(generator.getName())) {
+                log.warn("代码生成器名称重复，忽略: {} ({})", generator.getName(), generator.getClass().getName());
+                continue;
+            }
+            result.add(generator);
+            log.info("加载自定义代码生成器: {} ({})", generator.getName(), generator.getClass().getName());
+        }
+
+        return Collections.unmodifiableList(result);
+    }
+}
@@ -0,0 +1,36 @@
+package com.easyjava.builder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+import com.easyjava.output.GeneratedFiles;
+
+/**
+ * 生成结果的去向，可能在多个线程上同时调用
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+@FunctionalInterface
+public interface ArtifactSink {
+
+    /**
+     * 写入文件，经过 {@link GeneratedFiles}，遵循只写入变化内容、暂存和归档输出的设置
+     */
+    ArtifactSink FILE = (generator, target, content) -> GeneratedFiles.write(target, content);
+
+    /**
+     * @param generator 生成器
+     * @param target    生成器给出的文件路径
+     * @param content   生成的内容，只在本次调用期间有效，需要保留时应复制
+     */
+    void write(ArtifactGenerator generator, File target, CharSequence content) throws IOException;
+
+    /**
+     * 收集到内存中，键为文件路径，用于预览和比较
+     */
+    static ArtifactSink memory(Map<String, String> files) {
+        return (generator, target, content) -> files.put(target.getPath(), content.toString());
+    }
+}
@@ -0,0 +1,85 @@
+package com.easyjava.builder;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.easyjava.bean.Constants;
+import com.easyjava.manager.CompiledTemplate;
+import com.easyjava.manager.TemplateManager;
+import com.easyjava.utils.DateUtils;
+
+/**
+ * 由模板渲染的代码类型（PO、Mapper XML）
+ * 模板按名称从自定义模板目录或内置模板中读取，编译一次后缓存，渲染时直接写入输出，不再生成中间字符串。
+ * 模板中可以使用的变量：
+ * <ul>
+ * <li>table：{@link com.easyjava.bean.TableInfo}；model：{@link TableModel}，
+ * 其中 fieldModels、extendFieldModels 和 keyMethods 带有按字段和索引预先计算好的数据</li>
+ * <li>packagePo、packageEnums、packageUtils、packageMapper：完整包名；mapperName：Mapper 类名；
+ * tableAlias：查询中的表别名</li>
+ * <li>authorComment、commentDate：类注释中的作者和生成时间</li>
+ * <li>dateSerializationClass、dateDeserializationClass、dateTimeSerialization、dateTimeDeserialization、
+ * dateSerialization、dateDeserialization、jsonIgnoreClass、jsonIgnoreExpression：配置中的注解和导入</li>
+ * </ul>
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+final class ArtifactTemplates {
+
+    private ArtifactTemplates() {
+    }
+
+    /**
+     * 用模板渲染一个表
+     * 变量与 {@link TemplateBasedBuilder} 相同（tableName、beanName、fieldList、imports 等），
+     * 按旧变量名编写的自定义模板同样可以渲染
+     *
+     * @param templateName 模板文件名，如 PoBean.txt
+     * @param templateType 模板类型，如 po，决定 imports 和类型相关的变量
+     */
+    static void render(String templateName, String templateType, TableModel model, Appendable out)
+            throws IOException {
+        CompiledTemplate template = TemplateManager.getCompiledTemplate(templateName);
+        if (template == null) {
+            throw new IOException("无法获取模板内容: " + templateName);
+        }
+        template.render(TemplateBasedBuilder.prepareVariables(model, templateType), TemplateManager.getGlobalVariables(),
+                out);
+    }
+
+    /**
+     * 模板变量，配置重新加载后下一次渲染即使用新的配置
+     */
+    static Map<String, Object> createVariables(TableModel model) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("table", model.getTableInfo());
+        variables.put("model", model);
+
+        variables.put("packagePo", Constants.PACKAGE_PO);
+        variables.put("packageEnums", Constants.PACKAGE_ENUMS);
+        variables.put("packageUtils", Constants.PACKAGE_UTILS);
+        variables.put("packageMapper", Constants.PACKAGE_MAPPER);
+        variables.put("mapperName", model.getBeanName() + Constants.SUFFIX_MAPPER);
+        variables.put("tableAlias", TableModel.TABLE_ALIAS);
+
+        variables.put("authorComment", Constants.AUTHER_COMMENT);
+        variables.put("commentDate", DateUtils.Format(new Date(), DateUtils.YYYYMMDDHHMMSS));
+
+        variables.put("dateSerializationClass", Constants.BEAN_DATE_SERIALIZATION_CLASS);
+        variables.put("dateDeserializationClass", Constants.BEAN_DATE_DESERIALIZATIO_CLASS);
+        variables.put("dateTimeSerialization", format(Constants.BEAN_DATE_SERIALIZATION, DateUtils.YYYYMMDDHHMMSS));
+        variables.put("dateTimeDeserialization", format(Constants.BEAN_DATA_DESERIALIZATIO, DateUtils.YYYYMMDDHHMMSS));
+        variables.put("dateSerialization", format(Constants.BEAN_DATE_SERIALIZATION, DateUtils.YYYY_MM_DD));
+        variables.put("dateDeserialization", format(Constants.BEAN_DATA_DESERIALIZATIO, DateUtils.YYYY_MM_DD));
+        variables.put("jsonIgnoreClass", Constants.IGNORE_BEAN_TOJSON_CLASS);
+        variables.put("jsonIgnoreExpression", Constants.IGNORE_BEAN_TOJSON_EXPRESSION);
+        return variables;
+    }
+
+    private static String format(String annotation, String pattern) {
+        return annotation == null ? null : String.format(annotation, pattern);
+    }
+}
@@ -0,0 +1,93 @@
+package com.easyjava.builder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.easyjava.bean.GenerateOptions;
+
+/**
+ * 内置的按表生成的代码类型，顺序即单线程生成时的执行顺序
+ * 每种类型写出各自独立的文件，同一个表的不同类型之间没有依赖，可以并行生成；PO 和 Mapper XML 由模板渲染
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public enum ArtifactType implements ArtifactGenerator {
+
+    PO("PO", GenerateOptions::isGeneratePo, BuildPo::getOutputFile, BuildPo::render, BuildPo.TEMPLATE_NAME),
+    QUERY("Query", GenerateOptions::isGenerateQuery, BuildQuery::getOutputFile, BuildQuery::render),
+    MAPPER("Mapper", GenerateOptions::isGenerateMapper, BuildMapper::getOutputFile, BuildMapper::render),
+    MAPPER_XML("Mapper XML", GenerateOptions::isGenerateMapperXml, BuildMapperXML::getOutputFile,
+            BuildMapperXML::render, BuildMapperXML.TEMPLATE_NAME),
+    SERVICE("Service", GenerateOptions::isGenerateService, BuildService::getOutputFile, BuildService::render),
+    SERVICE_IMPL("ServiceImpl", GenerateOptions::isGenerateServiceImpl, BuildServiceImpl::getOutputFile,
+            BuildServiceImpl::render),
+    CONTROLLER("Controller", GenerateOptions::isGenerateController, BuildController::getOutputFile,
+            BuildController::render),
+    SERVICE_TEST("Service测试", GenerateOptions::isGenerateTests, BuildTest::getServiceTestFile,
+            BuildTest::renderServiceTest),
+    CONTROLLER_TEST("Controller测试", GenerateOptions::isGenerateTests, BuildTest::getControllerTestFile,
+            BuildTest::renderControllerTest);
+
+    private final String description;
+    private final Predicate<GenerateOptions> enabled;
+    private final Function<TableModel, File> outputFile;
+    private final Renderer renderer;
+    private final Set<String> templateNames;
+
+    ArtifactType(String description, Predicate<GenerateOptions> enabled, Function<TableModel, File> outputFile,
+            Renderer renderer) {
+        this(description, enabled, outputFile, renderer, null);
+    }
+
+    /**
+     * @param templateName 渲染时使用的模板，由 Java 代码直接生成时为null
+     */
+    ArtifactType(String description, Predicate<GenerateOptions> enabled, Function<TableModel, File> outputFile,
+            Renderer renderer, String templateName) {
+        this.description = description;
+        this.enabled = enabled;
+        this.outputFile = outputFile;
+        this.renderer = renderer;
+        this.templateNames = templateName == null ? Collections.emptySet() : Collections.singleton(templateName);
+    }
+
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean isEnabled(GenerateOptions options) {
+        return enabled.test(options);
+    }
+
+    @Override
+    public Set<String> getTemplateNames() {
+        return templateNames;
+    }
+
+    @Override
+    public File getOutputFile(TableModel model) {
+        return outputFile.apply(model);
+    }
+
+    @Override
+    public void render(TableModel model, Appendable out) throws IOException {
+        renderer.render(model, out);
+    }
+
+    @FunctionalInterface
+    private interface Renderer {
+        void render(TableModel model, Appendable out) throws IOException;
+    }
+}
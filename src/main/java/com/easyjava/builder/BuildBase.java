@@ -4,7 +4,6 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
@@ -16,6 +15,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.easyjava.bean.Constants;
+import com.easyjava.output.GeneratedFiles;
 
 public class BuildBase {
 
@@ -119,7 +119,7 @@ public class BuildBase {
         String templatePath = BuildBase.class.getClassLoader().getResource("template/" + fileName + ".txt")
                 .getPath();
 
-        try (OutputStream out = new FileOutputStream(javaFile);
+        try (OutputStream out = GeneratedFiles.newOutputStream(javaFile);
                 OutputStreamWriter outw = new OutputStreamWriter(out, "utf-8");
                 BufferedWriter bw = new BufferedWriter(outw);
                 InputStream in = new FileInputStream(
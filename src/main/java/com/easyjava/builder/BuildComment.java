@@ -1,6 +1,5 @@
 package com.easyjava.builder;
 
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.util.Date;
 
@@ -9,7 +8,7 @@ import com.easyjava.utils.DateUtils;
 
 //使用这个类常见注释
 public class BuildComment {
-    public static void CreateClassComment(BufferedWriter bw, String classCommnet) throws IOException {
+    public static void CreateClassComment(SourceWriter bw, String classCommnet) throws IOException {
         bw.write("/**");
         bw.newLine();
         bw.write(" * ");
@@ -30,7 +29,7 @@ public class BuildComment {
     }
     
 
-    public static void CreateFieldComment(BufferedWriter bw, String fieldCommnet) throws IOException {
+    public static void CreateFieldComment(SourceWriter bw, String fieldCommnet) throws IOException {
         bw.write("\t/**");
         bw.newLine();
         bw.write("\t * " + (fieldCommnet == null ? "" : fieldCommnet));
@@ -1,10 +1,7 @@
 package com.easyjava.builder;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -35,142 +32,130 @@ public class BuildTest {
      * @param tableInfo 表信息
      */
     public static void executeServiceTest(TableInfo tableInfo) {
-        
-        // 构建测试目录路径
-        String testBasePath = PropertiesUtils.geString("path.base") + "/src/test/java";
-        String serviceTestPath = testBasePath + "/" + Constants.PACKAGE_SERVICE.replace(".", "/");
-        File folder = new File(serviceTestPath);
-        
-        if (!folder.exists()) {
-            folder.mkdirs();
-        }
-        
-        String testFileName = tableInfo.getBeanName() + "ServiceTest.java";
-        File testFile = new File(folder, testFileName);
-        
-        try (OutputStream out = new FileOutputStream(testFile);
-             OutputStreamWriter outw = new OutputStreamWriter(out, "utf-8");
-             BufferedWriter bw = new BufferedWriter(outw)) {
-            
-            // 包名
-            bw.write("package " + Constants.PACKAGE_SERVICE + ";");
-            bw.newLine();
-            bw.newLine();
-            
-            // 导入语句
-            writeServiceTestImports(bw, tableInfo);
-            
-            // 类注释和声明
-            BuildComment.CreateClassComment(bw, tableInfo.getComment() + "Service测试类");
-            bw.write("@SpringBootTest");
-            bw.newLine();
-            bw.write("@RunWith(SpringRunner.class)");
-            bw.newLine();
-            bw.write("@Transactional");
-            bw.newLine();
-            bw.write("@Rollback");
-            bw.newLine();
-            bw.write("public class " + tableInfo.getBeanName() + "ServiceTest {");
-            bw.newLine();
-            bw.newLine();
-            
-            // 注入Service
-            String serviceName = tableInfo.getBeanName() + "Service";
-            String serviceBeanName = StringUtils.lowerCaseFirstLetter(serviceName);
-            
-            bw.write("\t@Autowired");
-            bw.newLine();
-            bw.write("\tprivate " + serviceName + " " + serviceBeanName + ";");
-            bw.newLine();
-            bw.newLine();
-            
-            // 生成测试方法
-            writeServiceTestMethods(bw, tableInfo, serviceBeanName);
-            
-            // 生成测试数据创建方法
-            writeTestDataMethods(bw, tableInfo);
-            
-            bw.write("}");
-            bw.flush();
-            
+        try {
+            ArtifactGenerators.generate(ArtifactType.SERVICE_TEST, new TableModel(tableInfo), ArtifactSink.FILE);
             log.info("{}ServiceTest生成成功", tableInfo.getBeanName());
-            
         } catch (Exception e) {
             log.error("{}ServiceTest构建失败", tableInfo.getBeanName(), e);
         }
     }
     
+    static File getServiceTestFile(TableModel model) {
+        String testBasePath = PropertiesUtils.geString("path.base") + "/src/test/java";
+        return new File(testBasePath + "/" + Constants.PACKAGE_SERVICE.replace(".", "/"),
+                model.getBeanName() + "ServiceTest.java");
+    }
+    
+    static void renderServiceTest(TableModel model, Appendable out) throws IOException {
+        TableInfo tableInfo = model.getTableInfo();
+        SourceWriter bw = new SourceWriter(out);
+        
+        // 包名
+        bw.write("package " + Constants.PACKAGE_SERVICE + ";");
+        bw.newLine();
+        bw.newLine();
+        
+        // 导入语句
+        writeServiceTestImports(bw, tableInfo);
+        
+        // 类注释和声明
+        BuildComment.CreateClassComment(bw, tableInfo.getComment() + "Service测试类");
+        bw.write("@SpringBootTest");
+        bw.newLine();
+        bw.write("@RunWith(SpringRunner.class)");
+        bw.newLine();
+        bw.write("@Transactional");
+        bw.newLine();
+        bw.write("@Rollback");
+        bw.newLine();
+        bw.write("public class " + tableInfo.getBeanName() + "ServiceTest {");
+        bw.newLine();
+        bw.newLine();
+        
+        // 注入Service
+        String serviceName = tableInfo.getBeanName() + "Service";
+        String serviceBeanName = StringUtils.lowerCaseFirstLetter(serviceName);
+        
+        bw.write("\t@Autowired");
+        bw.newLine();
+        bw.write("\tprivate " + serviceName + " " + serviceBeanName + ";");
+        bw.newLine();
+        bw.newLine();
+        
+        // 生成测试方法
+        writeServiceTestMethods(bw, tableInfo, serviceBeanName);
+        
+        // 生成测试数据创建方法
+        writeTestDataMethods(bw, tableInfo);
+        
+        bw.write("}");
+    }
+    
     /**
      * 生成Controller测试类
      * 
      * @param tableInfo 表信息
      */
     public static void executeControllerTest(TableInfo tableInfo) {
-        
-        // 构建测试目录路径
-        String testBasePath = PropertiesUtils.geString("path.base") + "/src/test/java";
-        String controllerTestPath = testBasePath + "/" + Constants.PACKAGE_CONTROLLER.replace(".", "/");
-        File folder = new File(controllerTestPath);
-        
-        if (!folder.exists()) {
-            folder.mkdirs();
-        }
-        
-        String testFileName = tableInfo.getBeanName() + "ControllerTest.java";
-        File testFile = new File(folder, testFileName);
-        
-        try (OutputStream out = new FileOutputStream(testFile);
-             OutputStreamWriter outw = new OutputStreamWriter(out, "utf-8");
-             BufferedWriter bw = new BufferedWriter(outw)) {
-            
-            // 包名
-            bw.write("package " + Constants.PACKAGE_CONTROLLER + ";");
-            bw.newLine();
-            bw.newLine();
-            
-            // 导入语句
-            writeControllerTestImports(bw, tableInfo);
-            
-            // 类注释和声明
-            BuildComment.CreateClassComment(bw, tableInfo.getComment() + "Controller测试类");
-            bw.write("@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)");
-            bw.newLine();
-            bw.write("@RunWith(SpringRunner.class)");
-            bw.newLine();
-            bw.write("@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)");
-            bw.newLine();
-            bw.write("@Transactional");
-            bw.newLine();
-            bw.write("@Rollback");
-            bw.newLine();
-            bw.write("public class " + tableInfo.getBeanName() + "ControllerTest {");
-            bw.newLine();
-            bw.newLine();
-            
-            // 注入TestRestTemplate
-            bw.write("\t@Autowired");
-            bw.newLine();
-            bw.write("\tprivate TestRestTemplate restTemplate;");
-            bw.newLine();
-            bw.newLine();
-            
-            // 生成Controller测试方法
-            writeControllerTestMethods(bw, tableInfo);
-            
-            bw.write("}");
-            bw.flush();
-            
+        try {
+            ArtifactGenerators.generate(ArtifactType.CONTROLLER_TEST, new TableModel(tableInfo), ArtifactSink.FILE);
             log.info("{}ControllerTest生成成功", tableInfo.getBeanName());
-            
         } catch (Exception e) {
             log.error("{}ControllerTest构建失败", tableInfo.getBeanName(), e);
         }
     }
     
+    static File getControllerTestFile(TableModel model) {
+        String testBasePath = PropertiesUtils.geString("path.base") + "/src/test/java";
+        return new File(testBasePath + "/" + Constants.PACKAGE_CONTROLLER.replace(".", "/"),
+                model.getBeanName() + "ControllerTest.java");
+    }
+    
+    static void renderControllerTest(TableModel model, Appendable out) throws IOException {
+        TableInfo tableInfo = model.getTableInfo();
+        SourceWriter bw = new SourceWriter(out);
+        
+        // 包名
+        bw.write("package " + Constants.PACKAGE_CONTROLLER + ";");
+        bw.newLine();
+        bw.newLine();
+        
+        // 导入语句
+        writeControllerTestImports(bw, tableInfo);
+        
+        // 类注释和声明
+        BuildComment.CreateClassComment(bw, tableInfo.getComment() + "Controller测试类");
+        bw.write("@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)");
+        bw.newLine();
+        bw.write("@RunWith(SpringRunner.class)");
+        bw.newLine();
+        bw.write("@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)");
+        bw.newLine();
+        bw.write("@Transactional");
+        bw.newLine();
+        bw.write("@Rollback");
+        bw.newLine();
+        bw.write("public class " + tableInfo.getBeanName() + "ControllerTest {");
+        bw.newLine();
+        bw.newLine();
+        
+        // 注入TestRestTemplate
+        bw.write("\t@Autowired");
+        bw.newLine();
+        bw.write("\tprivate TestRestTemplate restTemplate;");
+        bw.newLine();
+        bw.newLine();
+        
+        // 生成Controller测试方法
+        writeControllerTestMethods(bw, tableInfo);
+        
+        bw.write("}");
+    }
+    
     /**
      * 写入Service测试的导入语句
      */
-    private static void writeServiceTestImports(BufferedWriter bw, TableInfo tableInfo) throws Exception {
+    private static void writeServiceTestImports(SourceWriter bw, TableInfo tableInfo) throws IOException {
         bw.write("import org.junit.Test;");
         bw.newLine();
         bw.write("import org.junit.runner.RunWith;");
@@ -205,7 +190,7 @@ public class BuildTest {
     /**
      * 写入Controller测试的导入语句
      */
-    private static void writeControllerTestImports(BufferedWriter bw, TableInfo tableInfo) throws Exception {
+    private static void writeControllerTestImports(SourceWriter bw, TableInfo tableInfo) throws IOException {
         bw.write("import org.junit.Test;");
         bw.newLine();
         bw.write("import org.junit.runner.RunWith;");
@@ -244,7 +229,7 @@ public class BuildTest {
     /**
      * 写入Service测试方法
      */
-    private static void writeServiceTestMethods(BufferedWriter bw, TableInfo tableInfo, String serviceBeanName) throws Exception {
+    private static void writeServiceTestMethods(SourceWriter bw, TableInfo tableInfo, String serviceBeanName) throws IOException {
         String beanName = tableInfo.getBeanName();
         String paramName = tableInfo.getBeanParamName();
         
@@ -306,7 +291,7 @@ public class BuildTest {
     /**
      * 写入Controller测试方法
      */
-    private static void writeControllerTestMethods(BufferedWriter bw, TableInfo tableInfo) throws Exception {
+    private static void writeControllerTestMethods(SourceWriter bw, TableInfo tableInfo) throws IOException {
         String beanName = tableInfo.getBeanName();
         String controllerPath = "/" + StringUtils.lowerCaseFirstLetter(beanName);
         
@@ -354,7 +339,7 @@ public class BuildTest {
     /**
      * 写入测试数据创建方法
      */
-    private static void writeTestDataMethods(BufferedWriter bw, TableInfo tableInfo) throws Exception {
+    private static void writeTestDataMethods(SourceWriter bw, TableInfo tableInfo) throws IOException {
         String beanName = tableInfo.getBeanName();
         
         // 创建单个测试实体方法
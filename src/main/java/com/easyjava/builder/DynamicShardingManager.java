@@ -2,6 +2,7 @@ package com.easyjava.builder;
 
 import com.easyjava.bean.ShardingConfig;
 import com.easyjava.bean.TableInfo;
+import com.easyjava.utils.ConnectionProvider;
 import com.easyjava.utils.PropertiesUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -347,18 +348,44 @@ public class DynamicShardingManager {
      * 根据分表配置创建分表
      */
     public void createShardingTables() {
-        if (!shardingConfig.isEnabled() || dbConnection == null) {
+        if (!shardingConfig.isEnabled()) {
             return;
         }
         
-        log.info("开始创建分表...");
-        
-        for (String tableName : shardingConfig.getFieldConfig().keySet()) {
-            createShardingTablesForTable(tableName);
+        // 未指定连接时，从全局连接池借用，创建完成后归还
+        boolean borrowed = false;
+        if (dbConnection == null) {
+            if (!shardingConfig.isDatabaseWriteEnabled()) {
+                return;
+            }
+            try {
+                dbConnection = ConnectionProvider.getConnection();
+                borrowed = true;
+            } catch (Exception e) {
+                log.error("获取数据库连接失败", e);
+                return;
+            }
         }
         
-        for (String tableName : shardingConfig.getMappingConfig().keySet()) {
-            createShardingTablesForTable(tableName);
+        log.info("开始创建分表...");
+        
+        try {
+            for (String tableName : shardingConfig.getFieldConfig().keySet()) {
+                createShardingTablesForTable(tableName);
+            }
+            
+            for (String tableName : shardingConfig.getMappingConfig().keySet()) {
+                createShardingTablesForTable(tableName);
+            }
+        } finally {
+            if (borrowed) {
+                try {
+                    dbConnection.close();
+                } catch (SQLException e) {
+                    log.warn("归还数据库连接失败: {}", e.getMessage());
+                }
+                dbConnection = null;
+            }
         }
         
         log.info("分表创建完成");
@@ -0,0 +1,349 @@
+package com.easyjava.builder;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.GenerateOptions;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.output.GeneratedFiles;
+import com.easyjava.utils.PropertiesUtils;
+
+/**
+ * 代码生成引擎
+ * 把每个（表，代码生成器）组合作为一个独立任务：单线程模式按表、按生成器依次执行；
+ * 并行模式把所有任务提交到虚拟线程、ForkJoin 或固定线程池上执行。
+ * 每个任务只写自己的文件，输出与执行顺序无关；任务失败只记录错误，不影响其他任务，
+ * 结果按提交顺序收集，日志和失败列表在多次运行之间保持一致。
+ * 每个表只创建一次 {@link TableModel}，由该表的所有生成器共享；生成结果默认写入文件，也可以指定其他 {@link ArtifactSink}。
+ * 开启暂存输出时，所有任务成功后才把变化的文件提交到输出目录；设置了耗时统计时记录每个任务的渲染和写入耗时
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class GenerationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationEngine.class);
+
+    public static final String EXECUTOR_VIRTUAL = "virtual";
+    public static final String EXECUTOR_FORK_JOIN = "forkjoin";
+    public static final String EXECUTOR_FIXED = "fixed";
+
+    /** 暂存目录，位于 path.base 下 */
+    private static final String STAGING_DIR = ".staging";
+
+    /** 不属于某个表的失败使用的表名，表示所有表都未生成 */
+    private static final String ALL_TABLES = "*";
+
+    /** 暂存或提交失败时加入失败列表的任务名 */
+    private static final String STAGING_FAILURE = ALL_TABLES + "/STAGING";
+
+    /** 并行生成被中断时加入失败列表的任务名 */
+    private static final String INTERRUPTED_FAILURE = ALL_TABLES + "/INTERRUPTED";
+
+    private static volatile GenerationProfile profile;
+
+    /**
+     * 设置耗时统计，之后的生成任务都记录到其中，为null时不记录
+     */
+    public static void setProfile(GenerationProfile generationProfile) {
+        profile = generationProfile;
+    }
+
+    public static GenerationProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * 生成多个表的代码
+     *
+     * @param tables  表信息列表
+     * @param options 生成选项
+     * @return 失败的任务，格式为 表名/生成器名称
+     */
+    public static List<String> generate(List<TableInfo> tables, GenerateOptions options) {
+        return generate(tables, ArtifactGenerators.getEnabled(options), options);
+    }
+
+    /**
+     * 只用指定的代码生成器生成多个表的代码，遵循暂存输出设置
+     *
+     * @param generators 代码生成器
+     * @return 失败的任务，格式为 表名/生成器名称
+     */
+    public static List<String> generate(List<TableInfo> tables, List<ArtifactGenerator> generators,
+            GenerateOptions options) {
+        // 外层已经开始暂存时（如与基础类共用一次暂存），由外层统一提交
+        if (!options.isStagedOutput() || GeneratedFiles.isStaging()) {
+            return doGenerate(tables, generators, options, ArtifactSink.FILE);
+        }
+
+        if (!beginStaging()) {
+            return Collections.singletonList(STAGING_FAILURE);
+        }
+
+        List<String> failures;
+        try {
+            failures = doGenerate(tables, generators, options, ArtifactSink.FILE);
+        } catch (RuntimeException e) {
+            GeneratedFiles.abortStaging();
+            throw e;
+        }
+
+        if (!finishStaging(failures.isEmpty())) {
+            failures = new ArrayList<>(failures);
+            failures.add(STAGING_FAILURE);
+        }
+        return failures;
+    }
+
+    /**
+     * 在一次暂存中执行生成，基础类、各表代码等多个步骤写出的文件一起提交或一起放弃；未开启暂存时直接执行
+     *
+     * @param work 生成步骤，返回是否全部成功
+     * @return 生成是否成功（开启暂存时还要求提交成功）
+     */
+    public static boolean runStaged(GenerateOptions options, BooleanSupplier work) {
+        if (!options.isStagedOutput()) {
+            return work.getAsBoolean();
+        }
+
+        if (!beginStaging()) {
+            return false;
+        }
+
+        boolean success;
+        try {
+            success = work.getAsBoolean();
+        } catch (RuntimeException e) {
+            GeneratedFiles.abortStaging();
+            throw e;
+        }
+        return finishStaging(success);
+    }
+
+    /**
+     * 开始暂存生成文件，暂存目录位于 path.base 下，与输出目录在同一文件系统
+     *
+     * @return 是否成功开始暂存
+     */
+    public static boolean beginStaging() {
+        try {
+            GeneratedFiles.beginStaging(Paths.get(PropertiesUtils.geString("path.base"), STAGING_DIR,
+                    String.valueOf(System.currentTimeMillis())), PropertiesUtils.getBoolean(
+                            "generate.output.staging.fsync", true));
+            return true;
+        } catch (Exception e) {
+            log.error("创建暂存目录失败", e);
+            return false;
+        }
+    }
+
+    /**
+     * 结束暂存：全部成功时提交，否则放弃本次生成的所有文件
+     *
+     * @param success 生成是否全部成功
+     * @return 是否已提交
+     */
+    public static boolean finishStaging(boolean success) {
+        if (!success) {
+            log.error("存在失败的生成任务，放弃本次生成的所有文件，输出目录保持不变");
+            GeneratedFiles.abortStaging();
+            return false;
+        }
+
+        try {
+            GeneratedFiles.commitStaging();
+            return true;
+        } catch (Exception e) {
+            log.error("提交暂存的生成文件失败", e);
+            GeneratedFiles.abortStaging();
+            return false;
+        }
+    }
+
+    /**
+     * 找出所有生成任务都成功的表
+     *
+     * @param failures 生成返回的失败任务，格式为 表名/生成器名称
+     * @return 没有失败任务的表，存在暂存失败等不属于某个表的失败时返回空列表
+     */
+    public static List<TableInfo> getSucceededTables(List<TableInfo> tables, List<String> failures) {
+        if (failures.isEmpty()) {
+            return tables;
+        }
+
+        Set<String> failedTables = new HashSet<>();
+        for (String failure : failures) {
+            String tableName = failure.substring(0, failure.lastIndexOf('/'));
+            if (ALL_TABLES.equals(tableName)) {
+                return Collections.emptyList();
+            }
+            failedTables.add(tableName);
+        }
+
+        List<TableInfo> succeeded = new ArrayList<>();
+        for (TableInfo table : tables) {
+            if (!failedTables.contains(table.getTableName())) {
+                succeeded.add(table);
+            }
+        }
+        return succeeded;
+    }
+
+    /**
+     * 生成多个表的代码，写入指定的输出，不使用暂存
+     *
+     * @param sink 生成结果的去向
+     * @return 失败的任务，格式为 表名/生成器名称
+     */
+    public static List<String> generate(List<TableInfo> tables, GenerateOptions options, ArtifactSink sink) {
+        return doGenerate(tables, ArtifactGenerators.getEnabled(options), options, sink);
+    }
+
+    private static List<String> doGenerate(List<TableInfo> tables, List<ArtifactGenerator> generators,
+            GenerateOptions options, ArtifactSink sink) {
+        if (!options.isParallelGenerate()) {
+            List<String> failures = new ArrayList<>();
+            int currentTable = 0;
+            for (TableInfo tableInfo : tables) {
+                currentTable++;
+                log.info("正在处理表 {}/{}: {}", currentTable, tables.size(), tableInfo.getTableName());
+                failures.addAll(generateTable(new TableModel(tableInfo), generators, sink));
+            }
+            return failures;
+        }
+
+        return generateParallel(tables, generators, options, sink);
+    }
+
+    /**
+     * 在当前线程上依次生成一个表启用的所有代码类型
+     *
+     * @return 失败的任务
+     */
+    public static List<String> generateTable(TableInfo tableInfo, GenerateOptions options) {
+        return generateTable(new TableModel(tableInfo), ArtifactGenerators.getEnabled(options), ArtifactSink.FILE);
+    }
+
+    private static List<String> generateTable(TableModel model, List<ArtifactGenerator> generators,
+            ArtifactSink sink) {
+        List<String> failures = new ArrayList<>();
+        for (ArtifactGenerator generator : generators) {
+            String failure = runTask(model, generator, sink);
+            if (failure != null) {
+                failures.add(failure);
+            }
+        }
+
+        if (failures.isEmpty()) {
+            log.info("表 {} 处理完成", model.getTableName());
+        }
+        return failures;
+    }
+
+    private static List<String> generateParallel(List<TableInfo> tables, List<ArtifactGenerator> generators,
+            GenerateOptions options, ArtifactSink sink) {
+        int taskCount = tables.size() * generators.size();
+        ExecutorService executor = createExecutor(options.getParallelExecutor(), options.getParallelThreads());
+
+        log.info("并行生成 {} 个表，共 {} 个任务，执行器: {}", tables.size(), taskCount, options.getParallelExecutor());
+
+        AtomicInteger completed = new AtomicInteger();
+        List<Future<String>> futures = new ArrayList<>(taskCount);
+        List<String> failures = new ArrayList<>();
+        long start = System.currentTimeMillis();
+
+        try {
+            for (TableInfo tableInfo : tables) {
+                TableModel model = new TableModel(tableInfo);
+                for (ArtifactGenerator generator : generators) {
+                    futures.add(executor.submit(() -> {
+                        String failure = runTask(model, generator, sink);
+                        int done = completed.incrementAndGet();
+                        if (done % 100 == 0) {
+                            log.info("已完成 {}/{} 个生成任务", done, taskCount);
+                        }
+                        return failure;
+                    }));
+                }
+            }
+
+            for (Future<String> future : futures) {
+                try {
+                    String failure = future.get();
+                    if (failure != null) {
+                        failures.add(failure);
+                    }
+                } catch (ExecutionException e) {
+                    log.error("生成任务执行异常", e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error("并行生成被中断", e);
+            failures.add(INTERRUPTED_FAILURE);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        log.info("并行生成完成，{} 个任务，失败 {} 个，耗时 {} ms", taskCount, failures.size(),
+                System.currentTimeMillis() - start);
+        return failures;
+    }
+
+    /**
+     * 执行单个生成任务，异常只影响本任务
+     *
+     * @return 失败时返回 表名/生成器名称，成功返回null
+     */
+    private static String runTask(TableModel model, ArtifactGenerator generator, ArtifactSink sink) {
+        try {
+            ArtifactGenerators.generate(generator, model, sink, profile);
+            return null;
+        } catch (Throwable e) {
+            log.error("生成表 {} 的 {} 时发生错误", model.getTableName(), generator.getDescription(), e);
+            return model.getTableName() + "/" + generator.getName();
+        }
+    }
+
+    /**
+     * 创建执行器
+     * virtual: 每个任务一个虚拟线程，适合写文件较多、等待 I/O 的场景
+     * forkjoin: 工作窃取线程池，线程数默认为 CPU 核数
+     * fixed: 固定大小线程池
+     *
+     * @param threads 线程数，小于1时使用 CPU 核数，virtual 模式忽略
+     */
+    static ExecutorService createExecutor(String type, int threads) {
+        int threadCount = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+
+        if (EXECUTOR_VIRTUAL.equalsIgnoreCase(type)) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("generate-", 1).factory());
+        }
+
+        if (EXECUTOR_FORK_JOIN.equalsIgnoreCase(type)) {
+            return new ForkJoinPool(threadCount);
+        }
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        return Executors.newFixedThreadPool(threadCount, r -> {
+            Thread thread = new Thread(r, "generate-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,271 @@
+package com.easyjava.builder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.utils.JsonUtils;
+
+/**
+ * 代码生成耗时统计
+ * 记录每个（表，代码生成器）任务的渲染耗时、写入耗时（文件比较、暂存或写盘）和输出字节数，
+ * 汇总出各生成器的合计与 p50 / p99、最慢的表，用于找出拖慢整次生成的生成器或模板。线程安全，可用于并行生成
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class GenerationProfile {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationProfile.class);
+
+    private final ConcurrentLinkedQueue<Sample> samples = new ConcurrentLinkedQueue<>();
+
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * 记录一个任务
+     *
+     * @param tableName   表名
+     * @param generator   生成器名称
+     * @param renderNanos 渲染耗时（纳秒）
+     * @param writeNanos  写入耗时（纳秒）
+     * @param bytes       输出字节数
+     */
+    public void record(String tableName, String generator, long renderNanos, long writeNanos, long bytes) {
+        samples.add(new Sample(tableName, generator, renderNanos, writeNanos, bytes));
+    }
+
+    public int getTaskCount() {
+        return samples.size();
+    }
+
+    /**
+     * 按生成器汇总，按总耗时从高到低排序
+     */
+    public List<Summary> getGeneratorSummaries() {
+        return summarize(true);
+    }
+
+    /**
+     * 按表汇总，取总耗时最高的若干个表
+     */
+    public List<Summary> getSlowestTables(int limit) {
+        List<Summary> tables = summarize(false);
+        return tables.subList(0, Math.min(limit, tables.size()));
+    }
+
+    /**
+     * 打印统计报告
+     *
+     * @param slowestLimit 列出的最慢表数量
+     */
+    public void logSummary(int slowestLimit) {
+        Summary total = new Summary("total", new ArrayList<>(samples));
+
+        log.info("=== 代码生成耗时统计 ===");
+        log.info("任务数: {}，总耗时: {} ms，渲染合计: {} ms，写入合计: {} ms，输出 {} KB，任务耗时 p50 {} ms，p99 {} ms",
+                total.getCount(), toMillis(System.nanoTime() - startNanos), toMillis(total.getRenderNanos()),
+                toMillis(total.getWriteNanos()), total.getBytes() / 1024, toMillis(total.getP50Nanos()),
+                toMillis(total.getP99Nanos()));
+
+        log.info("各生成器:");
+        for (Summary summary : getGeneratorSummaries()) {
+            log.info("  {}: {} 个，渲染 {} ms，写入 {} ms，输出 {} KB，p50 {} ms，p99 {} ms", summary.getName(),
+                    summary.getCount(), toMillis(summary.getRenderNanos()), toMillis(summary.getWriteNanos()),
+                    summary.getBytes() / 1024, toMillis(summary.getP50Nanos()), toMillis(summary.getP99Nanos()));
+        }
+
+        List<Summary> slowest = getSlowestTables(slowestLimit);
+        if (!slowest.isEmpty()) {
+            log.info("最慢的 {} 个表:", slowest.size());
+            for (Summary summary : slowest) {
+                log.info("  {}: {} ms（渲染 {} ms，写入 {} ms），{} 个文件，{} KB", summary.getName(),
+                        toMillis(summary.getTotalNanos()), toMillis(summary.getRenderNanos()),
+                        toMillis(summary.getWriteNanos()), summary.getCount(), summary.getBytes() / 1024);
+            }
+        }
+        log.info("=======================");
+    }
+
+    /**
+     * 以JSON格式写出完整统计，包含每个任务的明细
+     *
+     * @param path         输出文件
+     * @param slowestLimit 列出的最慢表数量
+     */
+    public void writeJson(Path path, int slowestLimit) throws IOException {
+        List<Sample> all = new ArrayList<>(samples);
+
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("elapsedMillis", toMillis(System.nanoTime() - startNanos));
+        root.put("total", new Summary("total", all).toMap());
+
+        List<Map<String, Object>> generators = new ArrayList<>();
+        for (Summary summary : getGeneratorSummaries()) {
+            generators.add(summary.toMap());
+        }
+        root.put("generators", generators);
+
+        List<Map<String, Object>> tables = new ArrayList<>();
+        for (Summary summary : getSlowestTables(slowestLimit)) {
+            tables.add(summary.toMap());
+        }
+        root.put("slowestTables", tables);
+
+        all.sort(Comparator.comparing((Sample s) -> s.tableName).thenComparing(s -> s.generator));
+        List<Map<String, Object>> tasks = new ArrayList<>(all.size());
+        for (Sample sample : all) {
+            Map<String, Object> task = new LinkedHashMap<>();
+            task.put("table", sample.tableName);
+            task.put("generator", sample.generator);
+            task.put("renderMillis", toMillis(sample.renderNanos));
+            task.put("writeMillis", toMillis(sample.writeNanos));
+            task.put("bytes", sample.bytes);
+            tasks.add(task);
+        }
+        root.put("tasks", tasks);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, JsonUtils.convertObject2Json(root).getBytes(StandardCharsets.UTF_8));
+        log.info("代码生成耗时统计已写入: {}", path);
+    }
+
+    private List<Summary> summarize(boolean byGenerator) {
+        Map<String, List<Sample>> groups = new TreeMap<>();
+        for (Sample sample : samples) {
+            groups.computeIfAbsent(byGenerator ? sample.generator : sample.tableName, k -> new ArrayList<>())
+                    .add(sample);
+        }
+
+        List<Summary> summaries = new ArrayList<>(groups.size());
+        for (Map.Entry<String, List<Sample>> entry : groups.entrySet()) {
+            summaries.add(new Summary(entry.getKey(), entry.getValue()));
+        }
+        summaries.sort(Comparator.comparingLong(Summary::getTotalNanos).reversed());
+        return summaries;
+    }
+
+    /**
+     * 内容按 UTF-8 编码后的字节数，不实际编码
+     */
+    static long utf8Length(CharSequence content) {
+        long bytes = 0;
+        for (int i = 0, n = content.length(); i < n; i++) {
+            char c = content.charAt(i);
+            if (c < 0x80) {
+                bytes++;
+            } else if (c < 0x800) {
+                bytes += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(content.charAt(i + 1))) {
+                bytes += 4;
+                i++;
+            } else {
+                bytes += 3;
+            }
+        }
+        return bytes;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static final class Sample {
+        private final String tableName;
+        private final String generator;
+        private final long renderNanos;
+        private final long writeNanos;
+        private final long bytes;
+
+        Sample(String tableName, String generator, long renderNanos, long writeNanos, long bytes) {
+            this.tableName = tableName;
+            this.generator = generator;
+            this.renderNanos = renderNanos;
+            this.writeNanos = writeNanos;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * 一组任务的汇总：数量、渲染和写入合计、字节数、单个任务耗时的 p50 / p99
+     */
+    public static final class Summary {
+        private final String name;
+        private final int count;
+        private final long renderNanos;
+        private final long writeNanos;
+        private final long bytes;
+        private final long p50Nanos;
+        private final long p99Nanos;
+
+        Summary(String name, List<Sample> samples) {
+            long render = 0;
+            long write = 0;
+            long size = 0;
+            long[] durations = new long[samples.size()];
+            for (int i = 0; i < durations.length; i++) {
+                Sample sample = samples.get(i);
+                render += sample.renderNanos;
+                write += sample.writeNanos;
+                size += sample.bytes;
+                durations[i] = sample.renderNanos + sample.writeNanos;
+            }
+            Arrays.sort(durations);
+
+            this.name = name;
+            this.count = durations.length;
+            this.renderNanos = render;
+            this.writeNanos = write;
+            this.bytes = size;
+            this.p50Nanos = percentile(durations, 50);
+            this.p99Nanos = percentile(durations, 99);
+        }
+
+        /**
+         * 最近秩法计算百分位数
+         */
+        private static long percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+
+        public String getName() { return name; }
+        public int getCount() { return count; }
+        public long getRenderNanos() { return renderNanos; }
+        public long getWriteNanos() { return writeNanos; }
+        public long getTotalNanos() { return renderNanos + writeNanos; }
+        public long getBytes() { return bytes; }
+        public long getP50Nanos() { return p50Nanos; }
+        public long getP99Nanos() { return p99Nanos; }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", name);
+            map.put("count", count);
+            map.put("totalMillis", toMillis(getTotalNanos()));
+            map.put("renderMillis", toMillis(renderNanos));
+            map.put("writeMillis", toMillis(writeNanos));
+            map.put("bytes", bytes);
+            map.put("p50Millis", toMillis(p50Nanos));
+            map.put("p99Millis", toMillis(p99Nanos));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,522 @@
+package com.easyjava.builder;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.Constants;
+import com.easyjava.bean.GenerateOptions;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.manager.TemplateManager;
+import com.easyjava.output.GeneratedFiles;
+import com.easyjava.schema.SchemaReader;
+import com.easyjava.schema.SchemaReaders;
+import com.easyjava.schema.TableFilter;
+import com.easyjava.utils.ConnectionProvider;
+import com.easyjava.utils.PropertiesUtils;
+
+/**
+ * 监听模式
+ * 首次完整生成后常驻运行，在内存中保留表结构和每个表的指纹，发生变化时只重新生成受影响的部分：
+ * 1. 表结构：MySQL 按间隔执行一条 information_schema 指纹查询，只重新读取和生成指纹变化的表；
+ *    无法读取指纹的数据库每次完整读取表结构后比较；建表脚本和快照在文件变化时重新读取后比较
+ * 2. 自定义模板：只重新生成使用了该模板的代码类型（见 {@link ArtifactGenerator#getTemplateNames()}）
+ * 3. 配置文件：重新加载配置后重新读取表结构并全部重新生成
+ * 生成文件遵循只写入变化内容的设置，未变化的文件不会被改写
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class GenerationWatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(GenerationWatcher.class);
+
+    /** 收到文件事件后再等待的时间，合并编辑器保存时产生的多个事件 */
+    private static final long DEBOUNCE_MILLIS = 100;
+
+    private final Supplier<GenerateOptions> optionsLoader;
+
+    private GenerateOptions options;
+
+    // 缓存的表结构和指纹，按表名排序
+    private final Map<String, TableInfo> tables = new TreeMap<>();
+    private final Map<String, String> fingerprints = new HashMap<>();
+
+    /** 是否使用 information_schema 指纹，为false时比较完整读取后的表结构哈希 */
+    private boolean databaseFingerprints;
+
+    /** 上一次读取指纹是否失败，连续失败时只记录一次警告 */
+    private boolean fingerprintsFailing;
+
+    private WatchService watchService;
+    private final Map<Path, WatchKey> watchKeys = new HashMap<>();
+
+    private Path configFile;
+    private Path templateDir;
+    private Path schemaPath;
+
+    private volatile boolean running = true;
+
+    /**
+     * @param options       生成选项
+     * @param optionsLoader 配置文件变化后重新创建生成选项
+     */
+    public GenerationWatcher(GenerateOptions options, Supplier<GenerateOptions> optionsLoader) {
+        this.options = options;
+        this.optionsLoader = optionsLoader;
+    }
+
+    /**
+     * 首次生成后开始监听，直到进程退出
+     */
+    public void run() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::stop, "generation-watcher-shutdown"));
+
+        if (options.isIncrementalGenerate()) {
+            log.warn("监听模式按表结构指纹检测变化，忽略增量生成设置");
+        }
+
+        reloadAll("首次生成");
+        registerWatches();
+
+        log.info("监听中，表结构检查间隔 {} ms，按 Ctrl+C 退出", options.getWatchInterval());
+
+        long nextPoll = System.currentTimeMillis() + options.getWatchInterval();
+        while (running) {
+            WatchKey key;
+            try {
+                key = watchService.poll(Math.max(1, nextPoll - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ClosedWatchServiceException e) {
+                break;
+            }
+
+            try {
+                if (key != null) {
+                    handleFileChanges(key);
+                }
+                if (System.currentTimeMillis() >= nextPoll) {
+                    // 建表脚本和快照只在文件变化时读取，有未能生成的表时也按间隔重试
+                    if (options.isDatabaseRequired() || fingerprints.size() < tables.size()) {
+                        refreshSchema();
+                    }
+                    nextPoll = System.currentTimeMillis() + options.getWatchInterval();
+                }
+            } catch (ClosedWatchServiceException e) {
+                break;
+            } catch (RuntimeException e) {
+                log.error("处理变化时发生错误，继续监听", e);
+            }
+        }
+
+        log.info("监听模式已退出");
+    }
+
+    /**
+     * 停止监听
+     */
+    public void stop() {
+        running = false;
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.debug("关闭文件监听失败", e);
+        }
+    }
+
+    /**
+     * 合并一段时间内的文件事件后按类型处理：配置文件变化时全部重新生成，其余按表结构、模板分别处理
+     */
+    private void handleFileChanges(WatchKey first) {
+        Set<Path> changed = new LinkedHashSet<>();
+        boolean overflow = collectEvents(first, changed);
+
+        try {
+            Thread.sleep(DEBOUNCE_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            overflow |= collectEvents(key, changed);
+        }
+
+        if (overflow || changed.contains(configFile)) {
+            reloadConfig();
+            return;
+        }
+
+        boolean schemaChanged = false;
+        Set<String> templateNames = new LinkedHashSet<>();
+        for (Path path : changed) {
+            if (isSchemaFile(path)) {
+                schemaChanged = true;
+            }
+            if (templateDir != null && templateDir.equals(path.getParent()) && Files.isRegularFile(path)) {
+                templateNames.add(path.getFileName().toString());
+            }
+        }
+
+        if (schemaChanged) {
+            log.info("表结构文件变化: {}", schemaPath);
+            refreshSchema();
+        }
+        if (!templateNames.isEmpty()) {
+            regenerateTemplates(templateNames);
+        }
+    }
+
+    /**
+     * 读取一个监听目录的事件
+     *
+     * @return 是否有事件丢失
+     */
+    private boolean collectEvents(WatchKey key, Set<Path> changed) {
+        boolean overflow = false;
+        Path dir = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                changed.add(dir.resolve((Path) event.context()));
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    private boolean isSchemaFile(Path path) {
+        if (schemaPath == null) {
+            return false;
+        }
+        if (Files.isDirectory(schemaPath)) {
+            return schemaPath.equals(path.getParent()) && path.getFileName().toString().endsWith(".sql");
+        }
+        return schemaPath.equals(path);
+    }
+
+    /**
+     * 重新加载配置文件、常量、模板和数据库连接池，再重新读取表结构全部生成
+     */
+    private void reloadConfig() {
+        log.info("配置文件变化，重新加载配置: {}", configFile);
+
+        PropertiesUtils.reload();
+        Constants.reload();
+        TemplateManager.reload();
+        ConnectionProvider.shutdown();
+
+        GenerateOptions reloaded = optionsLoader.get();
+        try {
+            reloaded.validate();
+        } catch (IllegalArgumentException e) {
+            log.error("生成选项配置错误，继续使用原有选项: {}", e.getMessage());
+            return;
+        }
+        options = reloaded;
+        GeneratedFiles.setWriteIfChanged(options.isWriteIfChanged());
+
+        reloadAll("配置文件变化");
+        registerWatches();
+    }
+
+    /**
+     * 读取全部表结构并全部生成
+     */
+    private void reloadAll(String reason) {
+        databaseFingerprints = options.isDatabaseRequired()
+                && !SchemaReaders.MODE_JDBC.equalsIgnoreCase(options.getIntrospectMode());
+
+        Map<String, String> current = readDatabaseFingerprints();
+        List<TableInfo> all = loadTables(options.getTableFilter());
+        if (all == null) {
+            return;
+        }
+
+        Map<String, TableInfo> loaded = new TreeMap<>();
+        for (TableInfo tableInfo : all) {
+            loaded.put(tableInfo.getTableName(), tableInfo);
+        }
+        List<TableInfo> tableInfos = new ArrayList<>(loaded.values());
+
+        // 基础类与各表代码在同一次暂存中提交
+        List<TableInfo> generated = new ArrayList<>();
+        boolean committed = GenerationEngine.runStaged(options, () -> {
+            if (options.isGenerateBaseClasses()) {
+                BuildBase.execute();
+            }
+            generated.addAll(regenerate(tableInfos, ArtifactGenerators.getEnabled(options), reason));
+            return generated.size() == tableInfos.size();
+        });
+        if (!committed && options.isStagedOutput()) {
+            // 暂存被放弃，没有文件写入输出目录
+            generated.clear();
+        }
+
+        tables.clear();
+        tables.putAll(loaded);
+        fingerprints.clear();
+        recordFingerprints(tableInfos, generated, current != null ? current : hashes(all));
+    }
+
+    /**
+     * 比较表结构指纹，只重新读取和生成新增或变化的表；已删除的表从缓存中移除，已生成的文件保留
+     */
+    private void refreshSchema() {
+        Map<String, String> current = readDatabaseFingerprints();
+        List<TableInfo> all = null;
+        if (current == null) {
+            all = loadTables(options.getTableFilter());
+            if (all == null) {
+                return;
+            }
+            current = hashes(all);
+        }
+
+        List<String> changedNames = new ArrayList<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!entry.getValue().equals(fingerprints.get(entry.getKey()))) {
+                changedNames.add(entry.getKey());
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String tableName : tables.keySet()) {
+            if (!current.containsKey(tableName)) {
+                removed.add(tableName);
+            }
+        }
+
+        if (!removed.isEmpty()) {
+            log.info("表已删除: {}，已生成的文件保留", removed);
+            for (String tableName : removed) {
+                tables.remove(tableName);
+                fingerprints.remove(tableName);
+            }
+        }
+        if (changedNames.isEmpty()) {
+            return;
+        }
+
+        List<TableInfo> changed = new ArrayList<>(changedNames.size());
+        if (all == null) {
+            List<TableInfo> loaded = loadTables(TableFilter.ofNames(changedNames));
+            if (loaded == null) {
+                return;
+            }
+            changed.addAll(loaded);
+        } else {
+            Set<String> names = new LinkedHashSet<>(changedNames);
+            for (TableInfo tableInfo : all) {
+                if (names.contains(tableInfo.getTableName())) {
+                    changed.add(tableInfo);
+                }
+            }
+        }
+
+        for (TableInfo tableInfo : changed) {
+            tables.put(tableInfo.getTableName(), tableInfo);
+        }
+        List<TableInfo> generated = regenerate(changed, ArtifactGenerators.getEnabled(options),
+                "表结构变化 " + changedNames);
+        recordFingerprints(changed, generated, current);
+    }
+
+    /**
+     * 清除变化模板的缓存，只重新生成使用了变化模板的代码类型
+     */
+    private void regenerateTemplates(Set<String> templateNames) {
+        TemplateManager.invalidate(templateNames);
+
+        List<ArtifactGenerator> affected = new ArrayList<>();
+        for (ArtifactGenerator generator : ArtifactGenerators.getEnabled(options)) {
+            if (!Collections.disjoint(generator.getTemplateNames(), templateNames)) {
+                affected.add(generator);
+            }
+        }
+
+        if (affected.isEmpty()) {
+            log.info("模板变化: {}，没有启用的代码类型使用这些模板，无需重新生成", templateNames);
+            return;
+        }
+        List<TableInfo> tableInfos = new ArrayList<>(tables.values());
+        List<TableInfo> generated = regenerate(tableInfos, affected, "模板变化 " + templateNames);
+        recordFingerprints(tableInfos, generated, fingerprints);
+    }
+
+    /**
+     * 重新生成指定表的代码
+     *
+     * @return 所有任务都成功的表，暂存输出被放弃时为空
+     */
+    private List<TableInfo> regenerate(List<TableInfo> tableInfos, List<ArtifactGenerator> generators,
+            String reason) {
+        if (tableInfos.isEmpty()) {
+            return tableInfos;
+        }
+
+        long start = System.currentTimeMillis();
+        List<String> failures = GenerationEngine.generate(tableInfos, generators, options);
+        log.info("{}: 重新生成 {} 个表的 {} 种代码，耗时 {} ms", reason, tableInfos.size(), generators.size(),
+                System.currentTimeMillis() - start);
+        if (!failures.isEmpty()) {
+            log.warn("{} 个生成任务失败: {}", failures.size(), failures);
+        }
+        return GenerationEngine.getSucceededTables(tableInfos, failures);
+    }
+
+    /**
+     * 记录生成结果：生成成功的表记录新的指纹；失败的表移除指纹，下次检查时当作变化的表重新生成
+     *
+     * @param tableInfos 本次生成的表
+     * @param generated  其中所有任务都成功的表
+     * @param current    表名到当前指纹的映射
+     */
+    private void recordFingerprints(List<TableInfo> tableInfos, List<TableInfo> generated,
+            Map<String, String> current) {
+        Set<String> generatedNames = new HashSet<>();
+        for (TableInfo tableInfo : generated) {
+            generatedNames.add(tableInfo.getTableName());
+        }
+
+        List<String> failed = new ArrayList<>();
+        for (TableInfo tableInfo : tableInfos) {
+            String tableName = tableInfo.getTableName();
+            String fingerprint = current.get(tableName);
+            if (generatedNames.contains(tableName) && fingerprint != null) {
+                fingerprints.put(tableName, fingerprint);
+            } else {
+                fingerprints.remove(tableName);
+                failed.add(tableName);
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.warn("表 {} 未能生成，下次检查时重试", failed);
+        }
+    }
+
+    /**
+     * 读取 information_schema 表结构指纹
+     * 读取失败（如数据库暂时不可用）时本次返回null，由调用方完整读取表结构比较，下一次检查仍然先读取指纹
+     *
+     * @return 表名到指纹的映射，不使用指纹或读取失败时返回null
+     */
+    private Map<String, String> readDatabaseFingerprints() {
+        if (!databaseFingerprints) {
+            return null;
+        }
+
+        Map<String, String> current = BuilderTable.GetTableFingerprints(options.getTableFilter());
+        if (current == null) {
+            if (!fingerprintsFailing) {
+                log.warn("无法读取表结构指纹，本次改为完整读取表结构后比较，下次检查时重试");
+                fingerprintsFailing = true;
+            }
+        } else if (fingerprintsFailing) {
+            log.info("表结构指纹恢复读取");
+            fingerprintsFailing = false;
+        }
+        return current;
+    }
+
+    /**
+     * 读取表结构
+     *
+     * @return 表信息列表，读取失败时返回null，调用方应跳过本次检查，而不是当作所有表都已删除
+     */
+    private List<TableInfo> loadTables(TableFilter filter) {
+        SchemaReader reader = null;
+        try {
+            if (options.isDatabaseRequired()) {
+                return BuilderTable.ReadTables(options, filter);
+            }
+            reader = SchemaReaders.create(options, null);
+            return reader.readAll(filter);
+        } catch (Exception e) {
+            log.error("读取表结构失败，跳过本次检查，读取器: {}", reader == null ? options.getIntrospectMode()
+                    : reader.getName(), e);
+            return null;
+        }
+    }
+
+    private static Map<String, String> hashes(List<TableInfo> tableInfos) {
+        Map<String, String> result = new HashMap<>();
+        for (TableInfo tableInfo : tableInfos) {
+            result.put(tableInfo.getTableName(), IncrementalGenerator.calculateTableStructureHash(tableInfo));
+        }
+        return result;
+    }
+
+    /**
+     * 注册配置文件、自定义模板目录以及建表脚本或快照所在的目录，同一目录只注册一次
+     */
+    private void registerWatches() {
+        for (WatchKey key : watchKeys.values()) {
+            key.cancel();
+        }
+        watchKeys.clear();
+
+        configFile = PropertiesUtils.getConfigFile();
+        templateDir = Paths.get(TemplateManager.getCustomTemplatePath()).toAbsolutePath().normalize();
+        schemaPath = null;
+        if (SchemaReaders.SOURCE_DDL.equalsIgnoreCase(options.getSchemaSource())) {
+            schemaPath = Paths.get(options.getDdlPath()).toAbsolutePath().normalize();
+        } else if (SchemaReaders.SOURCE_SNAPSHOT.equalsIgnoreCase(options.getSchemaSource())) {
+            schemaPath = Paths.get(options.getSnapshotPath()).toAbsolutePath().normalize();
+        }
+
+        if (configFile == null) {
+            log.warn("配置文件不在文件系统中，不监听配置变化");
+        } else {
+            configFile = configFile.toAbsolutePath().normalize();
+            register(configFile.getParent());
+        }
+
+        if (Files.isDirectory(templateDir)) {
+            register(templateDir);
+        } else {
+            log.info("自定义模板目录不存在，不监听模板变化: {}", templateDir);
+            templateDir = null;
+        }
+
+        if (schemaPath != null) {
+            register(Files.isDirectory(schemaPath) ? schemaPath : schemaPath.getParent());
+        }
+    }
+
+    private void register(Path dir) {
+        if (dir == null || watchKeys.containsKey(dir)) {
+            return;
+        }
+        try {
+            watchKeys.put(dir, dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE));
+            log.info("监听目录: {}", dir);
+        } catch (IOException e) {
+            log.warn("无法监听目录: {}", dir, e);
+        }
+    }
+}
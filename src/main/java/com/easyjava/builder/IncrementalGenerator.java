@@ -11,12 +11,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.alibaba.fastjson.TypeReference;
 import com.easyjava.bean.Constants;
 import com.easyjava.bean.GenerateOptions;
 import com.easyjava.bean.TableInfo;
@@ -37,6 +40,9 @@ public class IncrementalGenerator {
     /** 表结构缓存文件名 */
     private static final String TABLE_CACHE_FILE = "table_structure_cache.json";
     
+    /** 表结构缓存文件，为null时使用 path.base 下的 {@link #TABLE_CACHE_FILE}，测试时替换 */
+    static volatile Path cacheFile;
+    
     /** 备份目录名 */
     private static final String BACKUP_DIR = "backup";
     
@@ -47,6 +53,8 @@ public class IncrementalGenerator {
         private String tableName;
         private String structureHash;
         private long lastModified;
+        /** information_schema 中读取的表结构指纹，用于跳过未变化表的逐表读取 */
+        private String schemaFingerprint;
         
         public TableStructureCache() {}
         
@@ -65,6 +73,9 @@ public class IncrementalGenerator {
         
         public long getLastModified() { return lastModified; }
         public void setLastModified(long lastModified) { this.lastModified = lastModified; }
+        
+        public String getSchemaFingerprint() { return schemaFingerprint; }
+        public void setSchemaFingerprint(String schemaFingerprint) { this.schemaFingerprint = schemaFingerprint; }
     }
     
     /**
@@ -112,17 +123,75 @@ public class IncrementalGenerator {
         return changedTables;
     }
     
+    /**
+     * 根据表结构指纹预筛选需要逐表读取的表
+     * 新表、缓存中没有指纹或指纹不一致的表才需要读取字段和索引，其余表视为未变化
+     * 
+     * @param fingerprints 当前表名到指纹的映射
+     * @return 需要读取的表名
+     */
+    public static Set<String> getTablesToIntrospect(Map<String, String> fingerprints) {
+        
+        Map<String, TableStructureCache> cacheMap = loadTableCache();
+        
+        Set<String> tableNames = new LinkedHashSet<>();
+        for (Map.Entry<String, String> entry : fingerprints.entrySet()) {
+            TableStructureCache cached = cacheMap.get(entry.getKey());
+            if (cached == null || !entry.getValue().equals(cached.getSchemaFingerprint())) {
+                tableNames.add(entry.getKey());
+            }
+        }
+        
+        log.info("表结构指纹预筛选: 共{}个表，其中{}个表需要读取表结构", fingerprints.size(), tableNames.size());
+        
+        return tableNames;
+    }
+    
+    /**
+     * 记录已生成表的指纹，下次运行时指纹未变化的表不再读取
+     * 需要在变更表的缓存更新后调用；结构哈希与缓存不一致的表（新表或生成失败的表）不记录，下次运行时重新读取并生成
+     * 
+     * @param tables       本次读取的表
+     * @param fingerprints 表名到指纹的映射
+     */
+    public static void recordSchemaFingerprints(List<TableInfo> tables, Map<String, String> fingerprints) {
+        
+        if (tables.isEmpty()) {
+            return;
+        }
+        
+        Map<String, TableStructureCache> cacheMap = loadTableCache();
+        
+        for (TableInfo table : tables) {
+            TableStructureCache cached = cacheMap.get(table.getTableName());
+            if (cached == null || !calculateTableStructureHash(table).equals(cached.getStructureHash())) {
+                continue;
+            }
+            cached.setSchemaFingerprint(fingerprints.get(table.getTableName()));
+        }
+        
+        saveTableCache(cacheMap);
+    }
+    
     /**
      * 生成变更的表
      * 
      * @param changedTables 变更的表列表
      * @param options 生成选项
+     * @param afterCommit 生成文件提交后才执行的操作，更新缓存会加入其中
+     * @return 生成的文件是否已写入输出目录，暂存输出被放弃时返回false，此时不更新缓存
      */
-    public static void generateChangedTables(List<TableInfo> changedTables, GenerateOptions options) {
+    public static boolean generateChangedTables(List<TableInfo> changedTables, GenerateOptions options,
+            List<Runnable> afterCommit) {
+        return generateChangedTables(changedTables, ArtifactGenerators.getEnabled(options), options, afterCommit);
+    }
+    
+    static boolean generateChangedTables(List<TableInfo> changedTables, List<ArtifactGenerator> generators,
+            GenerateOptions options, List<Runnable> afterCommit) {
         
         if (changedTables.isEmpty()) {
             log.info("没有表结构变更，无需生成代码");
-            return;
+            return true;
         }
         
         log.info("开始生成{}个变更表的代码...", changedTables.size());
@@ -133,61 +202,20 @@ public class IncrementalGenerator {
         }
         
         // 生成代码
-        for (TableInfo tableInfo : changedTables) {
-            generateTableCode(tableInfo, options);
+        List<String> failures = GenerationEngine.generate(changedTables, generators, options);
+        if (!failures.isEmpty()) {
+            log.warn("{} 个生成任务失败: {}", failures.size(), failures);
+            if (options.isStagedOutput()) {
+                return false;
+            }
         }
         
-        // 更新缓存
-        updateTableCache(changedTables);
+        // 只缓存所有任务都成功的表，失败的表下次运行时重新生成
+        List<TableInfo> generatedTables = GenerationEngine.getSucceededTables(changedTables, failures);
+        afterCommit.add(() -> updateTableCache(generatedTables));
         
         log.info("增量生成完成");
-    }
-    
-    /**
-     * 生成单个表的代码
-     */
-    private static void generateTableCode(TableInfo tableInfo, GenerateOptions options) {
-        log.info("正在生成表 {} 的代码...", tableInfo.getTableName());
-        
-        try {
-            if (options.isGeneratePo()) {
-                BuildPo.execute(tableInfo);
-            }
-            
-            if (options.isGenerateQuery()) {
-                BuildQuery.execute(tableInfo);
-            }
-            
-            if (options.isGenerateMapper()) {
-                BuildMapper.execute(tableInfo);
-            }
-            
-            if (options.isGenerateMapperXml()) {
-                BuildMapperXML.execute(tableInfo);
-            }
-            
-            if (options.isGenerateService()) {
-                BuildService.execute(tableInfo);
-            }
-            
-            if (options.isGenerateServiceImpl()) {
-                BuildServiceImpl.execute(tableInfo);
-            }
-            
-            if (options.isGenerateController()) {
-                BuildController.execute(tableInfo);
-            }
-            
-            if (options.isGenerateTests()) {
-                BuildTest.executeServiceTest(tableInfo);
-                BuildTest.executeControllerTest(tableInfo);
-            }
-            
-            log.info("表 {} 代码生成完成", tableInfo.getTableName());
-            
-        } catch (Exception e) {
-            log.error("生成表 {} 的代码时发生错误", tableInfo.getTableName(), e);
-        }
+        return true;
     }
     
     /**
@@ -275,7 +303,7 @@ public class IncrementalGenerator {
     /**
      * 计算表结构哈希值
      */
-    private static String calculateTableStructureHash(TableInfo table) {
+    static String calculateTableStructureHash(TableInfo table) {
         try {
             // 将表结构信息序列化为JSON
             String tableJson = JsonUtils.convertObject2Json(table);
@@ -305,18 +333,22 @@ public class IncrementalGenerator {
         Map<String, TableStructureCache> cacheMap = new HashMap<>();
         
         try {
-            String cacheFilePath = PropertiesUtils.geString("path.base") + "/" + TABLE_CACHE_FILE;
-            File cacheFile = new File(cacheFilePath);
+            Path cacheFilePath = getCacheFile();
             
-            if (!cacheFile.exists()) {
+            if (!Files.exists(cacheFilePath)) {
                 log.info("缓存文件不存在，将创建新的缓存");
                 return cacheMap;
             }
             
-            String cacheContent = new String(Files.readAllBytes(cacheFile.toPath()), "UTF-8");
+            String cacheContent = new String(Files.readAllBytes(cacheFilePath), "UTF-8");
             
-            // 这里应该使用JSON解析，简化处理
-            log.info("加载表结构缓存: {}", cacheFilePath);
+            Map<String, TableStructureCache> loaded = JsonUtils.convertJson2Object(cacheContent,
+                    new TypeReference<Map<String, TableStructureCache>>() {});
+            if (loaded != null) {
+                cacheMap.putAll(loaded);
+            }
+            
+            log.info("加载表结构缓存: {}，共{}个表", cacheFilePath, cacheMap.size());
             
         } catch (Exception e) {
             log.warn("加载表结构缓存失败", e);
@@ -326,27 +358,48 @@ public class IncrementalGenerator {
     }
     
     /**
-     * 更新表结构缓存
+     * 更新表结构缓存，合并到已有缓存中，未生成的表保留原有记录
      */
     private static void updateTableCache(List<TableInfo> tables) {
         
-        try {
-            String cacheFilePath = PropertiesUtils.geString("path.base") + "/" + TABLE_CACHE_FILE;
-            
-            Map<String, TableStructureCache> cacheMap = new HashMap<>();
+        Map<String, TableStructureCache> cacheMap = loadTableCache();
+        
+        for (TableInfo table : tables) {
+            String hash = calculateTableStructureHash(table);
+            TableStructureCache cache = new TableStructureCache(
+                table.getTableName(), hash, System.currentTimeMillis());
             
-            for (TableInfo table : tables) {
-                String hash = calculateTableStructureHash(table);
-                TableStructureCache cache = new TableStructureCache(
-                    table.getTableName(), hash, System.currentTimeMillis());
-                cacheMap.put(table.getTableName(), cache);
+            // 结构哈希变化时指纹也一定变化，保留旧指纹会导致下次仍被读取，因此不沿用
+            TableStructureCache previous = cacheMap.get(table.getTableName());
+            if (previous != null && hash.equals(previous.getStructureHash())) {
+                cache.setSchemaFingerprint(previous.getSchemaFingerprint());
+            }
+            cacheMap.put(table.getTableName(), cache);
+        }
+        
+        saveTableCache(cacheMap);
+    }
+    
+    private static Path getCacheFile() {
+        Path path = cacheFile;
+        return path != null ? path : Paths.get(PropertiesUtils.geString("path.base"), TABLE_CACHE_FILE);
+    }
+    
+    /**
+     * 将缓存写入文件
+     */
+    private static void saveTableCache(Map<String, TableStructureCache> cacheMap) {
+        
+        try {
+            Path cachePath = getCacheFile();
+            if (cachePath.getParent() != null) {
+                Files.createDirectories(cachePath.getParent());
             }
             
-            // 将缓存写入文件
             String cacheJson = JsonUtils.convertObject2Json(cacheMap);
-            Files.write(Paths.get(cacheFilePath), cacheJson.getBytes("UTF-8"));
+            Files.write(cachePath, cacheJson.getBytes("UTF-8"));
             
-            log.info("更新表结构缓存: {}", cacheFilePath);
+            log.info("更新表结构缓存: {}", cachePath);
             
         } catch (Exception e) {
             log.error("更新表结构缓存失败", e);
@@ -358,11 +411,7 @@ public class IncrementalGenerator {
      */
     public static void clearCache() {
         try {
-            String cacheFilePath = PropertiesUtils.geString("path.base") + "/" + TABLE_CACHE_FILE;
-            File cacheFile = new File(cacheFilePath);
-            
-            if (cacheFile.exists()) {
-                cacheFile.delete();
+            if (Files.deleteIfExists(getCacheFile())) {
                 log.info("清理表结构缓存完成");
             }
         } catch (Exception e) {
@@ -383,6 +432,9 @@ public class IncrementalGenerator {
         clearCache();
         
         // 生成所有表
-        generateChangedTables(allTables, options);
+        List<Runnable> afterCommit = new ArrayList<>();
+        if (generateChangedTables(allTables, options, afterCommit)) {
+            afterCommit.forEach(Runnable::run);
+        }
     }
 }
@@ -0,0 +1,375 @@
+package com.easyjava.builder;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.GenerateOptions;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.SyntheticSchema;
+import com.easyjava.utils.JsonUtils;
+import com.easyjava.utils.PropertiesUtils;
+import com.easyjava.utils.SqlTypeMapper;
+
+/**
+ * 大规模表结构压测
+ * 按给定的表数量、列数、索引数和字段类型合成表结构（见 {@link SyntheticSchema}），
+ * 经 {@link GenerationEngine} 走完整的生成流程写入临时目录，报告每秒处理的表数、文件数和 MB 数，以及堆内存峰值和 GC 耗时。
+ * 可以依次跑多个表数量，观察耗时和内存随表规模的增长，不需要数据库
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class ScaleHarness {
+
+    private static final Logger log = LoggerFactory.getLogger(ScaleHarness.class);
+
+    private static final String TEMP_PREFIX = "easyjava-scale-";
+
+    private static final double MB = 1024.0 * 1024.0;
+
+    /**
+     * 按参数依次运行各个规模，打印报告，指定了 --report 时再写出JSON
+     *
+     * @param args    命令行参数，不认识的参数忽略（生成选项由调用方解析）
+     * @param options 生成选项，决定生成哪些代码以及是否并行
+     * @return 各规模的结果
+     */
+    public static List<Result> run(String[] args, GenerateOptions options) throws IOException {
+        Settings settings = Settings.parse(args);
+
+        log.info("=== 大规模表结构压测 ===");
+        log.info("表数量: {}，每表 {} 列，{} 个唯一索引，{} 种字段类型，随机种子 {}，{}", settings.tableCounts,
+                settings.columns, settings.indexes, settings.types.length, settings.seed,
+                settings.discard ? "只渲染不写盘" : "写入临时目录");
+
+        List<Result> results = new ArrayList<>();
+        for (int tableCount : settings.tableCounts) {
+            Result result = runStep(tableCount, settings, options);
+            results.add(result);
+            result.logSummary();
+        }
+
+        if (results.size() > 1) {
+            log.info("规模对比:");
+            for (Result result : results) {
+                log.info("  {} 个表: 每表 {} ms，堆峰值 {} MB，GC {} ms", result.tables,
+                        round(result.generateNanos / 1e6 / Math.max(1, result.tables)), round(result.peakHeap / MB),
+                        result.gcMillis);
+            }
+        }
+        log.info("=======================");
+
+        if (settings.reportPath != null) {
+            List<Map<String, Object>> report = new ArrayList<>();
+            for (Result result : results) {
+                report.add(result.toMap());
+            }
+            Path path = Paths.get(settings.reportPath);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            Files.write(path, JsonUtils.convertObject2Json(report).getBytes(StandardCharsets.UTF_8));
+            log.info("压测结果已写入: {}", path);
+        }
+        return results;
+    }
+
+    private static Result runStep(int tableCount, Settings settings, GenerateOptions options) throws IOException {
+        forceGc();
+        long baseHeap = usedHeap();
+
+        long start = System.nanoTime();
+        List<TableInfo> tables = SyntheticSchema.create(tableCount, settings.columns, settings.indexes,
+                settings.types, settings.seed);
+        long schemaNanos = System.nanoTime() - start;
+
+        forceGc();
+        long schemaHeap = Math.max(0, usedHeap() - baseHeap);
+
+        Path outputDir = settings.discard ? null : Files.createTempDirectory(TEMP_PREFIX);
+        CountingSink sink = new CountingSink(outputDir);
+
+        resetPeakHeap();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+
+        start = System.nanoTime();
+        List<String> failures = GenerationEngine.generate(tables, options, sink);
+        long generateNanos = System.nanoTime() - start;
+
+        Result result = new Result(tableCount, sink.files.sum(), sink.bytes.sum(), schemaNanos, generateNanos,
+                schemaHeap, peakHeap(), gcCount() - gcCount, gcMillis() - gcMillis, failures.size());
+
+        if (outputDir != null) {
+            if (settings.keep) {
+                log.info("生成文件保留在: {}", outputDir);
+            } else {
+                deleteRecursively(outputDir);
+            }
+        }
+        return result;
+    }
+
+    private static void forceGc() {
+        System.gc();
+        System.gc();
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static void resetPeakHeap() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * 各堆内存池峰值之和，各池的峰值不一定同时出现，是实际峰值的上限
+     */
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+
+    private static void deleteRecursively(Path dir) {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("删除临时目录失败: {}", dir, e);
+        }
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * 统计文件数和字节数，生成的文件按相对 path.base 的路径写入临时目录；临时目录为null时只统计不写入
+     */
+    private static final class CountingSink implements ArtifactSink {
+
+        private final Path outputDir;
+        private final Path baseDir = Paths.get(PropertiesUtils.geString("path.base")).toAbsolutePath().normalize();
+        private final Set<Path> createdDirs = ConcurrentHashMap.newKeySet();
+
+        private final LongAdder files = new LongAdder();
+        private final LongAdder bytes = new LongAdder();
+
+        CountingSink(Path outputDir) {
+            this.outputDir = outputDir;
+        }
+
+        @Override
+        public void write(ArtifactGenerator generator, File target, CharSequence content) throws IOException {
+            files.increment();
+            if (outputDir == null) {
+                bytes.add(GenerationProfile.utf8Length(content));
+                return;
+            }
+
+            Path path = target.toPath().toAbsolutePath().normalize();
+            path = outputDir.resolve(path.startsWith(baseDir) ? baseDir.relativize(path) : path.getFileName());
+            Path parent = path.getParent();
+            if (createdDirs.add(parent)) {
+                Files.createDirectories(parent);
+            }
+
+            byte[] data = content.toString().getBytes(StandardCharsets.UTF_8);
+            Files.write(path, data);
+            bytes.add(data.length);
+        }
+    }
+
+    /**
+     * 压测参数
+     */
+    static final class Settings {
+        private List<Integer> tableCounts = List.of(1000);
+        private int columns = 20;
+        private int indexes = 2;
+        private String[] types = SyntheticSchema.getDefaultTypes();
+        private long seed = 42;
+        private boolean discard;
+        private boolean keep;
+        private String reportPath;
+
+        static Settings parse(String[] args) {
+            Settings settings = new Settings();
+            for (String arg : args) {
+                if (arg.startsWith("--tables=")) {
+                    List<Integer> counts = new ArrayList<>();
+                    for (String count : arg.substring("--tables=".length()).split(",")) {
+                        counts.add(Integer.parseInt(count.trim()));
+                    }
+                    settings.tableCounts = counts;
+                } else if (arg.startsWith("--columns=")) {
+                    settings.columns = Integer.parseInt(arg.substring("--columns=".length()));
+                } else if (arg.startsWith("--indexes=")) {
+                    settings.indexes = Integer.parseInt(arg.substring("--indexes=".length()));
+                } else if (arg.startsWith("--types=")) {
+                    settings.types = arg.substring("--types=".length()).split(",");
+                } else if (arg.startsWith("--seed=")) {
+                    settings.seed = Long.parseLong(arg.substring("--seed=".length()));
+                } else if (arg.startsWith("--report=")) {
+                    settings.reportPath = arg.substring("--report=".length());
+                } else if ("--discard".equals(arg)) {
+                    settings.discard = true;
+                } else if ("--keep".equals(arg)) {
+                    settings.keep = true;
+                }
+            }
+            settings.validate();
+            return settings;
+        }
+
+        private void validate() {
+            for (int count : tableCounts) {
+                if (count < 1) {
+                    throw new IllegalArgumentException("表数量必须大于0");
+                }
+            }
+            if (columns < 1) {
+                throw new IllegalArgumentException("每表列数必须大于0");
+            }
+            if (indexes < 0) {
+                throw new IllegalArgumentException("索引数不能为负数");
+            }
+            for (int i = 0; i < types.length; i++) {
+                types[i] = types[i].trim();
+                if (!SqlTypeMapper.isSupportedType(types[i])) {
+                    throw new IllegalArgumentException("不支持的字段类型: " + types[i]);
+                }
+            }
+            if (discard && keep) {
+                throw new IllegalArgumentException("--discard 不写入文件，不能与 --keep 同时使用");
+            }
+        }
+    }
+
+    /**
+     * 一个规模的压测结果
+     */
+    public static final class Result {
+        private final int tables;
+        private final long files;
+        private final long bytes;
+        private final long schemaNanos;
+        private final long generateNanos;
+        private final long schemaHeap;
+        private final long peakHeap;
+        private final long gcCount;
+        private final long gcMillis;
+        private final int failures;
+
+        Result(int tables, long files, long bytes, long schemaNanos, long generateNanos, long schemaHeap,
+                long peakHeap, long gcCount, long gcMillis, int failures) {
+            this.tables = tables;
+            this.files = files;
+            this.bytes = bytes;
+            this.schemaNanos = schemaNanos;
+            this.generateNanos = generateNanos;
+            this.schemaHeap = schemaHeap;
+            this.peakHeap = peakHeap;
+            this.gcCount = gcCount;
+            this.gcMillis = gcMillis;
+            this.failures = failures;
+        }
+
+        public int getTables() { return tables; }
+        public long getFiles() { return files; }
+        public long getBytes() { return bytes; }
+        public long getGenerateNanos() { return generateNanos; }
+        public long getPeakHeap() { return peakHeap; }
+        public long getGcMillis() { return gcMillis; }
+        public int getFailures() { return failures; }
+
+        public double getTablesPerSecond() {
+            return tables / seconds();
+        }
+
+        public double getFilesPerSecond() {
+            return files / seconds();
+        }
+
+        public double getMegabytesPerSecond() {
+            return bytes / MB / seconds();
+        }
+
+        private double seconds() {
+            return Math.max(generateNanos, 1) / 1e9;
+        }
+
+        void logSummary() {
+            log.info("{} 个表: 合成表结构 {} ms（模型占用 {} MB），生成 {} 个文件 {} MB，耗时 {} ms", tables,
+                    round(schemaNanos / 1e6), round(schemaHeap / MB), files, round(bytes / MB),
+                    round(generateNanos / 1e6));
+            log.info("  {} 表/秒，{} 文件/秒，{} MB/秒，堆峰值 {} MB，GC {} 次 {} ms，失败任务 {} 个",
+                    round(getTablesPerSecond()), round(getFilesPerSecond()), round(getMegabytesPerSecond()),
+                    round(peakHeap / MB), gcCount, gcMillis, failures);
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("tables", tables);
+            map.put("files", files);
+            map.put("bytes", bytes);
+            map.put("schemaMillis", round(schemaNanos / 1e6));
+            map.put("schemaHeapBytes", schemaHeap);
+            map.put("generateMillis", round(generateNanos / 1e6));
+            map.put("tablesPerSecond", round(getTablesPerSecond()));
+            map.put("filesPerSecond", round(getFilesPerSecond()));
+            map.put("megabytesPerSecond", round(getMegabytesPerSecond()));
+            map.put("peakHeapBytes", peakHeap);
+            map.put("gcCount", gcCount);
+            map.put("gcMillis", gcMillis);
+            map.put("failures", failures);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.easyjava.builder;
+
+import java.io.IOException;
+
+/**
+ * 生成器使用的写入器，提供与 BufferedWriter 相同的 write / newLine 写法，
+ * 直接追加到目标 Appendable 中，没有额外的缓冲和编码
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public final class SourceWriter implements Appendable {
+
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Appendable out;
+
+    public SourceWriter(Appendable out) {
+        this.out = out;
+    }
+
+    public void write(String str) throws IOException {
+        out.append(str);
+    }
+
+    public void newLine() throws IOException {
+        out.append(LINE_SEPARATOR);
+    }
+
+    /**
+     * 内容直接追加到目标中，无需刷新，保留该方法以兼容原有写法
+     */
+    public void flush() {
+    }
+
+    @Override
+    public SourceWriter append(CharSequence csq) throws IOException {
+        out.append(csq);
+        return this;
+    }
+
+    @Override
+    public SourceWriter append(CharSequence csq, int start, int end) throws IOException {
+        out.append(csq, start, end);
+        return this;
+    }
+
+    @Override
+    public SourceWriter append(char c) throws IOException {
+        out.append(c);
+        return this;
+    }
+}
@@ -0,0 +1,523 @@
+package com.easyjava.builder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.commons.lang3.ArrayUtils;
+
+import com.easyjava.bean.Constants;
+import com.easyjava.bean.FieldInfo;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.utils.StringUtils;
+
+/**
+ * 交给代码生成器的表模型，每个表只创建一次，由该表的所有生成器共享，创建后不再修改
+ * 各生成器共用的派生数据（主键、按索引生成的方法名和参数、列清单、插入和更新片段、字段类型的导入）
+ * 在创建时对字段和索引各遍历一次计算好，生成器直接使用，不再各自重复拼接；
+ * 模板通过 model 变量读取这些数据，如 &lt;#list model.fieldModels as field&gt;
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public final class TableModel {
+
+    /** 主键在 keyIndexMap 中的索引名 */
+    public static final String PRIMARY_KEY = "PRIMARY";
+
+    /** Mapper XML 查询中使用的表别名 */
+    public static final String TABLE_ALIAS = "v";
+
+    private final TableInfo tableInfo;
+
+    private final List<FieldInfo> primaryKey;
+    private final List<FieldInfo> autoIncrementFields;
+    private final List<KeyMethod> keyMethods;
+    private final Set<String> keyFieldNames;
+
+    private final String columnList;
+    private final String batchInsertColumns;
+    private final String batchInsertValues;
+    private final String batchUpdateAssignments;
+
+    private final String insertColumns;
+    private final String insertValues;
+    private final String updateSet;
+
+    private final Set<String> fieldTypeImports;
+    private final int stringFieldCount;
+
+    private final List<FieldModel> fieldModels;
+    private final List<FieldModel> extendFieldModels;
+    private final boolean anyJsonIgnore;
+
+    public TableModel(TableInfo tableInfo) {
+        this.tableInfo = tableInfo;
+
+        List<FieldInfo> autoIncrement = new ArrayList<>();
+        Set<String> imports = new TreeSet<>();
+        int stringFields = 0;
+
+        StringBuilder columns = new StringBuilder();
+        StringBuilder batchColumns = new StringBuilder();
+        StringBuilder batchValues = new StringBuilder();
+        StringBuilder batchUpdate = new StringBuilder();
+        StringBuilder allColumns = new StringBuilder();
+        StringBuilder allValues = new StringBuilder();
+        StringBuilder allUpdates = new StringBuilder();
+
+        for (FieldInfo field : tableInfo.getFieldList()) {
+            String fieldName = field.getFieldName();
+            String propertyName = field.getPropertyName();
+
+            separate(columns, ",").append(TABLE_ALIAS).append('.').append(fieldName);
+            separate(allColumns, ", ").append(fieldName);
+            separate(allValues, ", ").append("#{").append(propertyName).append('}');
+            separate(allUpdates, ", ").append(fieldName).append(" = #{").append(propertyName).append('}');
+
+            String importName = importOf(field.getJavaType());
+            if (importName != null) {
+                imports.add(importName);
+            }
+            if ("String".equals(field.getJavaType())) {
+                stringFields++;
+            }
+
+            if (Boolean.TRUE.equals(field.getIsAutoIncrement())) {
+                autoIncrement.add(field);
+                continue;
+            }
+
+            separate(batchColumns, ",").append(fieldName);
+            separate(batchValues, ",").append("#{item.").append(propertyName).append('}');
+            separate(batchUpdate, ",\n").append("\t\t").append(fieldName).append(" = VALUES(").append(fieldName)
+                    .append(')');
+        }
+
+        List<FieldInfo> primary = Collections.emptyList();
+        List<KeyMethod> methods = new ArrayList<>(tableInfo.getKeyIndexMap().size());
+        Set<String> keyFields = new HashSet<>();
+        for (Map.Entry<String, List<FieldInfo>> entry : tableInfo.getKeyIndexMap().entrySet()) {
+            KeyMethod method = new KeyMethod(entry.getKey(), entry.getValue());
+            methods.add(method);
+            if (PRIMARY_KEY.equals(entry.getKey())) {
+                primary = method.getFields();
+            }
+            for (FieldInfo field : entry.getValue()) {
+                keyFields.add(field.getFieldName());
+            }
+        }
+
+        this.primaryKey = primary;
+        this.autoIncrementFields = Collections.unmodifiableList(autoIncrement);
+        this.keyMethods = Collections.unmodifiableList(methods);
+        this.keyFieldNames = Collections.unmodifiableSet(keyFields);
+        this.columnList = columns.toString();
+        this.batchInsertColumns = batchColumns.toString();
+        this.batchInsertValues = batchValues.toString();
+        this.batchUpdateAssignments = batchUpdate.toString();
+        this.insertColumns = allColumns.toString();
+        this.insertValues = allValues.toString();
+        this.updateSet = allUpdates.toString();
+        this.fieldTypeImports = Collections.unmodifiableSet(imports);
+        this.stringFieldCount = stringFields;
+
+        String ignoreFields = Constants.IGNORE_BEAN_TOJSON_FIELD;
+        Set<String> jsonIgnoreFields = ignoreFields == null ? Collections.emptySet()
+                : new HashSet<>(Arrays.asList(ignoreFields.split(",")));
+        FieldInfo idField = getPrimaryKeyField();
+
+        List<FieldModel> models = new ArrayList<>(tableInfo.getFieldList().size());
+        boolean jsonIgnore = false;
+        for (FieldInfo field : tableInfo.getFieldList()) {
+            FieldModel model = new FieldModel(field, jsonIgnoreFields.contains(field.getPropertyName()),
+                    keyFields.contains(field.getFieldName()),
+                    idField != null && field.getPropertyName().equals(idField.getPropertyName()));
+            models.add(model);
+            jsonIgnore |= model.isJsonIgnore();
+        }
+
+        List<FieldModel> extendModels = new ArrayList<>();
+        if (tableInfo.getFieldListExtend() != null) {
+            for (FieldInfo field : tableInfo.getFieldListExtend()) {
+                extendModels.add(new FieldModel(field, false, false, false));
+            }
+        }
+
+        this.fieldModels = Collections.unmodifiableList(models);
+        this.extendFieldModels = Collections.unmodifiableList(extendModels);
+        this.anyJsonIgnore = jsonIgnore;
+    }
+
+    public TableInfo getTableInfo() {
+        return tableInfo;
+    }
+
+    public String getTableName() {
+        return tableInfo.getTableName();
+    }
+
+    public String getBeanName() {
+        return tableInfo.getBeanName();
+    }
+
+    public List<FieldInfo> getFields() {
+        return tableInfo.getFieldList();
+    }
+
+    /**
+     * 主键字段，没有主键时为空列表
+     */
+    public List<FieldInfo> getPrimaryKey() {
+        return primaryKey;
+    }
+
+    /**
+     * 单字段主键，没有主键或为联合主键时返回null
+     */
+    public FieldInfo getPrimaryKeyField() {
+        return primaryKey.size() == 1 ? primaryKey.get(0) : null;
+    }
+
+    public List<FieldInfo> getAutoIncrementFields() {
+        return autoIncrementFields;
+    }
+
+    /**
+     * 第一个自增字段，没有时返回null
+     */
+    public FieldInfo getAutoIncrementField() {
+        return autoIncrementFields.isEmpty() ? null : autoIncrementFields.get(0);
+    }
+
+    /**
+     * 按 keyIndexMap 顺序，每个主键或唯一索引对应的 GetBy / UpdateBy / DeleteBy 方法
+     */
+    public List<KeyMethod> getKeyMethods() {
+        return keyMethods;
+    }
+
+    /**
+     * 字段是否属于主键或某个唯一索引
+     */
+    public boolean isKeyField(String fieldName) {
+        return keyFieldNames.contains(fieldName);
+    }
+
+    /**
+     * 带表别名的查询列，如 v.id,v.name
+     */
+    public String getColumnList() {
+        return columnList;
+    }
+
+    /**
+     * 批量插入的列，不含自增字段，如 name,age
+     */
+    public String getBatchInsertColumns() {
+        return batchInsertColumns;
+    }
+
+    /**
+     * 批量插入的值，不含自增字段，如 #{item.name},#{item.age}
+     */
+    public String getBatchInsertValues() {
+        return batchInsertValues;
+    }
+
+    /**
+     * 批量插入或更新时 on duplicate key update 后的赋值，每行一个字段，不含自增字段
+     */
+    public String getBatchUpdateAssignments() {
+        return batchUpdateAssignments;
+    }
+
+    /**
+     * 所有列，以逗号和空格分隔
+     */
+    public String getInsertColumns() {
+        return insertColumns;
+    }
+
+    /**
+     * 所有属性的占位符，如 #{id}, #{name}
+     */
+    public String getInsertValues() {
+        return insertValues;
+    }
+
+    /**
+     * 所有字段的更新赋值，如 id = #{id}, name = #{name}
+     */
+    public String getUpdateSet() {
+        return updateSet;
+    }
+
+    /**
+     * 字段类型需要导入的类，按名称排序
+     */
+    public Set<String> getFieldTypeImports() {
+        return fieldTypeImports;
+    }
+
+    public int getStringFieldCount() {
+        return stringFieldCount;
+    }
+
+    /**
+     * 按 fieldList 顺序，每个字段及其派生数据
+     */
+    public List<FieldModel> getFieldModels() {
+        return fieldModels;
+    }
+
+    /**
+     * 按 fieldListExtend 顺序，查询对象的扩展字段（模糊查询、时间范围）
+     */
+    public List<FieldModel> getExtendFieldModels() {
+        return extendFieldModels;
+    }
+
+    /**
+     * 是否有字段配置为不参与JSON序列化
+     */
+    public boolean isAnyJsonIgnore() {
+        return anyJsonIgnore;
+    }
+
+    private static StringBuilder separate(StringBuilder builder, String separator) {
+        if (builder.length() > 0) {
+            builder.append(separator);
+        }
+        return builder;
+    }
+
+    private static String importOf(String javaType) {
+        if (javaType == null) {
+            return null;
+        }
+        switch (javaType) {
+            case "Date":
+                return "java.util.Date";
+            case "BigDecimal":
+                return "java.math.BigDecimal";
+            case "Time":
+                return "java.sql.Time";
+            case "Timestamp":
+                return "java.sql.Timestamp";
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * 一个主键或唯一索引对应的方法名和参数
+     */
+    public static final class KeyMethod {
+
+        private final String indexName;
+        private final List<FieldInfo> fields;
+        private final String methodName;
+        private final String methodParams;
+        private final String mapperParams;
+        private final String argumentNames;
+        private final String whereCondition;
+        private final String aliasWhereCondition;
+
+        KeyMethod(String indexName, List<FieldInfo> fields) {
+            this.indexName = indexName;
+            this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+
+            StringBuilder name = new StringBuilder();
+            StringBuilder params = new StringBuilder();
+            StringBuilder mapper = new StringBuilder();
+            StringBuilder arguments = new StringBuilder();
+            StringBuilder where = new StringBuilder();
+            StringBuilder aliasWhere = new StringBuilder();
+
+            for (FieldInfo field : fields) {
+                String propertyName = field.getPropertyName();
+                String javaType = field.getJavaType();
+
+                separate(name, "And").append(StringUtils.uperCaseFirstLetter(propertyName));
+                separate(params, ", ").append(javaType).append(' ').append(propertyName);
+                separate(mapper, ", ").append("@Param(\"").append(propertyName).append("\") ").append(javaType)
+                        .append(' ').append(propertyName);
+                separate(arguments, ",").append(propertyName);
+                separate(where, " and ").append(field.getFieldName()).append(" = #{").append(propertyName)
+                        .append('}');
+                separate(aliasWhere, " and ").append(TABLE_ALIAS).append('.').append(field.getFieldName())
+                        .append(" = #{").append(propertyName).append('}');
+            }
+
+            this.methodName = name.toString();
+            this.methodParams = params.toString();
+            this.mapperParams = mapper.toString();
+            this.argumentNames = arguments.toString();
+            this.whereCondition = where.toString();
+            this.aliasWhereCondition = aliasWhere.toString();
+        }
+
+        public String getIndexName() {
+            return indexName;
+        }
+
+        public List<FieldInfo> getFields() {
+            return fields;
+        }
+
+        /**
+         * 方法名后缀，如 UserIdAndEmail，对应 GetByUserIdAndEmail
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+
+        /**
+         * 方法参数声明，如 Long userId, String email
+         */
+        public String getMethodParams() {
+            return methodParams;
+        }
+
+        /**
+         * 带 @Param 注解的 Mapper 方法参数声明
+         */
+        public String getMapperParams() {
+            return mapperParams;
+        }
+
+        /**
+         * 调用时的参数，如 userId,email
+         */
+        public String getArgumentNames() {
+            return argumentNames;
+        }
+
+        /**
+         * 按索引字段匹配的条件，如 user_id = #{userId} and email = #{email}
+         */
+        public String getWhereCondition() {
+            return whereCondition;
+        }
+
+        /**
+         * 带表别名的匹配条件
+         */
+        public String getAliasWhereCondition() {
+            return aliasWhereCondition;
+        }
+    }
+
+    /**
+     * 字段及模板中常用的派生数据：访问器名称、SQL 类型分类、是否属于主键或唯一索引
+     */
+    public static final class FieldModel {
+
+        private final FieldInfo field;
+        private final String accessorName;
+        private final boolean dateTimeType;
+        private final boolean dateType;
+        private final boolean stringType;
+        private final boolean jsonIgnore;
+        private final boolean keyField;
+        private final boolean idField;
+        private final boolean timeStart;
+
+        FieldModel(FieldInfo field, boolean jsonIgnore, boolean keyField, boolean idField) {
+            String propertyName = field.getPropertyName();
+            String capitalized = StringUtils.uperCaseFirstLetter(propertyName);
+
+            this.field = field;
+            this.accessorName = propertyName.startsWith("is") ? capitalized.substring(2) : capitalized;
+            this.dateTimeType = ArrayUtils.contains(Constants.SQL_DATE_TIME_TYPES, field.getSqlType());
+            this.dateType = ArrayUtils.contains(Constants.SQL_DATE_TYPE, field.getSqlType());
+            this.stringType = ArrayUtils.contains(Constants.SQL_STRING_TYPE, field.getSqlType());
+            this.jsonIgnore = jsonIgnore;
+            this.keyField = keyField;
+            this.idField = idField;
+            this.timeStart = Constants.SUFFIX_BEAN_PARAM_TIME_START != null
+                    && propertyName.endsWith(Constants.SUFFIX_BEAN_PARAM_TIME_START);
+        }
+
+        public FieldInfo getField() {
+            return field;
+        }
+
+        public String getFieldName() {
+            return field.getFieldName();
+        }
+
+        public String getPropertyName() {
+            return field.getPropertyName();
+        }
+
+        public String getSqlType() {
+            return field.getSqlType();
+        }
+
+        public String getJavaType() {
+            return field.getJavaType();
+        }
+
+        public String getComment() {
+            return field.getComment();
+        }
+
+        public Boolean getIsAutoIncrement() {
+            return field.getIsAutoIncrement();
+        }
+
+        /**
+         * get / set 方法名中的属性部分，is 开头的属性去掉 is，如 isDeleted 对应 Deleted
+         */
+        public String getAccessorName() {
+            return accessorName;
+        }
+
+        public boolean isDateTimeType() {
+            return dateTimeType;
+        }
+
+        public boolean isDateType() {
+            return dateType;
+        }
+
+        public boolean isStringType() {
+            return stringType;
+        }
+
+        /**
+         * 是否配置为不参与JSON序列化（ignore.bean.tojson.field）
+         */
+        public boolean isJsonIgnore() {
+            return jsonIgnore;
+        }
+
+        /**
+         * 是否属于主键或某个唯一索引
+         */
+        public boolean isKeyField() {
+            return keyField;
+        }
+
+        /**
+         * 是否为单字段主键，Mapper XML 的 resultMap 中使用 id 标签
+         */
+        public boolean isIdField() {
+            return idField;
+        }
+
+        /**
+         * 扩展字段中是否为时间范围的开始字段
+         */
+        public boolean isTimeStart() {
+            return timeStart;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.easyjava.builder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.TableInfo;
+
+/**
+ * 表结构读取与代码生成流水线
+ * 读取线程把读取完成的表逐个放入有界队列，调用线程从队列中取出并立即生成代码，
+ * 数据库查询与文件写入重叠进行；队列满时读取线程阻塞，内存中最多只保留队列容量加上正在处理的几个表。
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class TablePipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(TablePipeline.class);
+
+    /** 队列结束标记 */
+    private static final TableInfo END = new TableInfo();
+
+    /**
+     * 表结构来源，每读取完一个表调用一次 sink
+     */
+    public interface TableSource {
+        void read(Consumer<TableInfo> sink) throws Exception;
+    }
+
+    /**
+     * 运行流水线
+     *
+     * @param source    表结构来源，在独立的读取线程上执行
+     * @param capacity  队列容量
+     * @param generator 代码生成，在调用线程上执行
+     * @return 处理的表数量，读取失败或被中断时返回-1，调用方不应提交部分生成的结果
+     */
+    public static int run(TableSource source, int capacity, Consumer<TableInfo> generator) {
+        BlockingQueue<TableInfo> queue = new ArrayBlockingQueue<>(capacity);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread producer = new Thread(() -> {
+            try {
+                source.read(tableInfo -> {
+                    try {
+                        queue.put(tableInfo);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("流水线已停止", e);
+                    }
+                });
+            } catch (Throwable e) {
+                failure.set(e);
+            } finally {
+                try {
+                    queue.put(END);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }, "pipeline-reader");
+        producer.setDaemon(true);
+        producer.start();
+
+        int count = 0;
+        try {
+            while (true) {
+                TableInfo tableInfo = queue.take();
+                if (tableInfo == END) {
+                    break;
+                }
+
+                count++;
+                generator.accept(tableInfo);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            producer.interrupt();
+            log.error("流水线被中断，已处理 {} 个表，本次生成视为失败", count);
+            return -1;
+        }
+
+        if (failure.get() != null) {
+            log.error("读取表结构失败，已处理 {} 个表", count, failure.get());
+            return -1;
+        }
+
+        return count;
+    }
+}
@@ -2,16 +2,16 @@ package com.easyjava.builder;
 
 import com.easyjava.bean.FieldInfo;
 import com.easyjava.bean.TableInfo;
+import com.easyjava.manager.CompiledTemplate;
 import com.easyjava.manager.TemplateManager;
 import com.easyjava.manager.TemplateConfigManager;
+import com.easyjava.output.GeneratedFiles;
 import com.easyjava.utils.PropertiesUtils;
 import com.easyjava.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.*;
 
@@ -33,6 +33,17 @@ public class TemplateBasedBuilder {
      * @param outputPath 输出路径
      */
     public static void generateWithTemplate(TableInfo tableInfo, String templateType, String outputPath) {
+        generateWithTemplate(new TableModel(tableInfo), templateType, outputPath);
+    }
+    
+    /**
+     * 使用模板生成代码，同一个表的多个模板共用一个表模型
+     * 
+     * @param model 表模型
+     * @param templateType 模板类型
+     * @param outputPath 输出路径
+     */
+    public static void generateWithTemplate(TableModel model, String templateType, String outputPath) {
         try {
             // 检查模板是否启用
             if (!TemplateConfigManager.isTemplateEnabled(templateType)) {
@@ -57,16 +68,13 @@ public class TemplateBasedBuilder {
             }
             
             // 准备变量
-            Map<String, Object> variables = prepareVariables(tableInfo, templateType);
-            
-            // 处理模板
-            String generatedCode = TemplateManager.processTemplate(templateContent, variables);
+            Map<String, Object> variables = prepareVariables(model, templateType);
             
             // 确定输出文件名
-            String fileName = generateFileName(tableInfo, templateType);
+            String fileName = generateFileName(model.getTableInfo(), templateType);
             
-            // 写入文件
-            writeToFile(generatedCode, outputPath, fileName);
+            // 处理模板，直接写入文件
+            writeToFile(templateContent, variables, outputPath, fileName);
             
             logger.info("成功生成 {} 文件: {}", templateTypeConfig.getDescription(), fileName);
             
@@ -78,42 +86,45 @@ public class TemplateBasedBuilder {
     /**
      * 准备模板变量
      * 
-     * @param tableInfo 表信息
+     * @param model 表模型
      * @param templateType 模板类型
      * @return 变量映射
      */
-    private static Map<String, Object> prepareVariables(TableInfo tableInfo, String templateType) {
-        Map<String, Object> variables = TemplateManager.createTableVariables(tableInfo);
+    static Map<String, Object> prepareVariables(TableModel model, String templateType) {
+        Map<String, Object> variables = TemplateManager.createTableVariables(model.getTableInfo());
+        
+        // 与内置的模板代码类型使用相同的变量（model、完整包名等），PoBean.txt 和 Po.txt 等模板都能使用
+        variables.putAll(ArtifactTemplates.createVariables(model));
         
         // 添加导入包列表
-        Set<String> imports = collectImports(tableInfo, templateType);
+        Set<String> imports = collectImports(model, templateType);
         variables.put("imports", new ArrayList<>(imports));
         
         // 添加模板特定变量
         switch (templateType) {
             case "po":
-                addPoVariables(variables, tableInfo);
+                addPoVariables(variables, model);
                 break;
             case "query":
-                addQueryVariables(variables, tableInfo);
+                addQueryVariables(variables, model);
                 break;
             case "service":
-                addServiceVariables(variables, tableInfo);
+                addServiceVariables(variables, model);
                 break;
             case "serviceImpl":
-                addServiceImplVariables(variables, tableInfo);
+                addServiceImplVariables(variables, model);
                 break;
             case "controller":
-                addControllerVariables(variables, tableInfo);
+                addControllerVariables(variables, model);
                 break;
             case "mapper":
-                addMapperVariables(variables, tableInfo);
+                addMapperVariables(variables, model);
                 break;
             case "mapperXml":
-                addMapperXmlVariables(variables, tableInfo);
+                addMapperXmlVariables(variables, model);
                 break;
             case "test":
-                addTestVariables(variables, tableInfo);
+                addTestVariables(variables, model);
                 break;
         }
         
@@ -123,23 +134,9 @@ public class TemplateBasedBuilder {
     /**
      * 收集需要导入的包
      */
-    private static Set<String> collectImports(TableInfo tableInfo, String templateType) {
-        Set<String> imports = new HashSet<>();
-        
-        for (FieldInfo field : tableInfo.getFieldList()) {
-            String javaType = field.getJavaType();
-            
-            // 添加字段类型的导入
-            if ("Date".equals(javaType)) {
-                imports.add("java.util.Date");
-            } else if ("BigDecimal".equals(javaType)) {
-                imports.add("java.math.BigDecimal");
-            } else if ("Time".equals(javaType)) {
-                imports.add("java.sql.Time");
-            } else if ("Timestamp".equals(javaType)) {
-                imports.add("java.sql.Timestamp");
-            }
-        }
+    private static Set<String> collectImports(TableModel model, String templateType) {
+        // 字段类型的导入
+        Set<String> imports = new HashSet<>(model.getFieldTypeImports());
         
         // 根据模板类型添加特定导入
         switch (templateType) {
@@ -173,123 +170,75 @@ public class TemplateBasedBuilder {
     /**
      * 添加Po模板变量
      */
-    private static void addPoVariables(Map<String, Object> variables, TableInfo tableInfo) {
+    private static void addPoVariables(Map<String, Object> variables, TableModel model) {
         // 检查是否有日期字段
-        boolean hasDateField = tableInfo.getFieldList().stream()
-            .anyMatch(field -> "Date".equals(field.getJavaType()));
-        variables.put("hasDateField", hasDateField);
+        variables.put("hasDateField", model.getFieldTypeImports().contains("java.util.Date"));
     }
     
     /**
      * 添加Query模板变量
      */
-    private static void addQueryVariables(Map<String, Object> variables, TableInfo tableInfo) {
-        // 统计字符串字段数量（用于模糊查询）
-        long stringFieldCount = tableInfo.getFieldList().stream()
-            .filter(field -> "String".equals(field.getJavaType()))
-            .count();
-        variables.put("stringFieldCount", stringFieldCount);
+    private static void addQueryVariables(Map<String, Object> variables, TableModel model) {
+        // 字符串字段数量（用于模糊查询）
+        variables.put("stringFieldCount", model.getStringFieldCount());
     }
     
     /**
      * 添加Service模板变量
      */
-    private static void addServiceVariables(Map<String, Object> variables, TableInfo tableInfo) {
+    private static void addServiceVariables(Map<String, Object> variables, TableModel model) {
         // 添加主键信息
-        List<FieldInfo> primaryKeys = new ArrayList<>();
-        for (FieldInfo field : tableInfo.getFieldList()) {
-            if (field.getIsAutoIncrement() != null && field.getIsAutoIncrement()) {
-                primaryKeys.add(field);
-            }
-        }
-        variables.put("primaryKeys", primaryKeys);
+        variables.put("primaryKeys", model.getAutoIncrementFields());
     }
     
     /**
      * 添加ServiceImpl模板变量
      */
-    private static void addServiceImplVariables(Map<String, Object> variables, TableInfo tableInfo) {
-        addServiceVariables(variables, tableInfo);
+    private static void addServiceImplVariables(Map<String, Object> variables, TableModel model) {
+        addServiceVariables(variables, model);
     }
     
     /**
      * 添加Controller模板变量
      */
-    private static void addControllerVariables(Map<String, Object> variables, TableInfo tableInfo) {
+    private static void addControllerVariables(Map<String, Object> variables, TableModel model) {
         // 添加URL前缀
-        String urlPrefix = "/" + StringUtils.lowerCaseFirstLetter(tableInfo.getBeanName());
+        String urlPrefix = "/" + StringUtils.lowerCaseFirstLetter(model.getBeanName());
         variables.put("urlPrefix", urlPrefix);
     }
     
     /**
      * 添加Mapper模板变量
      */
-    private static void addMapperVariables(Map<String, Object> variables, TableInfo tableInfo) {
+    private static void addMapperVariables(Map<String, Object> variables, TableModel model) {
         // 添加表名
-        variables.put("tableName", tableInfo.getTableName());
+        variables.put("tableName", model.getTableName());
     }
     
     /**
      * 添加MapperXml模板变量
      */
-    private static void addMapperXmlVariables(Map<String, Object> variables, TableInfo tableInfo) {
-        addMapperVariables(variables, tableInfo);
+    private static void addMapperXmlVariables(Map<String, Object> variables, TableModel model) {
+        addMapperVariables(variables, model);
         
         // 添加SQL相关变量
-        variables.put("insertColumns", buildInsertColumns(tableInfo));
-        variables.put("insertValues", buildInsertValues(tableInfo));
-        variables.put("updateSet", buildUpdateSet(tableInfo));
+        variables.put("insertColumns", model.getInsertColumns());
+        variables.put("insertValues", model.getInsertValues());
+        variables.put("updateSet", model.getUpdateSet());
     }
     
     /**
      * 添加Test模板变量
      */
-    private static void addTestVariables(Map<String, Object> variables, TableInfo tableInfo) {
+    private static void addTestVariables(Map<String, Object> variables, TableModel model) {
         // 添加测试数据
         Map<String, Object> testData = new HashMap<>();
-        for (FieldInfo field : tableInfo.getFieldList()) {
+        for (FieldInfo field : model.getFields()) {
             testData.put(field.getPropertyName(), generateTestValue(field));
         }
         variables.put("testData", testData);
     }
     
-    /**
-     * 构建插入列名
-     */
-    private static String buildInsertColumns(TableInfo tableInfo) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < tableInfo.getFieldList().size(); i++) {
-            if (i > 0) sb.append(", ");
-            sb.append(tableInfo.getFieldList().get(i).getFieldName());
-        }
-        return sb.toString();
-    }
-    
-    /**
-     * 构建插入值
-     */
-    private static String buildInsertValues(TableInfo tableInfo) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < tableInfo.getFieldList().size(); i++) {
-            if (i > 0) sb.append(", ");
-            sb.append("#{").append(tableInfo.getFieldList().get(i).getPropertyName()).append("}");
-        }
-        return sb.toString();
-    }
-    
-    /**
-     * 构建更新Set子句
-     */
-    private static String buildUpdateSet(TableInfo tableInfo) {
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < tableInfo.getFieldList().size(); i++) {
-            if (i > 0) sb.append(", ");
-            FieldInfo field = tableInfo.getFieldList().get(i);
-            sb.append(field.getFieldName()).append(" = #{").append(field.getPropertyName()).append("}");
-        }
-        return sb.toString();
-    }
-    
     /**
      * 生成测试值
      */
@@ -358,9 +307,13 @@ public class TemplateBasedBuilder {
     }
     
     /**
-     * 写入文件
+     * 渲染模板并写入文件，渲染结果经过固定大小的缓冲区写出，不在内存中生成完整的字符串。
+     * 模板先编译，语法错误时不打开文件；渲染中途失败时放弃已写入的内容，原有文件保持不变
      */
-    private static void writeToFile(String content, String outputPath, String fileName) throws IOException {
+    private static void writeToFile(String templateContent, Map<String, Object> variables, String outputPath,
+            String fileName) throws IOException {
+        CompiledTemplate template = TemplateManager.compile(templateContent);
+        
         File outputDir = new File(outputPath);
         if (!outputDir.exists()) {
             outputDir.mkdirs();
@@ -368,10 +321,8 @@ public class TemplateBasedBuilder {
         
         File outputFile = new File(outputDir, fileName);
         
-        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputFile, false))) {
-            writer.write(content);
-            writer.flush();
-        }
+        GeneratedFiles.write(outputFile,
+                writer -> template.render(variables, TemplateManager.getGlobalVariables(), writer));
     }
     
     /**
@@ -379,10 +330,11 @@ public class TemplateBasedBuilder {
      */
     public static void generateAllEnabledTemplates(TableInfo tableInfo) {
         List<String> enabledTypes = TemplateConfigManager.getEnabledTemplateTypes();
+        TableModel model = new TableModel(tableInfo);
         
         for (String templateType : enabledTypes) {
             String outputPath = getOutputPath(templateType);
-            generateWithTemplate(tableInfo, templateType, outputPath);
+            generateWithTemplate(model, templateType, outputPath);
         }
     }
     
@@ -0,0 +1,993 @@
+package com.easyjava.manager;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.utils.StringUtils;
+
+/**
+ * 编译后的模板
+ * 模板只扫描一次，拆分为文本、${变量}、循环和条件片段；渲染时按顺序追加，耗时与模板长度加输出长度成正比。
+ * 变量值中的 ${...} 原样输出，不会再被替换。编译结果不可变，可在多个线程上同时渲染
+ * <p>
+ * 支持的语法是 FreeMarker 的一个子集：
+ * <ul>
+ * <li>${name}、${table.beanName}：变量和嵌套属性，找不到时保留原样并输出警告</li>
+ * <li>${name!}、${name!"默认值"}：找不到或为null时输出空串或默认值</li>
+ * <li>${name?cap_first}：内置函数 cap_first、uncap_first、upper_case、lower_case、size</li>
+ * <li>&lt;#list table.fieldList as field&gt;...&lt;/#list&gt;：遍历集合、数组或 Map（元素为 Map.Entry），
+ * 循环内可使用 field_index、field_has_next</li>
+ * <li>&lt;#if 条件&gt;...&lt;#elseif 条件&gt;...&lt;#else&gt;...&lt;/#if&gt;：条件支持 ==、!=、&gt;、&lt;、&gt;=、&lt;=
+ * （或 gt、lt、gte、lte）、&amp;&amp;、||、!、括号和 ??；null、false、0、空字符串和空集合为假</li>
+ * <li>&lt;#noparse&gt;...&lt;/#noparse&gt;：其中的内容原样输出</li>
+ * </ul>
+ * 只有指令标签和空白的行整行去掉，不会在输出中留下空行；其他 &lt;#xxx&gt; 标签作为普通文本输出
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public final class CompiledTemplate {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompiledTemplate.class);
+
+    private static final String PLACEHOLDER_START = "${";
+
+    private static final char PLACEHOLDER_END = '}';
+
+    private static final String DIRECTIVE_START = "<#";
+
+    private static final String DIRECTIVE_CLOSE_START = "</#";
+
+    private static final Set<String> DIRECTIVES = new LinkedHashSet<>(
+            Arrays.asList("list", "if", "elseif", "else", "noparse", "/list", "/if", "/noparse"));
+
+    private static final Pattern LIST_PARAMS = Pattern.compile("(.+?)\\s+as\\s+([A-Za-z_][A-Za-z0-9_]*)");
+
+    private final String source;
+
+    /** 文本片段为 String，其余为 Segment */
+    private final Object[] segments;
+
+    private final int literalLength;
+
+    private final Set<String> variableNames;
+
+    private CompiledTemplate(String source, Object[] segments, int literalLength, Set<String> variableNames) {
+        this.source = source;
+        this.segments = segments;
+        this.literalLength = literalLength;
+        this.variableNames = variableNames;
+    }
+
+    /**
+     * 编译模板；没有闭合的 ${ 作为普通文本
+     *
+     * @param source 模板内容
+     * @throws IllegalArgumentException 指令没有闭合、不匹配或表达式有误
+     */
+    public static CompiledTemplate compile(String source) {
+        Parser parser = new Parser(source);
+        Object[] segments = parser.parseBlock();
+        if (parser.terminator != null) {
+            throw parser.error("多余的标签 " + parser.terminator, parser.terminator.start);
+        }
+        return new CompiledTemplate(source, segments, parser.literalLength,
+                Collections.unmodifiableSet(parser.names));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * 模板中出现的变量名和属性路径，按首次出现的顺序
+     */
+    public Set<String> getVariableNames() {
+        return variableNames;
+    }
+
+    /**
+     * 渲染模板，找不到的变量保留原样并输出警告
+     *
+     * @param variables 局部变量，优先于全局变量，可以为null
+     * @param globals   全局变量，可以为null
+     */
+    public String render(Map<String, Object> variables, Map<String, Object> globals) {
+        StringBuilder out = new StringBuilder(literalLength + (segments.length << 4));
+        try {
+            render(variables, globals, out);
+        } catch (IOException e) {
+            // StringBuilder 不会抛出 IOException
+            throw new IllegalStateException(e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * 把渲染结果追加到输出中
+     */
+    public void render(Map<String, Object> variables, Map<String, Object> globals, Appendable out)
+            throws IOException {
+        render(segments, new Scope(variables, globals), out);
+    }
+
+    private static void render(Object[] segments, Scope scope, Appendable out) throws IOException {
+        for (Object segment : segments) {
+            if (segment instanceof String) {
+                out.append((String) segment);
+            } else {
+                ((Segment) segment).render(scope, out);
+            }
+        }
+    }
+
+    /**
+     * 条件的真假：null、false、0、空字符串、空集合和空数组为假，其余为真
+     */
+    private static boolean isTrue(Object value) {
+        if (value == null) {
+            return false;
+        }
+        if (value instanceof Boolean) {
+            return (Boolean) value;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length() > 0;
+        }
+        if (value instanceof Collection) {
+            return !((Collection<?>) value).isEmpty();
+        }
+        if (value instanceof Map) {
+            return !((Map<?, ?>) value).isEmpty();
+        }
+        if (value instanceof Number) {
+            return ((Number) value).doubleValue() != 0;
+        }
+        if (value.getClass().isArray()) {
+            return Array.getLength(value) > 0;
+        }
+        return true;
+    }
+
+    private static boolean isEqual(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        if (left instanceof Number && right instanceof Number) {
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue()) == 0;
+        }
+        return left.toString().equals(right.toString());
+    }
+
+    private static int compare(Object left, Object right) {
+        if (left instanceof Number && right instanceof Number) {
+            return Double.compare(((Number) left).doubleValue(), ((Number) right).doubleValue());
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    /**
+     * 逐级读取属性：Map 按键读取，其余对象调用 getter
+     */
+    private static Object readProperty(Object target, String property, String name) {
+        if (target instanceof Map && ((Map<?, ?>) target).containsKey(property)) {
+            return ((Map<?, ?>) target).get(property);
+        }
+        return PropertyAccessors.read(target, property, name);
+    }
+
+    /**
+     * 集合、数组和 Map 的迭代器，其他类型返回null
+     */
+    private static Iterator<?> iterate(Object value) {
+        if (value instanceof Iterable) {
+            return ((Iterable<?>) value).iterator();
+        }
+        if (value instanceof Map) {
+            return ((Map<?, ?>) value).entrySet().iterator();
+        }
+        if (value instanceof Object[]) {
+            return Arrays.asList((Object[]) value).iterator();
+        }
+        if (value.getClass().isArray()) {
+            List<Object> items = new ArrayList<>();
+            for (int i = 0, n = Array.getLength(value); i < n; i++) {
+                items.add(Array.get(value, i));
+            }
+            return items.iterator();
+        }
+        return null;
+    }
+
+    /**
+     * 渲染时的变量作用域，循环的每一轮是一层，最外层是局部变量和全局变量
+     */
+    private static final class Scope {
+        private final Map<String, Object> variables;
+        private final Map<String, Object> globals;
+        private final Scope parent;
+        private final ListBlock loop;
+        private final Object item;
+        private final int index;
+        private final boolean hasNext;
+
+        Scope(Map<String, Object> variables, Map<String, Object> globals) {
+            this.variables = variables;
+            this.globals = globals;
+            this.parent = null;
+            this.loop = null;
+            this.item = null;
+            this.index = 0;
+            this.hasNext = false;
+        }
+
+        Scope(Scope parent, ListBlock loop, Object item, int index, boolean hasNext) {
+            this.variables = parent.variables;
+            this.globals = parent.globals;
+            this.parent = parent;
+            this.loop = loop;
+            this.item = item;
+            this.index = index;
+            this.hasNext = hasNext;
+        }
+
+        Object lookup(String key) {
+            for (Scope scope = this; scope.loop != null; scope = scope.parent) {
+                ListBlock block = scope.loop;
+                if (key.equals(block.itemName)) {
+                    return scope.item;
+                }
+                if (key.equals(block.indexName)) {
+                    return scope.index;
+                }
+                if (key.equals(block.hasNextName)) {
+                    return scope.hasNext;
+                }
+            }
+            if (variables != null && variables.containsKey(key)) {
+                return variables.get(key);
+            }
+            return globals == null ? null : globals.get(key);
+        }
+    }
+
+    private interface Segment {
+        void render(Scope scope, Appendable out) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface Expression {
+        Object evaluate(Scope scope);
+    }
+
+    /**
+     * 变量或属性路径，嵌套属性的路径在编译时拆分好
+     */
+    private static final class PathExpression implements Expression {
+        private final String name;
+        private final String[] path;
+        private final boolean exactLookup;
+
+        /**
+         * @param loopVariable 第一段是否为外层的循环变量，是时不再按完整变量名查找
+         */
+        PathExpression(String name, boolean loopVariable) {
+            this.name = name;
+            this.path = name.indexOf('.') < 0 ? null : name.split("\\.");
+            this.exactLookup = path == null || !loopVariable;
+        }
+
+        /**
+         * 先按完整变量名查找（全局变量中有 package.po 这样带点号的名称），
+         * 找不到且带点号时按 table.beanName 的方式逐级读取，getter 经 PropertyAccessors 缓存
+         */
+        @Override
+        public Object evaluate(Scope scope) {
+            if (exactLookup) {
+                Object value = scope.lookup(name);
+                if (value != null || path == null) {
+                    return value;
+                }
+            }
+
+            Object obj = scope.lookup(path[0]);
+            for (int i = 1; i < path.length && obj != null; i++) {
+                obj = readProperty(obj, path[i], name);
+            }
+            return obj;
+        }
+    }
+
+    /**
+     * ${...} 片段
+     */
+    private static final class Variable implements Segment {
+        private final String name;
+        private final String placeholder;
+        private final Expression expression;
+        private final String defaultValue;
+
+        Variable(String name, String placeholder, Expression expression, String defaultValue) {
+            this.name = name;
+            this.placeholder = placeholder;
+            this.expression = expression;
+            this.defaultValue = defaultValue;
+        }
+
+        @Override
+        public void render(Scope scope, Appendable out) throws IOException {
+            Object value = expression.evaluate(scope);
+            if (value != null) {
+                out.append(value.toString());
+            } else if (defaultValue != null) {
+                out.append(defaultValue);
+            } else {
+                logger.warn("未找到模板变量: {}", name);
+                out.append(placeholder);
+            }
+        }
+    }
+
+    /**
+     * &lt;#list&gt; 片段
+     */
+    private static final class ListBlock implements Segment {
+        private final String sourceName;
+        private final Expression source;
+        private final String itemName;
+        private final String indexName;
+        private final String hasNextName;
+        private final Object[] body;
+
+        ListBlock(String sourceName, Expression source, String itemName, Object[] body) {
+            this.sourceName = sourceName;
+            this.source = source;
+            this.itemName = itemName;
+            this.indexName = itemName + "_index";
+            this.hasNextName = itemName + "_has_next";
+            this.body = body;
+        }
+
+        @Override
+        public void render(Scope scope, Appendable out) throws IOException {
+            Object value = source.evaluate(scope);
+            if (value == null) {
+                logger.warn("未找到模板变量: {}", sourceName);
+                return;
+            }
+            Iterator<?> items = iterate(value);
+            if (items == null) {
+                logger.warn("模板变量不是集合，无法遍历: {}", sourceName);
+                return;
+            }
+
+            int index = 0;
+            while (items.hasNext()) {
+                Object item = items.next();
+                CompiledTemplate.render(body, new Scope(scope, this, item, index++, items.hasNext()), out);
+            }
+        }
+    }
+
+    /**
+     * &lt;#if&gt; 片段，elseif 依次排在 conditions 中
+     */
+    private static final class IfBlock implements Segment {
+        private final Expression[] conditions;
+        private final Object[][] bodies;
+        private final Object[] elseBody;
+
+        IfBlock(Expression[] conditions, Object[][] bodies, Object[] elseBody) {
+            this.conditions = conditions;
+            this.bodies = bodies;
+            this.elseBody = elseBody;
+        }
+
+        @Override
+        public void render(Scope scope, Appendable out) throws IOException {
+            for (int i = 0; i < conditions.length; i++) {
+                if (isTrue(conditions[i].evaluate(scope))) {
+                    CompiledTemplate.render(bodies[i], scope, out);
+                    return;
+                }
+            }
+            if (elseBody != null) {
+                CompiledTemplate.render(elseBody, scope, out);
+            }
+        }
+    }
+
+    /**
+     * 指令标签，end 为 &gt; 之后的位置
+     */
+    private static final class Tag {
+        private final String name;
+        private final String params;
+        private final int start;
+        private final int end;
+
+        Tag(String name, String params, int start, int end) {
+            this.name = name;
+            this.params = params;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public String toString() {
+            return name.startsWith("/") ? "</#" + name.substring(1) + ">" : "<#" + name + ">";
+        }
+    }
+
+    /**
+     * 模板解析器，只在编译时使用
+     */
+    private static final class Parser {
+        private final String source;
+        private final int length;
+        private final Set<String> names = new LinkedHashSet<>();
+        private final Deque<String> loopVariables = new ArrayDeque<>();
+        private int position;
+        private int literalLength;
+
+        /** 最近一次 parseBlock 结束时遇到的标签，到达模板末尾时为null */
+        private Tag terminator;
+
+        Parser(String source) {
+            this.source = source;
+            this.length = source.length();
+        }
+
+        /**
+         * 解析到模板末尾，或者解析到 else、elseif 和结束标签为止，遇到的标签记录在 terminator 中
+         */
+        Object[] parseBlock() {
+            List<Object> segments = new ArrayList<>();
+            StringBuilder literal = new StringBuilder();
+
+            while (position < length) {
+                int next = nextSpecial(position);
+                if (next < 0) {
+                    literal.append(source, position, length);
+                    position = length;
+                    break;
+                }
+                literal.append(source, position, next);
+                position = next;
+
+                if (source.startsWith(PLACEHOLDER_START, next)) {
+                    int end = source.indexOf(PLACEHOLDER_END, next + PLACEHOLDER_START.length());
+                    // 与原有的 \$\{([^}]+)\} 一致，变量名不能为空，没有闭合时作为普通文本
+                    if (end <= next + PLACEHOLDER_START.length()) {
+                        int skip = end < 0 ? PLACEHOLDER_START.length() : end + 1 - next;
+                        literal.append(source, next, next + skip);
+                        position = next + skip;
+                        continue;
+                    }
+                    flush(literal, segments);
+                    segments.add(parseVariable(source.substring(next + PLACEHOLDER_START.length(), end),
+                            source.substring(next, end + 1), next));
+                    position = end + 1;
+                    continue;
+                }
+
+                Tag tag = readTag(next);
+                if (tag == null) {
+                    literal.append('<');
+                    position = next + 1;
+                    continue;
+                }
+                consume(tag, literal);
+
+                switch (tag.name) {
+                    case "list":
+                        flush(literal, segments);
+                        segments.add(parseList(tag));
+                        break;
+                    case "if":
+                        flush(literal, segments);
+                        segments.add(parseIf(tag));
+                        break;
+                    case "noparse":
+                        int close = source.indexOf(DIRECTIVE_CLOSE_START + "noparse>", position);
+                        if (close < 0) {
+                            throw error("<#noparse> 缺少 </#noparse>", tag.start);
+                        }
+                        literal.append(source, position, close);
+                        consume(readTag(close), literal);
+                        break;
+                    default:
+                        flush(literal, segments);
+                        terminator = tag;
+                        return segments.toArray();
+                }
+            }
+
+            // 嵌套的块已经各自处理了结束标签，到达末尾时不再保留
+            terminator = null;
+            flush(literal, segments);
+            return segments.toArray();
+        }
+
+        private ListBlock parseList(Tag tag) {
+            Matcher matcher = LIST_PARAMS.matcher(tag.params);
+            if (!matcher.matches()) {
+                throw error("<#list> 的格式应为 <#list 集合 as 变量名>", tag.start);
+            }
+            String sourceName = matcher.group(1).trim();
+            String itemName = matcher.group(2);
+            Expression source = new ExpressionParser(this, sourceName, tag.start).parse();
+
+            loopVariables.push(itemName);
+            Object[] body = parseBlock();
+            loopVariables.pop();
+
+            if (terminator == null || !"/list".equals(terminator.name)) {
+                throw error("<#list> 缺少 </#list>", terminator == null ? tag.start : terminator.start);
+            }
+            return new ListBlock(sourceName, source, itemName, body);
+        }
+
+        private IfBlock parseIf(Tag tag) {
+            List<Expression> conditions = new ArrayList<>();
+            List<Object[]> bodies = new ArrayList<>();
+            Object[] elseBody = null;
+
+            Tag current = tag;
+            while (true) {
+                if (current.params.isEmpty()) {
+                    throw error("<#" + current.name + "> 缺少条件", current.start);
+                }
+                conditions.add(new ExpressionParser(this, current.params, current.start).parse());
+                bodies.add(parseBlock());
+                if (terminator == null) {
+                    throw error("<#if> 缺少 </#if>", tag.start);
+                }
+                if (!"elseif".equals(terminator.name)) {
+                    break;
+                }
+                current = terminator;
+            }
+
+            if ("else".equals(terminator.name)) {
+                elseBody = parseBlock();
+                if (terminator == null) {
+                    throw error("<#if> 缺少 </#if>", tag.start);
+                }
+            }
+            if (!"/if".equals(terminator.name)) {
+                throw error("<#if> 中出现了不匹配的 " + terminator, terminator.start);
+            }
+            return new IfBlock(conditions.toArray(new Expression[0]), bodies.toArray(new Object[0][]), elseBody);
+        }
+
+        /**
+         * 解析 ${...} 的内容；不含 ? 和 ! 时整体作为变量名，与原有的写法一致
+         */
+        private Variable parseVariable(String content, String placeholder, int offset) {
+            if (content.indexOf('?') < 0 && content.indexOf('!') < 0) {
+                return new Variable(content, placeholder, path(content), null);
+            }
+
+            ExpressionParser parser = new ExpressionParser(this, content, offset);
+            Expression expression = parser.parseOutput();
+            return new Variable(content, placeholder, expression, parser.defaultValue);
+        }
+
+        PathExpression path(String name) {
+            names.add(name);
+            int dot = name.indexOf('.');
+            return new PathExpression(name, dot > 0 && loopVariables.contains(name.substring(0, dot)));
+        }
+
+        private int nextSpecial(int from) {
+            int placeholder = source.indexOf(PLACEHOLDER_START, from);
+            int directive = source.indexOf('<', from);
+            while (directive >= 0 && !source.startsWith(DIRECTIVE_START, directive)
+                    && !source.startsWith(DIRECTIVE_CLOSE_START, directive)) {
+                directive = source.indexOf('<', directive + 1);
+            }
+            if (placeholder < 0) {
+                return directive;
+            }
+            return directive < 0 ? placeholder : Math.min(placeholder, directive);
+        }
+
+        /**
+         * 读取 start 处的指令标签，不是支持的指令时返回null
+         */
+        private Tag readTag(int start) {
+            boolean closing = source.startsWith(DIRECTIVE_CLOSE_START, start);
+            int nameStart = start + (closing ? DIRECTIVE_CLOSE_START.length() : DIRECTIVE_START.length());
+            int nameEnd = nameStart;
+            while (nameEnd < length && Character.isLetter(source.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            String name = (closing ? "/" : "") + source.substring(nameStart, nameEnd);
+            if (!DIRECTIVES.contains(name)
+                    || nameEnd < length && source.charAt(nameEnd) != '>'
+                            && !Character.isWhitespace(source.charAt(nameEnd))) {
+                return null;
+            }
+
+            // 条件中可能出现 >，括号和字符串中的 > 不作为标签结尾
+            int depth = 0;
+            char quote = 0;
+            for (int i = nameEnd; i < length; i++) {
+                char c = source.charAt(i);
+                if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                } else if (c == '>' && depth <= 0) {
+                    return new Tag(name, source.substring(nameEnd, i).trim(), start, i + 1);
+                }
+            }
+            throw error("标签 " + new Tag(name, "", start, start) + " 没有闭合", start);
+        }
+
+        /**
+         * 跳过标签；标签所在的行只有这个标签和空白时，连同行首的空白和行尾的换行一起去掉
+         */
+        private void consume(Tag tag, StringBuilder literal) {
+            int lineStart = tag.start;
+            while (lineStart > 0 && isBlank(source.charAt(lineStart - 1))) {
+                lineStart--;
+            }
+            int lineEnd = tag.end;
+            while (lineEnd < length && isBlank(source.charAt(lineEnd))) {
+                lineEnd++;
+            }
+
+            int indent = tag.start - lineStart;
+            boolean atLineStart = lineStart == 0 || source.charAt(lineStart - 1) == '\n';
+            boolean atLineEnd = lineEnd == length || source.charAt(lineEnd) == '\n'
+                    || source.startsWith("\r\n", lineEnd);
+            if (atLineStart && atLineEnd && literal.length() >= indent) {
+                literal.setLength(literal.length() - indent);
+                position = lineEnd == length ? length : lineEnd + (source.charAt(lineEnd) == '\r' ? 2 : 1);
+            } else {
+                position = tag.end;
+            }
+        }
+
+        private static boolean isBlank(char c) {
+            return c == ' ' || c == '\t';
+        }
+
+        private void flush(StringBuilder literal, List<Object> segments) {
+            if (literal.length() > 0) {
+                segments.add(literal.toString());
+                literalLength += literal.length();
+                literal.setLength(0);
+            }
+        }
+
+        IllegalArgumentException error(String message, int offset) {
+            int line = 1;
+            for (int i = 0; i < offset && i < length; i++) {
+                if (source.charAt(i) == '\n') {
+                    line++;
+                }
+            }
+            return new IllegalArgumentException("模板语法错误: " + message + "（第" + line + "行）");
+        }
+    }
+
+    /**
+     * 指令参数和 ${...} 中的表达式解析器，只在编译时使用
+     */
+    private static final class ExpressionParser {
+        private final Parser parser;
+        private final String text;
+        private final int offset;
+        private int position;
+
+        /** ${name!"默认值"} 中的默认值，${name!} 时为空串 */
+        private String defaultValue;
+
+        ExpressionParser(Parser parser, String text, int offset) {
+            this.parser = parser;
+            this.text = text;
+            this.offset = offset;
+        }
+
+        /**
+         * 解析条件或集合表达式
+         */
+        Expression parse() {
+            Expression expression = parseOr();
+            skipSpaces();
+            if (position < text.length()) {
+                throw error("无法解析的表达式");
+            }
+            return expression;
+        }
+
+        /**
+         * 解析 ${...} 的内容：变量、内置函数和可选的默认值
+         */
+        Expression parseOutput() {
+            Expression expression = parsePostfix();
+            if (accept("!")) {
+                skipSpaces();
+                defaultValue = position < text.length() ? String.valueOf(parseLiteral()) : "";
+            }
+            skipSpaces();
+            if (position < text.length()) {
+                throw error("无法解析的表达式");
+            }
+            return expression;
+        }
+
+        private Expression parseOr() {
+            Expression left = parseAnd();
+            while (accept("||")) {
+                Expression a = left;
+                Expression b = parseAnd();
+                left = scope -> isTrue(a.evaluate(scope)) || isTrue(b.evaluate(scope));
+            }
+            return left;
+        }
+
+        private Expression parseAnd() {
+            Expression left = parseComparison();
+            while (accept("&&")) {
+                Expression a = left;
+                Expression b = parseComparison();
+                left = scope -> isTrue(a.evaluate(scope)) && isTrue(b.evaluate(scope));
+            }
+            return left;
+        }
+
+        private Expression parseComparison() {
+            Expression left = parseUnary();
+            String operator = acceptOperator();
+            if (operator == null) {
+                return left;
+            }
+            Expression right = parseUnary();
+            switch (operator) {
+                case "==":
+                    return scope -> isEqual(left.evaluate(scope), right.evaluate(scope));
+                case "!=":
+                    return scope -> !isEqual(left.evaluate(scope), right.evaluate(scope));
+                default:
+                    return scope -> {
+                        Object a = left.evaluate(scope);
+                        Object b = right.evaluate(scope);
+                        if (a == null || b == null) {
+                            return false;
+                        }
+                        int result = compare(a, b);
+                        switch (operator) {
+                            case ">":
+                                return result > 0;
+                            case ">=":
+                                return result >= 0;
+                            case "<":
+                                return result < 0;
+                            default:
+                                return result <= 0;
+                        }
+                    };
+            }
+        }
+
+        private String acceptOperator() {
+            for (String operator : new String[] { "==", "!=", ">=", "<=", ">", "<" }) {
+                if (accept(operator)) {
+                    return operator;
+                }
+            }
+            int start = position;
+            switch (readIdentifier()) {
+                case "gt":
+                    return ">";
+                case "gte":
+                    return ">=";
+                case "lt":
+                    return "<";
+                case "lte":
+                    return "<=";
+                default:
+                    position = start;
+                    return null;
+            }
+        }
+
+        private Expression parseUnary() {
+            skipSpaces();
+            if (text.startsWith("!", position) && !text.startsWith("!=", position)) {
+                position++;
+                Expression operand = parseUnary();
+                return scope -> !isTrue(operand.evaluate(scope));
+            }
+            return parsePostfix();
+        }
+
+        private Expression parsePostfix() {
+            Expression expression = parsePrimary();
+            while (true) {
+                if (text.startsWith("??", position)) {
+                    position += 2;
+                    Expression target = expression;
+                    expression = scope -> target.evaluate(scope) != null;
+                } else if (text.startsWith("?", position)) {
+                    position++;
+                    expression = builtIn(expression, readIdentifier());
+                } else {
+                    return expression;
+                }
+            }
+        }
+
+        private Expression parsePrimary() {
+            skipSpaces();
+            if (accept("(")) {
+                Expression expression = parseOr();
+                if (!accept(")")) {
+                    throw error("缺少 )");
+                }
+                return expression;
+            }
+            if (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '"' || c == '\'' || Character.isDigit(c)) {
+                    Object value = parseLiteral();
+                    return scope -> value;
+                }
+            }
+
+            int start = position;
+            String name = readIdentifier();
+            if (name.isEmpty()) {
+                throw error("缺少变量名");
+            }
+            if ("true".equals(name) || "false".equals(name)) {
+                Boolean value = Boolean.valueOf(name);
+                return scope -> value;
+            }
+            while (text.startsWith(".", position)) {
+                position++;
+                if (readIdentifier().isEmpty()) {
+                    throw error("属性名不能为空");
+                }
+            }
+            return parser.path(text.substring(start, position));
+        }
+
+        private Object parseLiteral() {
+            char quote = text.charAt(position);
+            if (quote == '"' || quote == '\'') {
+                StringBuilder value = new StringBuilder();
+                int i = position + 1;
+                while (i < text.length() && text.charAt(i) != quote) {
+                    char c = text.charAt(i);
+                    if (c == '\\' && i + 1 < text.length()) {
+                        c = text.charAt(++i);
+                    }
+                    value.append(c);
+                    i++;
+                }
+                if (i >= text.length()) {
+                    throw error("字符串没有闭合");
+                }
+                position = i + 1;
+                return value.toString();
+            }
+
+            int start = position;
+            while (position < text.length()
+                    && (Character.isDigit(text.charAt(position)) || text.charAt(position) == '.')) {
+                position++;
+            }
+            String number = text.substring(start, position);
+            try {
+                return number.indexOf('.') < 0 ? (Object) Long.valueOf(number) : (Object) Double.valueOf(number);
+            } catch (NumberFormatException e) {
+                throw error("无效的数字 " + number);
+            }
+        }
+
+        private Expression builtIn(Expression target, String name) {
+            switch (name) {
+                case "cap_first":
+                    return scope -> {
+                        Object value = target.evaluate(scope);
+                        return value == null ? null : StringUtils.uperCaseFirstLetter(value.toString());
+                    };
+                case "uncap_first":
+                    return scope -> {
+                        Object value = target.evaluate(scope);
+                        return value == null ? null : StringUtils.lowerCaseFirstLetter(value.toString());
+                    };
+                case "upper_case":
+                    return scope -> {
+                        Object value = target.evaluate(scope);
+                        return value == null ? null : value.toString().toUpperCase(Locale.ROOT);
+                    };
+                case "lower_case":
+                    return scope -> {
+                        Object value = target.evaluate(scope);
+                        return value == null ? null : value.toString().toLowerCase(Locale.ROOT);
+                    };
+                case "size":
+                    return scope -> size(target.evaluate(scope));
+                default:
+                    throw error("不支持的内置函数 ?" + name);
+            }
+        }
+
+        private static Integer size(Object value) {
+            if (value instanceof Collection) {
+                return ((Collection<?>) value).size();
+            }
+            if (value instanceof Map) {
+                return ((Map<?, ?>) value).size();
+            }
+            if (value instanceof CharSequence) {
+                return ((CharSequence) value).length();
+            }
+            if (value != null && value.getClass().isArray()) {
+                return Array.getLength(value);
+            }
+            return null;
+        }
+
+        private String readIdentifier() {
+            skipSpaces();
+            int start = position;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (!(Character.isLetterOrDigit(c) || c == '_') || position == start && Character.isDigit(c)) {
+                    break;
+                }
+                position++;
+            }
+            return text.substring(start, position);
+        }
+
+        private boolean accept(String token) {
+            skipSpaces();
+            if (text.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void skipSpaces() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return parser.error(message + ": " + text, offset);
+        }
+    }
+}
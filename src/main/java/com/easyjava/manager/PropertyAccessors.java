@@ -0,0 +1,137 @@
+package com.easyjava.manager;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.utils.StringUtils;
+
+/**
+ * 模板嵌套属性的访问器缓存
+ * 按（类，属性名）查找一次 getter（getXxx，boolean 属性也可以是 isXxx）并绑定为 MethodHandle，之后直接调用；
+ * 找不到的 getter 同样缓存，不会在每次渲染时重复查找方法和抛出异常。类卸载时缓存随 ClassValue 一起释放
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+final class PropertyAccessors {
+
+    private static final Logger logger = LoggerFactory.getLogger(PropertyAccessors.class);
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /** 找不到 getter 时缓存的占位值，ConcurrentHashMap 不能存放null */
+    private static final MethodHandle MISSING = MethodHandles.constant(Object.class, null);
+
+    private static final ClassValue<Map<String, MethodHandle>> ACCESSORS = new ClassValue<Map<String, MethodHandle>>() {
+        @Override
+        protected Map<String, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private PropertyAccessors() {
+    }
+
+    /**
+     * 获取属性的访问器
+     *
+     * @param type     对象类型
+     * @param property 属性名，对应 get + 首字母大写的属性名
+     * @return 类型为 (Object)Object 的访问器，没有可访问的 getter 时返回null
+     */
+    static MethodHandle getAccessor(Class<?> type, String property) {
+        Map<String, MethodHandle> accessors = ACCESSORS.get(type);
+        MethodHandle accessor = accessors.get(property);
+        if (accessor == null) {
+            accessor = accessors.computeIfAbsent(property, p -> bind(type, p));
+        }
+        return accessor == MISSING ? null : accessor;
+    }
+
+    /**
+     * 读取对象的属性值
+     *
+     * @param target   对象，不能为null
+     * @param property 属性名
+     * @param name     完整的变量名，用于日志
+     * @return 属性值，没有 getter 或 getter 抛出异常时返回null
+     */
+    static Object read(Object target, String property, String name) {
+        MethodHandle accessor = getAccessor(target.getClass(), property);
+        if (accessor == null) {
+            logger.warn("无法获取嵌套属性值: {}, 错误: {} 没有可访问的方法 get{}", name, target.getClass().getName(),
+                    StringUtils.uperCaseFirstLetter(property));
+            return null;
+        }
+        try {
+            return (Object) accessor.invokeExact(target);
+        } catch (Throwable e) {
+            logger.warn("无法获取嵌套属性值: {}, 错误: {}", name, e.getMessage());
+            return null;
+        }
+    }
+
+    private static MethodHandle bind(Class<?> type, String property) {
+        String suffix = StringUtils.uperCaseFirstLetter(property);
+        Method method = findPublicMethod(type, "get" + suffix);
+        if (method == null) {
+            // 与 JavaBeans 一致，boolean 属性也可以使用 isXxx 方法
+            method = findPublicMethod(type, "is" + suffix);
+            if (method != null && method.getReturnType() != boolean.class && method.getReturnType() != Boolean.class) {
+                method = null;
+            }
+        }
+        if (method == null || method.getReturnType() == void.class) {
+            return MISSING;
+        }
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(GETTER_TYPE);
+        } catch (IllegalAccessException e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * 查找无参的公共方法；方法声明在非公共类中时（如 HashMap 中 Map.Entry 的实现），改用公共父类或接口中的同一方法
+     */
+    private static Method findPublicMethod(Class<?> type, String name) {
+        Method method;
+        try {
+            method = type.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+        if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+            return method;
+        }
+
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        while (!pending.isEmpty()) {
+            Class<?> current = pending.poll();
+            if (current != type && Modifier.isPublic(current.getModifiers())) {
+                try {
+                    return current.getMethod(name);
+                } catch (NoSuchMethodException e) {
+                    continue;
+                }
+            }
+            if (current.getSuperclass() != null) {
+                pending.add(current.getSuperclass());
+            }
+            pending.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        return null;
+    }
+}
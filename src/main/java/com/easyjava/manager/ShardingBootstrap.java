@@ -1,12 +1,12 @@
 package com.easyjava.manager;
 
 import com.easyjava.bean.ShardingConfig;
+import com.easyjava.utils.ConnectionProvider;
 import com.easyjava.utils.PropertiesUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.*;
 
@@ -275,7 +275,7 @@ public class ShardingBootstrap {
             if (connection != null) {
                 try {
                     connection.close();
-                    System.out.println("✅ 数据库连接已关闭");
+                    System.out.println("✅ 数据库连接已归还");
                 } catch (SQLException e) {
                     logger.error("关闭数据库连接失败", e);
                 }
@@ -346,20 +346,18 @@ public class ShardingBootstrap {
     }
     
     /**
-     * 创建数据库连接
+     * 从全局连接池借用数据库连接，close() 时归还
      */
-    private Connection createDatabaseConnection() throws SQLException, ClassNotFoundException {
+    private Connection createDatabaseConnection() throws SQLException {
         String driverClass = PropertiesUtils.getString("spring.datasource.driver-class-name");
         String url = PropertiesUtils.getString("spring.datasource.url");
         String username = PropertiesUtils.getString("spring.datasource.username");
-        String password = PropertiesUtils.getString("spring.datasource.password");
         
         if (driverClass == null || url == null || username == null) {
             throw new IllegalStateException("数据库连接配置不完整，请检查配置文件");
         }
         
-        Class.forName(driverClass);
-        return DriverManager.getConnection(url, username, password);
+        return ConnectionProvider.getConnection();
     }
     
     /**
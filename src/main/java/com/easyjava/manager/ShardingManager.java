@@ -1,6 +1,7 @@
 package com.easyjava.manager;
 
 import com.easyjava.bean.ShardingConfig;
+import com.easyjava.utils.ConnectionProvider;
 import com.easyjava.utils.PropertiesUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,7 +9,6 @@ import org.slf4j.LoggerFactory;
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.*;
@@ -542,18 +542,12 @@ public class ShardingManager {
     /**
      * 初始化数据库连接
      */
-    private void initializeDatabaseConnection() throws SQLException, ClassNotFoundException {
+    private void initializeDatabaseConnection() throws SQLException {
         if (dbConnection != null && !dbConnection.isClosed()) {
             return;
         }
         
-        String driverClass = PropertiesUtils.getString("spring.datasource.driver-class-name");
-        String url = PropertiesUtils.getString("spring.datasource.url");
-        String username = PropertiesUtils.getString("spring.datasource.username");
-        String password = PropertiesUtils.getString("spring.datasource.password");
-        
-        Class.forName(driverClass);
-        dbConnection = DriverManager.getConnection(url, username, password);
+        dbConnection = ConnectionProvider.getConnection();
         logger.info("数据库连接初始化成功");
     }
     
@@ -563,8 +557,9 @@ public class ShardingManager {
     private void closeDatabaseConnection() {
         if (dbConnection != null) {
             try {
+                // 归还到全局连接池
                 dbConnection.close();
-                logger.info("数据库连接已关闭");
+                logger.info("数据库连接已归还");
             } catch (SQLException e) {
                 logger.error("关闭数据库连接失败", e);
             }
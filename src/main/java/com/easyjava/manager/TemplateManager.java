@@ -3,18 +3,19 @@ package com.easyjava.manager;
 import com.easyjava.bean.FieldInfo;
 import com.easyjava.bean.TableInfo;
 import com.easyjava.utils.PropertiesUtils;
-import com.easyjava.utils.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 模板管理器 - 支持自定义模板功能
@@ -26,30 +27,63 @@ public class TemplateManager {
     
     private static final Logger logger = LoggerFactory.getLogger(TemplateManager.class);
     
-    // 模板变量匹配模式
-    private static final Pattern VARIABLE_PATTERN = Pattern.compile("\\$\\{([^}]+)\\}");
-    
     // 默认模板目录
     private static final String DEFAULT_TEMPLATE_PATH = "template/";
     
     // 自定义模板目录
-    private static String customTemplatePath;
+    private static volatile String customTemplatePath;
+    
+    // 模板缓存，以模板名称为键，保存模板内容、编译结果和自定义模板文件的修改时间，并行生成时多个线程同时读取
+    private static final Map<String, CachedTemplate> templateCache = new ConcurrentHashMap<>();
+    
+    // 自定义模板的修改检查间隔（纳秒），0 表示每次都检查，负数表示不检查
+    private static volatile long checkIntervalNanos;
+    
+    // 编译后的模板，以模板内容为键，模板内容相同时共用
+    private static final Map<String, CompiledTemplate> compiledCache = new ConcurrentHashMap<>();
     
-    // 模板缓存
-    private static final Map<String, String> templateCache = new HashMap<>();
+    // 编译缓存的容量，超过后清空重建，避免调用方传入大量临时模板时无限增长
+    private static final int COMPILED_CACHE_LIMIT = 256;
     
-    // 全局变量
+    // 全局变量，读写都在 globalVariables 上同步（值可能为null，不能使用 ConcurrentHashMap）
     private static final Map<String, Object> globalVariables = new HashMap<>();
     
+    // 全局变量的只读副本，每次修改后替换，渲染时直接读取，不再逐次加锁复制
+    private static volatile Map<String, Object> globalSnapshot = Collections.emptyMap();
+    
     static {
+        reload();
+    }
+    
+    /**
+     * 按当前配置重新初始化自定义模板路径和全局变量，并清除模板缓存
+     */
+    public static void reload() {
         // 初始化自定义模板路径
-        customTemplatePath = PropertiesUtils.geString("template.custom.path");
-        if (org.apache.commons.lang3.StringUtils.isEmpty(customTemplatePath)) {
-            customTemplatePath = System.getProperty("user.dir") + File.separator + "custom-templates" + File.separator;
+        String path = PropertiesUtils.geString("template.custom.path");
+        if (org.apache.commons.lang3.StringUtils.isEmpty(path)) {
+            path = System.getProperty("user.dir") + File.separator + "custom-templates" + File.separator;
         }
+        customTemplatePath = path;
+        
+        int interval = PropertiesUtils.getInt("template.cache.check.interval", 1000);
+        checkIntervalNanos = interval < 0 ? -1 : TimeUnit.MILLISECONDS.toNanos(interval);
         
         // 初始化全局变量
-        initializeGlobalVariables();
+        synchronized (globalVariables) {
+            initializeGlobalVariables();
+            globalSnapshot = Collections.unmodifiableMap(new HashMap<>(globalVariables));
+        }
+        
+        templateCache.clear();
+        compiledCache.clear();
+    }
+    
+    /**
+     * 自定义模板目录
+     */
+    public static String getCustomTemplatePath() {
+        return customTemplatePath;
     }
     
     /**
@@ -72,53 +106,116 @@ public class TemplateManager {
     
     /**
      * 获取模板内容
+     * 自定义模板修改、新增或删除后，在检查间隔之后的下一次读取即使用新的内容
      * 
      * @param templateName 模板名称
      * @return 模板内容
      */
     public static String getTemplate(String templateName) {
-        // 先检查缓存
-        if (templateCache.containsKey(templateName)) {
-            return templateCache.get(templateName);
+        CachedTemplate cached = getCachedTemplate(templateName);
+        return cached == null ? null : cached.content;
+    }
+    
+    /**
+     * 从缓存中读取模板，缓存不存在或自定义模板文件已变化时重新加载
+     */
+    private static CachedTemplate getCachedTemplate(String templateName) {
+        CachedTemplate cached = templateCache.get(templateName);
+        if (cached != null && isUpToDate(templateName, cached)) {
+            return cached;
+        }
+        
+        CachedTemplate loaded = loadTemplate(templateName, cached);
+        if (loaded == null) {
+            templateCache.remove(templateName);
+        } else {
+            templateCache.put(templateName, loaded);
+        }
+        return loaded;
+    }
+    
+    /**
+     * 检查缓存的模板是否仍然有效，只读取自定义模板文件的修改时间和大小，不读取内容
+     */
+    private static boolean isUpToDate(String templateName, CachedTemplate cached) {
+        long interval = checkIntervalNanos;
+        if (interval < 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        if (interval > 0 && now - cached.checkedAt < interval) {
+            return true;
         }
         
-        String templateContent = null;
+        FileStamp stamp = readStamp(Paths.get(customTemplatePath + templateName));
+        if (!cached.stamp.equals(stamp)) {
+            return false;
+        }
+        cached.checkedAt = now;
+        return true;
+    }
+    
+    /**
+     * 加载模板：优先使用自定义模板，不存在时使用默认模板
+     * 
+     * @param previous 之前缓存的模板，内容没有变化时沿用其编译结果，可以为null
+     */
+    private static CachedTemplate loadTemplate(String templateName, CachedTemplate previous) {
+        // 先读取修改时间再读取内容，读取期间文件被修改时下一次检查会重新加载
+        Path customPath = Paths.get(customTemplatePath + templateName);
+        FileStamp stamp = readStamp(customPath);
         
         // 1. 优先查找自定义模板
-        templateContent = loadCustomTemplate(templateName);
+        String templateContent = stamp == FileStamp.MISSING ? null : loadCustomTemplate(customPath);
         
         // 2. 如果自定义模板不存在，使用默认模板
         if (templateContent == null) {
             templateContent = loadDefaultTemplate(templateName);
         }
-        
-        // 3. 缓存模板内容
-        if (templateContent != null) {
-            templateCache.put(templateName, templateContent);
+        if (templateContent == null) {
+            return null;
         }
         
-        return templateContent;
+        if (previous != null) {
+            logger.info("模板已变化，重新加载: {}", templateName);
+            if (previous.content.equals(templateContent)) {
+                return new CachedTemplate(templateContent, stamp, previous.compiled);
+            }
+        }
+        return new CachedTemplate(templateContent, stamp, null);
     }
     
     /**
      * 加载自定义模板
      * 
-     * @param templateName 模板名称
+     * @param customPath 自定义模板文件
      * @return 模板内容
      */
-    private static String loadCustomTemplate(String templateName) {
+    private static String loadCustomTemplate(Path customPath) {
         try {
-            Path customPath = Paths.get(customTemplatePath + templateName);
-            if (Files.exists(customPath)) {
-                logger.info("使用自定义模板: {}", customPath);
-                return new String(Files.readAllBytes(customPath), StandardCharsets.UTF_8);
-            }
+            String content = new String(Files.readAllBytes(customPath), StandardCharsets.UTF_8);
+            logger.info("使用自定义模板: {}", customPath);
+            return content;
+        } catch (NoSuchFileException e) {
+            return null;
         } catch (IOException e) {
-            logger.warn("读取自定义模板失败: {}, 错误: {}", templateName, e.getMessage());
+            logger.warn("读取自定义模板失败: {}, 错误: {}", customPath, e.getMessage());
         }
         return null;
     }
     
+    /**
+     * 读取文件的修改时间和大小，文件不存在时返回 {@link FileStamp#MISSING}
+     */
+    private static FileStamp readStamp(Path path) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime().toMillis(), attributes.size());
+        } catch (IOException e) {
+            return FileStamp.MISSING;
+        }
+    }
+    
     /**
      * 加载默认模板
      * 
@@ -138,8 +235,46 @@ public class TemplateManager {
         return null;
     }
     
+    /**
+     * 获取编译后的模板
+     * 
+     * @param templateName 模板名称
+     * @return 编译后的模板，模板不存在时返回null
+     */
+    public static CompiledTemplate getCompiledTemplate(String templateName) {
+        CachedTemplate cached = getCachedTemplate(templateName);
+        if (cached == null) {
+            return null;
+        }
+        CompiledTemplate compiled = cached.compiled;
+        if (compiled == null) {
+            // 多个线程同时编译时结果相同，保留任意一个即可
+            compiled = compile(cached.content);
+            cached.compiled = compiled;
+        }
+        return compiled;
+    }
+    
+    /**
+     * 编译模板，相同内容的模板只编译一次
+     * 
+     * @param template 模板内容
+     * @return 编译后的模板
+     */
+    public static CompiledTemplate compile(String template) {
+        CompiledTemplate compiled = compiledCache.get(template);
+        if (compiled == null) {
+            if (compiledCache.size() >= COMPILED_CACHE_LIMIT) {
+                compiledCache.clear();
+            }
+            compiled = compiledCache.computeIfAbsent(template, CompiledTemplate::compile);
+        }
+        return compiled;
+    }
+    
     /**
      * 处理模板变量替换
+     * 模板编译后缓存，局部变量优先于全局变量，找不到的变量保留原样
      * 
      * @param template 模板内容
      * @param variables 变量映射
@@ -150,56 +285,23 @@ public class TemplateManager {
             return template;
         }
         
-        // 合并全局变量和局部变量
-        Map<String, Object> allVariables = new HashMap<>(globalVariables);
-        if (variables != null) {
-            allVariables.putAll(variables);
-        }
-        
-        String result = template;
-        Matcher matcher = VARIABLE_PATTERN.matcher(template);
-        
-        while (matcher.find()) {
-            String varName = matcher.group(1);
-            String placeholder = matcher.group(0);
-            
-            Object value = getVariableValue(varName, allVariables);
-            if (value != null) {
-                result = result.replace(placeholder, value.toString());
-            } else {
-                logger.warn("未找到模板变量: {}", varName);
-            }
-        }
-        
-        return result;
+        return compile(template).render(variables, globalSnapshot);
     }
     
     /**
-     * 获取变量值，支持嵌套属性访问
+     * 处理模板变量替换，结果直接写入输出，不生成完整的字符串
      * 
-     * @param varName 变量名
+     * @param template 模板内容
      * @param variables 变量映射
-     * @return 变量值
+     * @param out 输出，如文件的 Writer
      */
-    private static Object getVariableValue(String varName, Map<String, Object> variables) {
-        if (varName.contains(".")) {
-            // 处理嵌套属性，如 table.beanName
-            String[] parts = varName.split("\\.");
-            Object obj = variables.get(parts[0]);
-            
-            for (int i = 1; i < parts.length && obj != null; i++) {
-                try {
-                    String methodName = "get" + StringUtils.uperCaseFirstLetter(parts[i]);
-                    obj = obj.getClass().getMethod(methodName).invoke(obj);
-                } catch (Exception e) {
-                    logger.warn("无法获取嵌套属性值: {}, 错误: {}", varName, e.getMessage());
-                    return null;
-                }
-            }
-            return obj;
-        } else {
-            return variables.get(varName);
+    public static void processTemplate(String template, Map<String, Object> variables, Appendable out)
+            throws IOException {
+        if (org.apache.commons.lang3.StringUtils.isEmpty(template)) {
+            return;
         }
+        
+        compile(template).render(variables, globalSnapshot, out);
     }
     
     /**
@@ -251,7 +353,7 @@ public class TemplateManager {
                 // 这里需要实际实现列出资源目录的逻辑
                 // 暂时使用硬编码的模板列表
                 String[] defaultTemplates = {
-                    "Po.txt", "Query.txt", "Service.txt", "ServiceImpl.txt",
+                    "Po.txt", "PoBean.txt", "Query.txt", "Service.txt", "ServiceImpl.txt",
                     "Controller.txt", "Mapper.txt", "MapperXML.txt"
                 };
                 templates.addAll(Arrays.asList(defaultTemplates));
@@ -281,9 +383,22 @@ public class TemplateManager {
      */
     public static void clearCache() {
         templateCache.clear();
+        compiledCache.clear();
         logger.info("已清除模板缓存");
     }
     
+    /**
+     * 清除指定模板的缓存，下一次读取时重新加载，其他模板的缓存保持不变
+     * 
+     * @param templateNames 模板名称
+     */
+    public static void invalidate(Collection<String> templateNames) {
+        for (String templateName : templateNames) {
+            templateCache.remove(templateName);
+        }
+        logger.info("已清除模板缓存: {}", templateNames);
+    }
+    
     /**
      * 验证模板语法
      * 
@@ -298,13 +413,17 @@ public class TemplateManager {
             return result;
         }
         
-        Matcher matcher = VARIABLE_PATTERN.matcher(templateContent);
-        Set<String> variables = new HashSet<>();
+        // 编译一次，<#list>、<#if> 等指令没有闭合或表达式有误时报告语法错误
+        CompiledTemplate compiled;
+        try {
+            compiled = CompiledTemplate.compile(templateContent);
+        } catch (IllegalArgumentException e) {
+            result.addError(e.getMessage());
+            return result;
+        }
         
-        while (matcher.find()) {
-            String varName = matcher.group(1);
-            variables.add(varName);
-            
+        Set<String> variables = new LinkedHashSet<>(compiled.getVariableNames());
+        for (String varName : variables) {
             // 检查变量名是否合法
             if (!isValidVariableName(varName)) {
                 result.addError("无效的变量名: " + varName);
@@ -337,7 +456,10 @@ public class TemplateManager {
      * @param value 变量值
      */
     public static void setGlobalVariable(String key, Object value) {
-        globalVariables.put(key, value);
+        synchronized (globalVariables) {
+            globalVariables.put(key, value);
+            globalSnapshot = Collections.unmodifiableMap(new HashMap<>(globalVariables));
+        }
     }
     
     /**
@@ -347,7 +469,18 @@ public class TemplateManager {
      * @return 变量值
      */
     public static Object getGlobalVariable(String key) {
-        return globalVariables.get(key);
+        synchronized (globalVariables) {
+            return globalVariables.get(key);
+        }
+    }
+    
+    /**
+     * 全局变量的只读副本，渲染编译后的模板时使用
+     * 
+     * @return 全局变量
+     */
+    public static Map<String, Object> getGlobalVariables() {
+        return globalSnapshot;
     }
     
     /**
@@ -414,4 +547,54 @@ public class TemplateManager {
             this.variables = variables;
         }
     }
+    
+    /**
+     * 缓存的模板：内容、编译结果（首次使用时编译）和自定义模板文件的修改时间
+     */
+    private static final class CachedTemplate {
+        final String content;
+        final FileStamp stamp;
+        volatile CompiledTemplate compiled;
+        // 最近一次确认文件未变化的时间（System.nanoTime）
+        volatile long checkedAt;
+        
+        CachedTemplate(String content, FileStamp stamp, CompiledTemplate compiled) {
+            this.content = content;
+            this.stamp = stamp;
+            this.compiled = compiled;
+            this.checkedAt = System.nanoTime();
+        }
+    }
+    
+    /**
+     * 文件的修改时间和大小，用于判断自定义模板是否变化
+     */
+    private static final class FileStamp {
+        static final FileStamp MISSING = new FileStamp(-1, -1);
+        
+        final long lastModified;
+        final long size;
+        
+        FileStamp(long lastModified, long size) {
+            this.lastModified = lastModified;
+            this.size = size;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileStamp)) {
+                return false;
+            }
+            FileStamp other = (FileStamp) o;
+            return lastModified == other.lastModified && size == other.size;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Long.hashCode(lastModified) * 31 + Long.hashCode(size);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+package com.easyjava.output;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 归档输出
+ * 生成文件不落到磁盘目录，直接作为条目写入一个 zip 或 jar 文件，条目名为相对输出根目录的路径。
+ * 条目可由多个生成线程同时写入；内容的 CRC 在调用线程上计算，写入归档时串行。
+ * 压缩级别为 0 时条目以不压缩方式存储，写入开销最小
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+class ArchiveOutput {
+
+    private static final Logger log = LoggerFactory.getLogger(ArchiveOutput.class);
+
+    private final Path archive;
+    private final Path baseDirectory;
+    private final int level;
+    private final ZipOutputStream zip;
+
+    private final Set<String> entryNames = new HashSet<>();
+
+    /**
+     * @param archive       归档文件，扩展名为 .jar 时写入清单文件
+     * @param baseDirectory 输出根目录，条目名相对于该目录
+     * @param level         压缩级别 0-9
+     */
+    ArchiveOutput(Path archive, Path baseDirectory, int level) throws IOException {
+        this.archive = archive;
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+        this.level = level;
+
+        if (archive.getParent() != null) {
+            Files.createDirectories(archive.getParent());
+        }
+
+        OutputStream out = new BufferedOutputStream(Files.newOutputStream(archive), 64 * 1024);
+        if (archive.getFileName().toString().toLowerCase().endsWith(".jar")) {
+            Manifest manifest = new Manifest();
+            manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+            manifest.getMainAttributes().put(new Attributes.Name("Created-By"), "EasyJava");
+            zip = new JarOutputStream(out, manifest);
+        } else {
+            zip = new ZipOutputStream(out);
+        }
+        zip.setLevel(level);
+    }
+
+    /**
+     * 写入一个条目，同名条目只保留第一次写入的内容
+     */
+    void add(Path target, byte[] content) throws IOException {
+        String name = entryName(target);
+
+        ZipEntry entry = new ZipEntry(name);
+        if (level == 0) {
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            entry.setMethod(ZipEntry.STORED);
+            entry.setSize(content.length);
+            entry.setCompressedSize(content.length);
+            entry.setCrc(crc.getValue());
+        }
+
+        synchronized (zip) {
+            if (!entryNames.add(name)) {
+                log.warn("归档中已存在条目，忽略: {}", name);
+                return;
+            }
+            zip.putNextEntry(entry);
+            zip.write(content);
+            zip.closeEntry();
+        }
+    }
+
+    int size() {
+        synchronized (zip) {
+            return entryNames.size();
+        }
+    }
+
+    void close() throws IOException {
+        synchronized (zip) {
+            zip.close();
+        }
+        log.info("已写入归档 {}，共 {} 个条目，{} KB", archive, entryNames.size(), Files.size(archive) / 1024);
+    }
+
+    /**
+     * 条目名：输出根目录下的文件使用相对路径，其他文件去掉根路径后使用完整路径
+     */
+    private String entryName(Path target) {
+        Path path = target.toAbsolutePath().normalize();
+        Path relative = path.startsWith(baseDirectory) ? baseDirectory.relativize(path)
+                : path.getRoot() == null ? path : path.getRoot().relativize(path);
+        return relative.toString().replace('\\', '/');
+    }
+}
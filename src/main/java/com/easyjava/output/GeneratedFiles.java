@@ -0,0 +1,370 @@
+package com.easyjava.output;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.utils.PropertiesUtils;
+
+/**
+ * 生成文件输出层
+ * 生成器先把内容写到内存，关闭时再与已存在的文件比较：大小不同直接写入，
+ * 大小相同再比较内容，内容相同则不写入，文件的修改时间保持不变，
+ * Maven、IDE 和增量编译不会因为重新生成而重新编译未变化的文件。
+ * 比较内容时忽略类注释中每次生成都会变化的 @date 行。
+ * 开启暂存后，变化的文件先写入暂存区，整次生成成功后再统一提交到目标目录，失败时放弃，源码目录不会只更新一半。
+ * 开启归档输出后，所有文件直接写入一个 zip / jar 文件，不再写入输出目录。
+ * 关闭只写入变化内容、且没有暂存和归档时，内容不在内存中缓存，边生成边写入同目录的临时文件，完成后替换目标文件
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class GeneratedFiles {
+
+    private static final Logger log = LoggerFactory.getLogger(GeneratedFiles.class);
+
+    /** 类注释中的生成时间，每次生成都不同，比较内容时忽略 */
+    private static final Pattern TIMESTAMP_LINE = Pattern.compile("(?m)^\\s*\\*\\s*@date .*$");
+
+    /** 字符输出的缓冲区大小，直接写入文件时每个文件占用的内存不超过该缓冲区 */
+    private static final int WRITER_BUFFER_SIZE = 8192;
+
+    private static final OutputStats stats = new OutputStats();
+
+    private static volatile StagingArea staging;
+
+    private static volatile ArchiveOutput archive;
+
+    private static volatile boolean writeIfChanged = PropertiesUtils.getBoolean("generate.write.if.changed", true);
+
+    private GeneratedFiles() {
+    }
+
+    /**
+     * 生成文件的内容，写入过程中抛出异常时放弃该文件
+     */
+    @FunctionalInterface
+    public interface ContentWriter {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * 打开生成文件的输出流，关闭时生效
+     * 需要比较内容、暂存或归档时，内容在关闭流时才写入；否则先写入同目录的临时文件，关闭时替换目标文件
+     */
+    public static OutputStream newOutputStream(File file) throws IOException {
+        if (writeIfChanged || staging != null || archive != null) {
+            return new GeneratedFileOutputStream(file);
+        }
+        return new DirectFileOutputStream(file.toPath());
+    }
+
+    /**
+     * 以 UTF-8 写入生成文件，模板可以直接渲染到其中，不需要先生成完整的字符串。
+     * 写入过程中抛出异常（如模板渲染失败）时放弃已写入的内容，原有文件保持不变
+     */
+    public static void write(File file, ContentWriter content) throws IOException {
+        OutputStream out = newOutputStream(file);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), WRITER_BUFFER_SIZE);
+        try {
+            content.writeTo(writer);
+            writer.flush();
+        } catch (Throwable e) {
+            ((AbortableOutput) out).abort();
+            throw e;
+        }
+        writer.close();
+    }
+
+    /**
+     * 以 UTF-8 写入生成文件，内容直接编码，不再复制为字符串
+     */
+    public static void write(File file, CharSequence content) throws IOException {
+        write(file, writer -> {
+            if (content instanceof String) {
+                writer.write((String) content);
+                return;
+            }
+            // Writer.append 会先把 CharSequence 转为字符串，这里按块复制
+            char[] chunk = new char[Math.min(content.length(), WRITER_BUFFER_SIZE)];
+            CharBuffer source = CharBuffer.wrap(content);
+            while (source.hasRemaining()) {
+                int n = Math.min(source.remaining(), chunk.length);
+                source.get(chunk, 0, n);
+                writer.write(chunk, 0, n);
+            }
+        });
+    }
+
+    /**
+     * 写入生成文件，内容与已存在的文件相同时不写入
+     */
+    public static void write(File file, byte[] content) throws IOException {
+        Path path = file.toPath();
+
+        ArchiveOutput archiveOutput = archive;
+        if (archiveOutput != null) {
+            archiveOutput.add(path, content);
+            stats.recordCreated();
+            return;
+        }
+
+        boolean created = !Files.exists(path);
+
+        if (!created && writeIfChanged && isSameContent(path, content)) {
+            stats.recordUnchanged();
+            log.debug("文件内容未变化，跳过: {}", path);
+            return;
+        }
+
+        StagingArea stagingArea = staging;
+        if (stagingArea != null) {
+            stagingArea.stage(path, content, created);
+            return;
+        }
+
+        if (created && path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, content);
+        if (created) {
+            stats.recordCreated();
+        } else {
+            stats.recordWritten();
+        }
+    }
+
+    /**
+     * 开始暂存，之后变化的文件只写入暂存目录，直到提交或放弃
+     *
+     * @param directory 暂存目录，应与输出目录位于同一文件系统
+     * @param fsync     提交时是否同步到磁盘
+     */
+    public static synchronized void beginStaging(Path directory, boolean fsync) throws IOException {
+        if (staging != null) {
+            throw new IllegalStateException("已经在暂存中");
+        }
+        staging = new StagingArea(directory, fsync);
+        log.info("生成文件暂存到: {}", directory);
+    }
+
+    /**
+     * 把暂存的文件原子替换到目标位置
+     *
+     * @return 提交的文件数
+     */
+    public static synchronized int commitStaging() throws IOException {
+        StagingArea stagingArea = staging;
+        if (stagingArea == null) {
+            return 0;
+        }
+        staging = null;
+
+        int count = stagingArea.size();
+        stagingArea.commit(stats);
+        return count;
+    }
+
+    /**
+     * 放弃暂存的文件，目标目录保持不变
+     */
+    public static synchronized void abortStaging() {
+        StagingArea stagingArea = staging;
+        if (stagingArea != null) {
+            staging = null;
+            stagingArea.abort();
+        }
+    }
+
+    public static boolean isStaging() {
+        return staging != null;
+    }
+
+    /**
+     * 打开归档输出，之后所有生成文件都写入归档，直到关闭
+     *
+     * @param archivePath   归档文件，.jar 或 .zip
+     * @param baseDirectory 输出根目录，条目名相对于该目录
+     * @param level         压缩级别 0-9，0 表示不压缩
+     */
+    public static synchronized void openArchive(Path archivePath, Path baseDirectory, int level) throws IOException {
+        if (archive != null) {
+            throw new IllegalStateException("归档输出已打开");
+        }
+        archive = new ArchiveOutput(archivePath, baseDirectory, level);
+        log.info("生成文件写入归档: {}", archivePath);
+    }
+
+    /**
+     * 关闭归档输出，写入归档目录
+     */
+    public static synchronized void closeArchive() throws IOException {
+        ArchiveOutput archiveOutput = archive;
+        if (archiveOutput != null) {
+            archive = null;
+            archiveOutput.close();
+        }
+    }
+
+    public static boolean isArchiving() {
+        return archive != null;
+    }
+
+    /**
+     * 先比较大小，大小相同再比较内容
+     */
+    private static boolean isSameContent(Path path, byte[] content) throws IOException {
+        if (Files.size(path) != content.length) {
+            return false;
+        }
+
+        byte[] existing = Files.readAllBytes(path);
+        if (Arrays.equals(existing, content)) {
+            return true;
+        }
+
+        return stripTimestamp(existing).equals(stripTimestamp(content));
+    }
+
+    private static String stripTimestamp(byte[] content) {
+        return TIMESTAMP_LINE.matcher(new String(content, StandardCharsets.UTF_8)).replaceAll("");
+    }
+
+    /**
+     * 本次运行的文件统计
+     */
+    public static OutputStats getStats() {
+        return stats;
+    }
+
+    /**
+     * 设置是否只在内容变化时写入，关闭后每次都重写文件
+     */
+    public static void setWriteIfChanged(boolean enabled) {
+        writeIfChanged = enabled;
+    }
+
+    public static boolean isWriteIfChanged() {
+        return writeIfChanged;
+    }
+
+    /**
+     * 可以放弃的输出，放弃后关闭不再写入
+     */
+    private interface AbortableOutput {
+        void abort();
+    }
+
+    /**
+     * 写入同目录的临时文件，关闭时替换目标文件并记录统计；放弃时删除临时文件，目标文件不受影响
+     */
+    private static class DirectFileOutputStream extends OutputStream implements AbortableOutput {
+
+        private final Path path;
+        private final Path tempPath;
+        private final OutputStream out;
+        private final boolean created;
+        private boolean closed = false;
+
+        DirectFileOutputStream(Path path) throws IOException {
+            this.path = path;
+            created = !Files.exists(path);
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            tempPath = Files.createTempFile(parent, "." + path.getFileName(), ".tmp");
+            out = Files.newOutputStream(tempPath);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                out.close();
+                try {
+                    Files.move(tempPath, path, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } catch (IOException e) {
+                Files.deleteIfExists(tempPath);
+                throw e;
+            }
+            if (created) {
+                stats.recordCreated();
+            } else {
+                stats.recordWritten();
+            }
+        }
+
+        @Override
+        public void abort() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                out.close();
+                Files.deleteIfExists(tempPath);
+            } catch (IOException e) {
+                log.warn("删除临时文件失败: {}", tempPath, e);
+            }
+        }
+    }
+
+    /**
+     * 在内存中缓存内容，关闭时写入文件，重复关闭或放弃后关闭不再写入
+     */
+    private static class GeneratedFileOutputStream extends ByteArrayOutputStream implements AbortableOutput {
+
+        private final File file;
+        private boolean closed = false;
+
+        GeneratedFileOutputStream(File file) {
+            super(8192);
+            this.file = file;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            GeneratedFiles.write(file, toByteArray());
+        }
+
+        @Override
+        public void abort() {
+            closed = true;
+            reset();
+        }
+    }
+}
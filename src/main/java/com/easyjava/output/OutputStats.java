@@ -0,0 +1,64 @@
+package com.easyjava.output;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 生成文件统计：新建、内容变化后重写、内容未变化而跳过的文件数，线程安全
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class OutputStats {
+
+    private final AtomicInteger created = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+    private final AtomicInteger unchanged = new AtomicInteger();
+
+    void recordCreated() {
+        created.incrementAndGet();
+    }
+
+    void recordWritten() {
+        written.incrementAndGet();
+    }
+
+    void recordUnchanged() {
+        unchanged.incrementAndGet();
+    }
+
+    /**
+     * 新建的文件数
+     */
+    public int getCreated() {
+        return created.get();
+    }
+
+    /**
+     * 内容变化后重写的文件数
+     */
+    public int getWritten() {
+        return written.get();
+    }
+
+    /**
+     * 内容未变化、没有写入的文件数
+     */
+    public int getUnchanged() {
+        return unchanged.get();
+    }
+
+    public int getTotal() {
+        return getCreated() + getWritten() + getUnchanged();
+    }
+
+    public void reset() {
+        created.set(0);
+        written.set(0);
+        unchanged.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "新建 " + getCreated() + "，更新 " + getWritten() + "，未变化 " + getUnchanged();
+    }
+}
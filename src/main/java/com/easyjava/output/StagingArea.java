@@ -0,0 +1,183 @@
+package com.easyjava.output;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 生成文件暂存区
+ * 生成过程中变化的文件先写到暂存目录，不同步到磁盘；提交时统一同步所有暂存文件，
+ * 再逐个原子重命名到目标位置，最后每个目标目录同步一次。未变化的文件不进入暂存区，
+ * 提交的开销只与变化的文件数有关。放弃提交时只删除暂存目录，目标目录不受影响
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+class StagingArea {
+
+    private static final Logger log = LoggerFactory.getLogger(StagingArea.class);
+
+    private final Path directory;
+    private final boolean fsync;
+
+    private final Map<Path, StagedFile> stagedFiles = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    /**
+     * @param directory 暂存目录，应与目标目录位于同一文件系统，重命名才是原子的
+     * @param fsync     提交时是否同步到磁盘
+     */
+    StagingArea(Path directory, boolean fsync) throws IOException {
+        this.directory = directory;
+        this.fsync = fsync;
+        Files.createDirectories(directory);
+    }
+
+    /**
+     * 暂存文件，同一目标文件多次暂存时以最后一次为准
+     *
+     * @param target  目标文件
+     * @param content 内容
+     * @param created 目标文件是否为新建
+     */
+    void stage(Path target, byte[] content, boolean created) throws IOException {
+        Path stagedPath = directory.resolve(sequence.incrementAndGet() + ".tmp");
+        Files.write(stagedPath, content);
+
+        StagedFile previous = stagedFiles.put(target.toAbsolutePath().normalize(),
+                new StagedFile(stagedPath, created));
+        if (previous != null) {
+            Files.deleteIfExists(previous.path);
+        }
+    }
+
+    int size() {
+        return stagedFiles.size();
+    }
+
+    /**
+     * 提交所有暂存文件
+     *
+     * @param stats 提交成功的文件计入统计
+     */
+    void commit(OutputStats stats) throws IOException {
+        long start = System.currentTimeMillis();
+
+        // 1. 统一同步暂存文件的内容
+        if (fsync) {
+            for (StagedFile stagedFile : stagedFiles.values()) {
+                try (FileChannel channel = FileChannel.open(stagedFile.path, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+            }
+        }
+
+        // 2. 原子重命名到目标位置
+        Set<Path> directories = new LinkedHashSet<>();
+        boolean atomic = true;
+        for (Map.Entry<Path, StagedFile> entry : stagedFiles.entrySet()) {
+            Path target = entry.getKey();
+            Path parent = target.getParent();
+            if (parent != null && directories.add(parent)) {
+                Files.createDirectories(parent);
+            }
+
+            try {
+                Files.move(entry.getValue().path, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                atomic = false;
+                Files.move(entry.getValue().path, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            if (entry.getValue().created) {
+                stats.recordCreated();
+            } else {
+                stats.recordWritten();
+            }
+        }
+
+        // 3. 每个目标目录同步一次，使重命名持久化
+        if (fsync) {
+            for (Path parent : directories) {
+                syncDirectory(parent);
+            }
+        }
+
+        if (!atomic) {
+            log.warn("暂存目录与目标目录不在同一文件系统，部分文件未能原子替换");
+        }
+        log.info("提交 {} 个生成文件到 {} 个目录，耗时 {} ms", stagedFiles.size(), directories.size(),
+                System.currentTimeMillis() - start);
+
+        stagedFiles.clear();
+        delete();
+    }
+
+    /**
+     * 放弃暂存的文件
+     */
+    void abort() {
+        log.warn("放弃 {} 个暂存的生成文件", stagedFiles.size());
+        stagedFiles.clear();
+        delete();
+    }
+
+    private void delete() {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            List<Path> list = new ArrayList<>();
+            paths.sorted(Comparator.reverseOrder()).forEach(list::add);
+            for (Path path : list) {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            log.warn("删除暂存目录失败: {}", directory, e);
+            return;
+        }
+
+        // 没有其他运行中的暂存目录时，一并删除上级目录
+        try {
+            if (directory.getParent() != null) {
+                Files.deleteIfExists(directory.getParent());
+            }
+        } catch (IOException e) {
+            log.debug("保留暂存上级目录: {}", directory.getParent());
+        }
+    }
+
+    /**
+     * 同步目录，部分平台（如 Windows）不支持打开目录，忽略失败
+     */
+    private static void syncDirectory(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("同步目录失败: {}", path);
+        }
+    }
+
+    private static class StagedFile {
+        final Path path;
+        final boolean created;
+
+        StagedFile(Path path, boolean created) {
+            this.path = path;
+            this.created = created;
+        }
+    }
+}
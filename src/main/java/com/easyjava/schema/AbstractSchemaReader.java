@@ -0,0 +1,100 @@
+package com.easyjava.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.TableInfo;
+
+/**
+ * 表结构读取器基类，统一记录每次读取的耗时和表数量，并为子类提供查询统计
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public abstract class AbstractSchemaReader implements SchemaReader {
+
+    private static final Logger log = LoggerFactory.getLogger(AbstractSchemaReader.class);
+
+    private volatile long lastElapsedMillis;
+    private volatile int lastTableCount;
+    private volatile IntrospectionMetrics metrics = IntrospectionMetrics.DISABLED;
+
+    @Override
+    public final void read(TableFilter filter, Consumer<TableInfo> consumer) throws Exception {
+        int[] count = new int[1];
+        long start = System.nanoTime();
+
+        try {
+            doRead(filter, tableInfo -> {
+                count[0]++;
+                consumer.accept(tableInfo);
+            });
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            lastElapsedMillis = elapsedNanos / 1_000_000;
+            lastTableCount = count[0];
+            metrics.finish(getName(), elapsedNanos, lastTableCount);
+            log.info("表结构读取器 [{}] 读取 {} 个表，耗时 {} ms", getName(), lastTableCount, lastElapsedMillis);
+        }
+    }
+
+    /**
+     * 实际的读取逻辑，消费者在调用线程上按表顺序调用
+     */
+    protected abstract void doRead(TableFilter filter, Consumer<TableInfo> consumer) throws Exception;
+
+    @Override
+    public long getLastElapsedMillis() {
+        return lastElapsedMillis;
+    }
+
+    @Override
+    public int getLastTableCount() {
+        return lastTableCount;
+    }
+
+    @Override
+    public void setMetrics(IntrospectionMetrics metrics) {
+        this.metrics = metrics == null ? IntrospectionMetrics.DISABLED : metrics;
+    }
+
+    /**
+     * 记录一次元数据查询
+     *
+     * @param query     查询类型
+     * @param tableName 查询针对的表，批量查询时为null
+     * @param start     查询开始时的 System.nanoTime()
+     * @param rows      读取的行数
+     */
+    protected void recordQuery(String query, String tableName, long start, int rows) {
+        metrics.record(query, tableName, System.nanoTime() - start, rows);
+    }
+
+    /**
+     * 创建带参数的查询
+     *
+     * @param streaming 是否以只向前的流式方式读取结果集，避免驱动把整个结果集读入内存
+     */
+    protected static PreparedStatement prepare(Connection connection, String sql, List<String> params,
+            boolean streaming) throws SQLException {
+        PreparedStatement ps;
+        if (streaming) {
+            ps = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+        } else {
+            ps = connection.prepareStatement(sql);
+        }
+
+        for (int i = 0; i < params.size(); i++) {
+            ps.setString(i + 1, params.get(i));
+        }
+        return ps;
+    }
+}
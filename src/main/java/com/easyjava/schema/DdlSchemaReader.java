@@ -0,0 +1,832 @@
+package com.easyjava.schema;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.TableInfoAssembler.KeyIndexCollector;
+
+/**
+ * DDL脚本表结构读取器
+ * 解析目录下 .sql 文件中的 MySQL CREATE TABLE 语句，直接组装出 TableInfo，不需要连接数据库
+ *
+ * 支持：字段类型、UNSIGNED、AUTO_INCREMENT、COMMENT、表注释、
+ * PRIMARY KEY / UNIQUE / KEY / INDEX / FULLTEXT / FOREIGN KEY 索引定义（含字段上的内联定义）。
+ * 文件按路径顺序依次执行，后出现的 CREATE TABLE 覆盖同名表，DROP TABLE 会移除已定义的表，
+ * 因此可以直接指向按版本号命名的迁移脚本目录。
+ * 既可以作为 {@link SchemaReader} 使用，也可以通过静态方法直接解析。
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class DdlSchemaReader extends AbstractSchemaReader {
+
+    private static final Logger log = LoggerFactory.getLogger(DdlSchemaReader.class);
+
+    private static final Pattern CREATE_TABLE_PATTERN = Pattern.compile(
+            "^CREATE\\s+(?:TEMPORARY\\s+)?TABLE\\s+(?:IF\\s+NOT\\s+EXISTS\\s+)?", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern DROP_TABLE_PATTERN = Pattern.compile(
+            "^DROP\\s+(?:TEMPORARY\\s+)?TABLES?\\s+(?:IF\\s+EXISTS\\s+)?", Pattern.CASE_INSENSITIVE);
+
+    private static final String PRIMARY_KEY_NAME = "PRIMARY";
+
+    /**
+     * 类型别名，与 MySQL 建表后 show full fields 显示的类型保持一致
+     */
+    private static final Map<String, String> TYPE_ALIASES = new HashMap<>();
+
+    static {
+        TYPE_ALIASES.put("integer", "int");
+        TYPE_ALIASES.put("int4", "int");
+        TYPE_ALIASES.put("int8", "bigint");
+        TYPE_ALIASES.put("bool", "tinyint(1)");
+        TYPE_ALIASES.put("boolean", "tinyint(1)");
+        TYPE_ALIASES.put("dec", "decimal");
+        TYPE_ALIASES.put("fixed", "decimal");
+        TYPE_ALIASES.put("numeric", "decimal");
+        TYPE_ALIASES.put("real", "double");
+        TYPE_ALIASES.put("double precision", "double");
+        TYPE_ALIASES.put("character", "char");
+        TYPE_ALIASES.put("character varying", "varchar");
+    }
+
+    private final Path path;
+
+    /**
+     * @param path 建表脚本目录或单个 .sql 文件
+     */
+    public DdlSchemaReader(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public String getName() {
+        return "ddl";
+    }
+
+    @Override
+    protected void doRead(TableFilter filter, Consumer<TableInfo> consumer) throws IOException {
+        for (TableInfo tableInfo : readDirectory(path)) {
+            if (filter.matches(tableInfo.getTableName())) {
+                consumer.accept(tableInfo);
+            }
+        }
+    }
+
+    /**
+     * 读取目录下（含子目录）所有 .sql 文件，目录也可以直接是单个 .sql 文件
+     *
+     * @param path 目录或文件路径
+     * @return 按表名排序的表信息列表
+     */
+    public static List<TableInfo> readDirectory(Path path) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> stream = Files.walk(path)) {
+                files = stream.filter(Files::isRegularFile)
+                        .filter(file -> file.getFileName().toString().toLowerCase().endsWith(".sql"))
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        } else {
+            files = List.of(path);
+        }
+
+        Map<String, TableDefinition> definitions = new LinkedHashMap<>();
+        for (Path file : files) {
+            log.debug("解析DDL文件: {}", file);
+            parseInto(new String(Files.readAllBytes(file), StandardCharsets.UTF_8), definitions);
+        }
+
+        log.info("从 {} 个DDL文件中解析出 {} 个表", files.size(), definitions.size());
+        return toTableInfos(definitions);
+    }
+
+    /**
+     * 解析一段SQL文本
+     *
+     * @param sql SQL文本
+     * @return 按表名排序的表信息列表
+     */
+    public static List<TableInfo> parse(String sql) {
+        Map<String, TableDefinition> definitions = new LinkedHashMap<>();
+        parseInto(sql, definitions);
+        return toTableInfos(definitions);
+    }
+
+    private static void parseInto(String sql, Map<String, TableDefinition> definitions) {
+        for (String statement : splitStatements(stripComments(sql))) {
+            Matcher createMatcher = CREATE_TABLE_PATTERN.matcher(statement);
+            if (createMatcher.find()) {
+                TableDefinition definition = parseCreateTable(statement, createMatcher.end());
+                if (definition != null) {
+                    if (definitions.containsKey(definition.tableName)) {
+                        log.debug("表 {} 被重新定义", definition.tableName);
+                    }
+                    definitions.put(definition.tableName, definition);
+                }
+                continue;
+            }
+
+            Matcher dropMatcher = DROP_TABLE_PATTERN.matcher(statement);
+            if (dropMatcher.find()) {
+                Cursor cursor = new Cursor(statement, dropMatcher.end());
+                do {
+                    String tableName = cursor.readQualifiedName();
+                    if (tableName != null) {
+                        definitions.remove(tableName);
+                    }
+                } while (cursor.consume(','));
+            }
+        }
+    }
+
+    private static List<TableInfo> toTableInfos(Map<String, TableDefinition> definitions) {
+        // 与 show table status 的返回顺序一致，按表名排序
+        Map<String, TableDefinition> sorted = new TreeMap<>(definitions);
+
+        List<TableInfo> tables = new ArrayList<>(sorted.size());
+        for (TableDefinition definition : sorted.values()) {
+            tables.add(definition.toTableInfo());
+        }
+        return tables;
+    }
+
+    /**
+     * 解析单条 CREATE TABLE 语句
+     */
+    private static TableDefinition parseCreateTable(String statement, int start) {
+        Cursor cursor = new Cursor(statement, start);
+        String tableName = cursor.readQualifiedName();
+        if (tableName == null) {
+            log.warn("无法识别的建表语句: {}", abbreviate(statement));
+            return null;
+        }
+
+        if (!cursor.peek('(')) {
+            log.warn("暂不支持的建表语句（如 CREATE TABLE ... LIKE / AS SELECT），已跳过: {}", tableName);
+            return null;
+        }
+
+        String body = cursor.readParenthesized();
+        TableDefinition definition = new TableDefinition(tableName);
+
+        for (String item : splitTopLevel(body, ',')) {
+            parseDefinition(definition, item.trim());
+        }
+
+        // 表选项：只关心 COMMENT
+        while (!cursor.atEnd()) {
+            String word = cursor.readWord();
+            if (word == null) {
+                cursor.skip();
+                continue;
+            }
+            if ("COMMENT".equalsIgnoreCase(word)) {
+                cursor.consume('=');
+                String comment = cursor.readString();
+                if (comment != null) {
+                    definition.comment = comment;
+                }
+            }
+        }
+
+        definition.addImplicitForeignKeyIndexes();
+        return definition;
+    }
+
+    /**
+     * 解析字段或索引定义
+     */
+    private static void parseDefinition(TableDefinition definition, String item) {
+        if (item.isEmpty()) {
+            return;
+        }
+
+        Cursor cursor = new Cursor(item, 0);
+        String first = cursor.peekWord();
+        String keyword = first == null ? "" : first.toUpperCase();
+
+        switch (keyword) {
+            case "CONSTRAINT": {
+                cursor.readWord();
+                String symbol = null;
+                String next = cursor.peekWord();
+                if (next != null && !isConstraintKeyword(next)) {
+                    symbol = cursor.readIdentifier();
+                } else if (next == null) {
+                    symbol = cursor.readIdentifier();
+                }
+                parseConstraint(definition, cursor, symbol);
+                return;
+            }
+            case "PRIMARY":
+            case "UNIQUE":
+            case "FOREIGN":
+                parseConstraint(definition, cursor, null);
+                return;
+            case "KEY":
+            case "INDEX":
+            case "FULLTEXT":
+            case "SPATIAL": {
+                cursor.readWord();
+                String next = cursor.peekWord();
+                if (next != null && ("KEY".equalsIgnoreCase(next) || "INDEX".equalsIgnoreCase(next))) {
+                    cursor.readWord();
+                }
+                definition.addIndex(readIndexName(cursor), readIndexColumns(cursor));
+                return;
+            }
+            case "CHECK":
+                return;
+            default:
+                parseColumn(definition, cursor);
+        }
+    }
+
+    private static boolean isConstraintKeyword(String word) {
+        String upper = word.toUpperCase();
+        return "PRIMARY".equals(upper) || "UNIQUE".equals(upper) || "FOREIGN".equals(upper)
+                || "CHECK".equals(upper);
+    }
+
+    private static void parseConstraint(TableDefinition definition, Cursor cursor, String symbol) {
+        String keyword = cursor.readWord();
+        if (keyword == null) {
+            return;
+        }
+
+        switch (keyword.toUpperCase()) {
+            case "PRIMARY":
+                cursor.readWord(); // KEY
+                skipIndexType(cursor);
+                definition.addIndex(PRIMARY_KEY_NAME, readIndexColumns(cursor));
+                break;
+            case "UNIQUE": {
+                String next = cursor.peekWord();
+                if (next != null && ("KEY".equalsIgnoreCase(next) || "INDEX".equalsIgnoreCase(next))) {
+                    cursor.readWord();
+                }
+                String indexName = readIndexName(cursor);
+                definition.addIndex(indexName != null ? indexName : symbol, readIndexColumns(cursor));
+                break;
+            }
+            case "FOREIGN": {
+                cursor.readWord(); // KEY
+                String indexName = readIndexName(cursor);
+                definition.foreignKeys.add(new IndexDefinition(indexName != null ? indexName : symbol,
+                        readIndexColumns(cursor)));
+                break;
+            }
+            default:
+                break;
+        }
+    }
+
+    private static String readIndexName(Cursor cursor) {
+        if (cursor.peek('(')) {
+            return null;
+        }
+
+        String word = cursor.peekWord();
+        if (word != null && "USING".equalsIgnoreCase(word)) {
+            skipIndexType(cursor);
+            return null;
+        }
+
+        String indexName = cursor.readIdentifier();
+        skipIndexType(cursor);
+        return indexName;
+    }
+
+    private static void skipIndexType(Cursor cursor) {
+        String word = cursor.peekWord();
+        if (word != null && "USING".equalsIgnoreCase(word)) {
+            cursor.readWord();
+            cursor.readWord();
+        }
+    }
+
+    /**
+     * 读取索引字段列表，忽略前缀长度、排序方向和函数索引
+     */
+    private static List<String> readIndexColumns(Cursor cursor) {
+        List<String> columns = new ArrayList<>();
+        if (!cursor.peek('(')) {
+            return columns;
+        }
+
+        for (String part : splitTopLevel(cursor.readParenthesized(), ',')) {
+            Cursor partCursor = new Cursor(part.trim(), 0);
+            if (partCursor.peek('(')) {
+                continue;
+            }
+            String column = partCursor.readIdentifier();
+            if (column != null) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * 解析字段定义
+     */
+    private static void parseColumn(TableDefinition definition, Cursor cursor) {
+        String columnName = cursor.readIdentifier();
+        if (columnName == null) {
+            return;
+        }
+
+        ColumnDefinition column = new ColumnDefinition(columnName);
+        column.type = readColumnType(cursor);
+
+        while (!cursor.atEnd()) {
+            if (cursor.peek('(')) {
+                cursor.readParenthesized();
+                continue;
+            }
+            if (cursor.peekString()) {
+                cursor.readString();
+                continue;
+            }
+
+            String word = cursor.readWord();
+            if (word == null) {
+                cursor.skip();
+                continue;
+            }
+
+            switch (word.toUpperCase()) {
+                case "AUTO_INCREMENT":
+                    column.autoIncrement = true;
+                    break;
+                case "COMMENT": {
+                    String comment = cursor.readString();
+                    if (comment != null) {
+                        column.comment = comment;
+                    }
+                    break;
+                }
+                case "PRIMARY":
+                    cursor.readWord(); // KEY
+                    definition.addIndex(PRIMARY_KEY_NAME, List.of(columnName));
+                    break;
+                case "KEY":
+                    // 字段上的 KEY 等同于 PRIMARY KEY
+                    definition.addIndex(PRIMARY_KEY_NAME, List.of(columnName));
+                    break;
+                case "UNIQUE": {
+                    String next = cursor.peekWord();
+                    if (next != null && "KEY".equalsIgnoreCase(next)) {
+                        cursor.readWord();
+                    }
+                    definition.addIndex(null, List.of(columnName));
+                    break;
+                }
+                case "REFERENCES":
+                    // 内联外键引用不建立索引，跳过引用的表名和字段
+                    cursor.readQualifiedName();
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        definition.columns.add(column);
+    }
+
+    /**
+     * 读取字段类型，格式与 show full fields 的 Type 列一致，如 varchar(64)、int unsigned、enum('a','b')
+     */
+    private static String readColumnType(Cursor cursor) {
+        String baseType = cursor.readWord();
+        if (baseType == null) {
+            return "";
+        }
+        baseType = baseType.toLowerCase();
+
+        // 多词类型
+        String next = cursor.peekWord();
+        if (next != null) {
+            String combined = baseType + " " + next.toLowerCase();
+            if ("double precision".equals(combined) || "character varying".equals(combined)) {
+                cursor.readWord();
+                baseType = combined;
+            } else if (("national".equals(baseType) || "long".equals(baseType))) {
+                cursor.readWord();
+                baseType = next.toLowerCase();
+            }
+        }
+
+        String alias = TYPE_ALIASES.get(baseType);
+        StringBuilder type = new StringBuilder(alias != null ? alias : baseType);
+
+        if (cursor.peek('(')) {
+            String args = cursor.readParenthesized();
+            if (type.indexOf("(") < 0) {
+                type.append('(').append(args.replaceAll("\\s+", "")).append(')');
+            }
+        }
+
+        while (true) {
+            String modifier = cursor.peekWord();
+            if (modifier == null) {
+                break;
+            }
+            String upper = modifier.toUpperCase();
+            if ("UNSIGNED".equals(upper) || "ZEROFILL".equals(upper)) {
+                cursor.readWord();
+                type.append(' ').append(modifier.toLowerCase());
+            } else if ("SIGNED".equals(upper)) {
+                cursor.readWord();
+            } else {
+                break;
+            }
+        }
+
+        return type.toString();
+    }
+
+    /**
+     * 去除注释：-- 、# 、/* *&#47;（保留字符串和标识符中的内容）
+     */
+    static String stripComments(String sql) {
+        StringBuilder sb = new StringBuilder(sql.length());
+        int length = sql.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = sql.charAt(i);
+
+            if (c == '\'' || c == '"' || c == '`') {
+                int end = skipQuoted(sql, i);
+                sb.append(sql, i, end);
+                i = end;
+            } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-'
+                    && (i + 2 >= length || Character.isWhitespace(sql.charAt(i + 2)))) {
+                i = skipToLineEnd(sql, i);
+            } else if (c == '#') {
+                i = skipToLineEnd(sql, i);
+            } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                sb.append(' ');
+            } else {
+                sb.append(c);
+                i++;
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static int skipToLineEnd(String sql, int start) {
+        int end = sql.indexOf('\n', start);
+        return end < 0 ? sql.length() : end;
+    }
+
+    /**
+     * 跳过引号包围的内容，支持反斜杠转义和双写引号，返回结束引号之后的位置
+     */
+    private static int skipQuoted(String sql, int start) {
+        char quote = sql.charAt(start);
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\' && quote != '`') {
+                i += 2;
+                continue;
+            }
+            if (c == quote) {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == quote) {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return sql.length();
+    }
+
+    private static List<String> splitStatements(String sql) {
+        List<String> statements = new ArrayList<>();
+        for (String statement : splitTopLevel(sql, ';')) {
+            String trimmed = statement.trim();
+            if (!trimmed.isEmpty()) {
+                statements.add(trimmed);
+            }
+        }
+        return statements;
+    }
+
+    /**
+     * 按分隔符切分，忽略括号和引号内部的分隔符
+     */
+    private static List<String> splitTopLevel(String text, char separator) {
+        List<String> parts = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        int i = 0;
+
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '\'' || c == '"' || c == '`') {
+                i = skipQuoted(text, i);
+                continue;
+            }
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == separator && depth == 0) {
+                parts.add(text.substring(start, i));
+                start = i + 1;
+            }
+            i++;
+        }
+
+        if (start < text.length()) {
+            parts.add(text.substring(start));
+        }
+        return parts;
+    }
+
+    private static String abbreviate(String statement) {
+        return statement.length() > 80 ? statement.substring(0, 80) + "..." : statement;
+    }
+
+    /**
+     * 表定义
+     */
+    private static class TableDefinition {
+        final String tableName;
+        String comment = "";
+        final List<ColumnDefinition> columns = new ArrayList<>();
+        final Map<String, List<String>> indexes = new LinkedHashMap<>();
+        final List<IndexDefinition> foreignKeys = new ArrayList<>();
+
+        TableDefinition(String tableName) {
+            this.tableName = tableName;
+        }
+
+        /**
+         * 添加索引，未命名时与 MySQL 一致使用第一个字段名，重名时追加 _2、_3
+         */
+        void addIndex(String indexName, List<String> indexColumns) {
+            if (indexColumns.isEmpty()) {
+                return;
+            }
+
+            if (indexName == null) {
+                String base = indexColumns.get(0);
+                indexName = base;
+                int suffix = 2;
+                while (indexes.containsKey(indexName)) {
+                    indexName = base + "_" + suffix++;
+                }
+            }
+
+            indexes.put(indexName, indexColumns);
+        }
+
+        /**
+         * 外键字段没有可用的索引时，MySQL 会自动创建同名索引
+         */
+        void addImplicitForeignKeyIndexes() {
+            for (IndexDefinition foreignKey : foreignKeys) {
+                boolean covered = indexes.values().stream().anyMatch(columns -> columns.size() >= foreignKey.columns.size()
+                        && columns.subList(0, foreignKey.columns.size()).equals(foreignKey.columns));
+                if (!covered) {
+                    addIndex(foreignKey.name, foreignKey.columns);
+                }
+            }
+        }
+
+        TableInfo toTableInfo() {
+            TableInfo tableInfo = TableInfoAssembler.createTableInfo(tableName, comment);
+
+            for (ColumnDefinition column : columns) {
+                TableInfoAssembler.addField(tableInfo, column.name, column.type,
+                        column.autoIncrement ? "auto_increment" : "", column.comment);
+            }
+
+            KeyIndexCollector collector = TableInfoAssembler.keyIndexCollector(tableInfo);
+            for (Map.Entry<String, List<String>> index : indexes.entrySet()) {
+                List<String> indexColumns = index.getValue();
+                for (int i = 0; i < indexColumns.size(); i++) {
+                    collector.add(index.getKey(), indexColumns.get(i), i + 1);
+                }
+            }
+            collector.fill();
+
+            return tableInfo;
+        }
+    }
+
+    private static class ColumnDefinition {
+        final String name;
+        String type;
+        boolean autoIncrement;
+        String comment = "";
+
+        ColumnDefinition(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class IndexDefinition {
+        final String name;
+        final List<String> columns;
+
+        IndexDefinition(String name, List<String> columns) {
+            this.name = name;
+            this.columns = columns;
+        }
+    }
+
+    /**
+     * 简单的词法游标
+     */
+    private static class Cursor {
+        private final String text;
+        private int pos;
+
+        Cursor(String text, int pos) {
+            this.text = text;
+            this.pos = pos;
+        }
+
+        boolean atEnd() {
+            skipWhitespace();
+            return pos >= text.length();
+        }
+
+        void skip() {
+            pos++;
+        }
+
+        boolean peek(char c) {
+            skipWhitespace();
+            return pos < text.length() && text.charAt(pos) == c;
+        }
+
+        boolean consume(char c) {
+            if (peek(c)) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        boolean peekString() {
+            skipWhitespace();
+            return pos < text.length() && (text.charAt(pos) == '\'' || text.charAt(pos) == '"');
+        }
+
+        String peekWord() {
+            int saved = pos;
+            String word = readWord();
+            pos = saved;
+            return word;
+        }
+
+        /**
+         * 读取不带引号的单词
+         */
+        String readWord() {
+            skipWhitespace();
+            int start = pos;
+            while (pos < text.length() && isWordChar(text.charAt(pos))) {
+                pos++;
+            }
+            return pos > start ? text.substring(start, pos) : null;
+        }
+
+        /**
+         * 读取标识符，支持反引号和双引号
+         */
+        String readIdentifier() {
+            skipWhitespace();
+            if (pos < text.length() && (text.charAt(pos) == '`' || text.charAt(pos) == '"')) {
+                char quote = text.charAt(pos);
+                int end = skipQuoted(text, pos);
+                String identifier = text.substring(pos + 1, end - 1);
+                pos = end;
+                return identifier.replace(String.valueOf(quote) + quote, String.valueOf(quote));
+            }
+            return readWord();
+        }
+
+        /**
+         * 读取可能带库名前缀的表名，返回不含库名的部分
+         */
+        String readQualifiedName() {
+            String name = readIdentifier();
+            while (name != null && pos < text.length() && text.charAt(pos) == '.') {
+                pos++;
+                name = readIdentifier();
+            }
+            return name;
+        }
+
+        /**
+         * 读取字符串字面量并反转义
+         */
+        String readString() {
+            if (!peekString()) {
+                return null;
+            }
+
+            char quote = text.charAt(pos);
+            int end = skipQuoted(text, pos);
+            String raw = text.substring(pos + 1, Math.max(pos + 1, end - 1));
+            pos = end;
+
+            StringBuilder sb = new StringBuilder(raw.length());
+            for (int i = 0; i < raw.length(); i++) {
+                char c = raw.charAt(i);
+                if (c == '\\' && i + 1 < raw.length()) {
+                    char next = raw.charAt(++i);
+                    switch (next) {
+                        case 'n':
+                            sb.append('\n');
+                            break;
+                        case 't':
+                            sb.append('\t');
+                            break;
+                        case 'r':
+                            sb.append('\r');
+                            break;
+                        case '0':
+                            sb.append('\0');
+                            break;
+                        default:
+                            sb.append(next);
+                    }
+                } else if (c == quote && i + 1 < raw.length() && raw.charAt(i + 1) == quote) {
+                    sb.append(quote);
+                    i++;
+                } else {
+                    sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        /**
+         * 读取括号内的内容（不含最外层括号）
+         */
+        String readParenthesized() {
+            skipWhitespace();
+            int start = pos + 1;
+            int depth = 0;
+            while (pos < text.length()) {
+                char c = text.charAt(pos);
+                if (c == '\'' || c == '"' || c == '`') {
+                    pos = skipQuoted(text, pos);
+                    continue;
+                }
+                if (c == '(') {
+                    depth++;
+                } else if (c == ')') {
+                    depth--;
+                    if (depth == 0) {
+                        pos++;
+                        return text.substring(start, pos - 1);
+                    }
+                }
+                pos++;
+            }
+            return text.substring(Math.min(start, text.length()));
+        }
+
+        private void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        private static boolean isWordChar(char c) {
+            return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+        }
+    }
+}
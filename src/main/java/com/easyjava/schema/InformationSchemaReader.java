@@ -0,0 +1,189 @@
+package com.easyjava.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.TableInfoAssembler.KeyIndexCollector;
+
+/**
+ * MySQL information_schema 批量表结构读取器
+ * 表、字段、索引三条查询各执行一次，结果集以流式方式读取，组装出与 show 方式完全一致的模型；
+ * 表名过滤条件同时下推到三条查询中，未选中表的字段和索引行不会从服务端返回
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class InformationSchemaReader extends AbstractSchemaReader {
+
+    private static final Logger log = LoggerFactory.getLogger(InformationSchemaReader.class);
+
+    // %s 为下推的表名过滤条件
+    private static final String SQL_SCHEMA_TABLES = "select TABLE_NAME, TABLE_COMMENT from information_schema.TABLES"
+            + " where TABLE_SCHEMA = database()%s order by TABLE_NAME";
+    private static final String SQL_SCHEMA_COLUMNS = "select TABLE_NAME, COLUMN_NAME, COLUMN_TYPE, EXTRA, COLUMN_COMMENT"
+            + " from information_schema.COLUMNS where TABLE_SCHEMA = database()%s order by TABLE_NAME, ORDINAL_POSITION";
+    private static final String SQL_SCHEMA_STATISTICS = "select TABLE_NAME, INDEX_NAME, COLUMN_NAME, SEQ_IN_INDEX"
+            + " from information_schema.STATISTICS where TABLE_SCHEMA = database()%s"
+            + " order by TABLE_NAME, INDEX_NAME, SEQ_IN_INDEX";
+
+    /**
+     * 表结构指纹：表创建时间、表注释，以及字段、索引各自按表聚合的 CRC32 异或签名
+     * 不使用 UPDATE_TIME，它会随数据写入变化，不代表结构变更
+     */
+    private static final String SQL_SCHEMA_FINGERPRINTS = "select t.TABLE_NAME, t.CREATE_TIME, t.TABLE_COMMENT,"
+            + " c.COLUMN_COUNT, c.COLUMN_SIGNATURE, s.INDEX_SIGNATURE from information_schema.TABLES t"
+            + " left join (select TABLE_NAME, count(*) COLUMN_COUNT, bit_xor(crc32(concat_ws('|', ORDINAL_POSITION,"
+            + " COLUMN_NAME, COLUMN_TYPE, EXTRA, COLUMN_COMMENT))) COLUMN_SIGNATURE from information_schema.COLUMNS"
+            + " where TABLE_SCHEMA = database() group by TABLE_NAME) c on c.TABLE_NAME = t.TABLE_NAME"
+            + " left join (select TABLE_NAME, bit_xor(crc32(concat_ws('|', INDEX_NAME, SEQ_IN_INDEX, COLUMN_NAME)))"
+            + " INDEX_SIGNATURE from information_schema.STATISTICS where TABLE_SCHEMA = database()"
+            + " group by TABLE_NAME) s on s.TABLE_NAME = t.TABLE_NAME"
+            + " where t.TABLE_SCHEMA = database()%s order by t.TABLE_NAME";
+
+    // 查询统计中使用的查询类型
+    private static final String QUERY_TABLES = "information_schema.TABLES";
+    private static final String QUERY_COLUMNS = "information_schema.COLUMNS";
+    private static final String QUERY_STATISTICS = "information_schema.STATISTICS";
+
+    private final Connection connection;
+
+    public InformationSchemaReader(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public String getName() {
+        return "information-schema";
+    }
+
+    /**
+     * 三条查询覆盖整个库，只能在全部组装完成后再依次交给消费者
+     */
+    @Override
+    protected void doRead(TableFilter filter, Consumer<TableInfo> consumer) throws SQLException {
+        Map<String, TableInfo> tableMap = new LinkedHashMap<>();
+
+        List<String> params = new ArrayList<>();
+        String condition = filter.toSqlCondition("TABLE_NAME", params);
+        String filterSql = condition == null ? "" : " and " + condition;
+
+        // 1. 表
+        long start = System.nanoTime();
+        int rows = 0;
+        try (PreparedStatement ps = prepare(connection, String.format(SQL_SCHEMA_TABLES, filterSql), params, true);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+                String tableName = rs.getString("TABLE_NAME");
+                if (!filter.matches(tableName)) {
+                    continue;
+                }
+                TableInfo tableInfo = TableInfoAssembler.createTableInfo(tableName, rs.getString("TABLE_COMMENT"));
+                tableMap.put(tableInfo.getTableName(), tableInfo);
+            }
+        } finally {
+            recordQuery(QUERY_TABLES, null, start, rows);
+        }
+
+        // 2. 字段，按表名和字段顺序排序
+        start = System.nanoTime();
+        rows = 0;
+        try (PreparedStatement ps = prepare(connection, String.format(SQL_SCHEMA_COLUMNS, filterSql), params, true);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                rows++;
+                TableInfo tableInfo = tableMap.get(rs.getString("TABLE_NAME"));
+                if (tableInfo == null) {
+                    continue;
+                }
+
+                TableInfoAssembler.addField(tableInfo, rs.getString("COLUMN_NAME"), rs.getString("COLUMN_TYPE"),
+                        rs.getString("EXTRA"), rs.getString("COLUMN_COMMENT"));
+            }
+        } finally {
+            recordQuery(QUERY_COLUMNS, null, start, rows);
+        }
+
+        // 3. 索引，按表名分组，一个表的行读完后再统一填充 keyIndexMap
+        start = System.nanoTime();
+        rows = 0;
+        try (PreparedStatement ps = prepare(connection, String.format(SQL_SCHEMA_STATISTICS, filterSql), params,
+                true); ResultSet rs = ps.executeQuery()) {
+            String currentTable = null;
+            KeyIndexCollector collector = null;
+
+            while (rs.next()) {
+                rows++;
+                String tableName = rs.getString("TABLE_NAME");
+
+                if (!tableName.equals(currentTable)) {
+                    if (collector != null) {
+                        collector.fill();
+                    }
+
+                    currentTable = tableName;
+                    TableInfo tableInfo = tableMap.get(tableName);
+                    collector = tableInfo == null ? null : TableInfoAssembler.keyIndexCollector(tableInfo);
+                }
+
+                if (collector != null) {
+                    collector.add(rs.getString("INDEX_NAME"), rs.getString("COLUMN_NAME"),
+                            rs.getInt("SEQ_IN_INDEX"));
+                }
+            }
+
+            if (collector != null) {
+                collector.fill();
+            }
+        } finally {
+            recordQuery(QUERY_STATISTICS, null, start, rows);
+        }
+
+        tableMap.values().forEach(consumer);
+    }
+
+    /**
+     * 用一条查询读取所有表的结构指纹，不读取字段和索引明细
+     * 指纹相同的表结构视为未变化，增量生成时可以跳过这些表的逐表读取
+     *
+     * @param filter 表名过滤
+     * @return 表名到指纹的映射，查询失败时返回null
+     */
+    public Map<String, String> readFingerprints(TableFilter filter) {
+        List<String> params = new ArrayList<>();
+        String condition = filter.toSqlCondition("t.TABLE_NAME", params);
+        String sql = String.format(SQL_SCHEMA_FINGERPRINTS, condition == null ? "" : " and " + condition);
+
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+
+        try (PreparedStatement ps = prepare(connection, sql, params, true);
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                String tableName = rs.getString("TABLE_NAME");
+                if (!filter.matches(tableName)) {
+                    continue;
+                }
+
+                fingerprints.put(tableName, rs.getString("CREATE_TIME") + "|" + rs.getString("TABLE_COMMENT")
+                        + "|" + rs.getLong("COLUMN_COUNT") + "|" + rs.getLong("COLUMN_SIGNATURE")
+                        + "|" + rs.getLong("INDEX_SIGNATURE"));
+            }
+        } catch (Exception e) {
+            log.error("读取表结构指纹失败", e);
+            return null;
+        }
+
+        return fingerprints;
+    }
+}
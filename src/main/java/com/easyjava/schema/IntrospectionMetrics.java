@@ -0,0 +1,228 @@
+package com.easyjava.schema;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.utils.JsonUtils;
+
+/**
+ * 表结构读取统计
+ * 记录每条元数据查询的耗时和读取行数，按查询类型和表分别汇总，
+ * 用于区分网络往返慢（所有查询普遍偏慢）和个别表异常（少数表耗时突出）。线程安全，可用于并行读取。
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class IntrospectionMetrics {
+
+    private static final Logger log = LoggerFactory.getLogger(IntrospectionMetrics.class);
+
+    /** 不记录任何数据的空实现 */
+    public static final IntrospectionMetrics DISABLED = new IntrospectionMetrics(false);
+
+    private final boolean enabled;
+
+    private final Map<String, Stats> queryStats = new ConcurrentHashMap<>();
+    private final Map<String, Stats> tableStats = new ConcurrentHashMap<>();
+
+    private volatile String readerName;
+    private volatile long elapsedNanos;
+    private volatile int tableCount;
+
+    public IntrospectionMetrics() {
+        this(true);
+    }
+
+    private IntrospectionMetrics(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 记录一次查询
+     *
+     * @param query     查询类型，如 show full fields
+     * @param tableName 查询针对的表，批量查询时为null
+     * @param nanos     耗时（纳秒），包含读取结果集的时间
+     * @param rows      读取的行数
+     */
+    public void record(String query, String tableName, long nanos, int rows) {
+        if (!enabled) {
+            return;
+        }
+
+        queryStats.computeIfAbsent(query, k -> new Stats()).add(nanos, rows);
+        if (tableName != null) {
+            tableStats.computeIfAbsent(tableName, k -> new Stats()).add(nanos, rows);
+        }
+    }
+
+    /**
+     * 记录整次读取的耗时和表数量
+     */
+    public void finish(String readerName, long elapsedNanos, int tableCount) {
+        if (!enabled) {
+            return;
+        }
+
+        this.readerName = readerName;
+        this.elapsedNanos = elapsedNanos;
+        this.tableCount = tableCount;
+    }
+
+    /**
+     * 按总耗时取最慢的若干个表
+     */
+    public List<Map.Entry<String, Stats>> getSlowestTables(int limit) {
+        return tableStats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().getTotalNanos())
+                        .reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    public Map<String, Stats> getQueryStats() {
+        return queryStats;
+    }
+
+    public Map<String, Stats> getTableStats() {
+        return tableStats;
+    }
+
+    /**
+     * 打印统计摘要
+     *
+     * @param slowestLimit 列出的最慢表数量
+     */
+    public void logSummary(int slowestLimit) {
+        if (!enabled) {
+            return;
+        }
+
+        log.info("=== 表结构读取统计 ===");
+        log.info("读取器: {}，表数量: {}，总耗时: {} ms", readerName, tableCount, toMillis(elapsedNanos));
+
+        for (Map.Entry<String, Stats> entry : sortedQueryStats()) {
+            Stats stats = entry.getValue();
+            log.info("  {}: {} 次，{} 行，总耗时 {} ms，平均 {} ms，最大 {} ms", entry.getKey(), stats.getCount(),
+                    stats.getRows(), toMillis(stats.getTotalNanos()), toMillis(stats.getAverageNanos()),
+                    toMillis(stats.getMaxNanos()));
+        }
+
+        List<Map.Entry<String, Stats>> slowest = getSlowestTables(slowestLimit);
+        if (!slowest.isEmpty()) {
+            log.info("最慢的 {} 个表:", slowest.size());
+            for (Map.Entry<String, Stats> entry : slowest) {
+                Stats stats = entry.getValue();
+                log.info("  {}: {} ms，{} 次查询，{} 行", entry.getKey(), toMillis(stats.getTotalNanos()),
+                        stats.getCount(), stats.getRows());
+            }
+        }
+        log.info("=====================");
+    }
+
+    /**
+     * 以JSON格式写出完整统计
+     *
+     * @param path         输出文件
+     * @param slowestLimit 列出的最慢表数量
+     */
+    public void writeJson(Path path, int slowestLimit) throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("reader", readerName);
+        root.put("tableCount", tableCount);
+        root.put("elapsedMillis", toMillis(elapsedNanos));
+
+        Map<String, Object> queries = new LinkedHashMap<>();
+        for (Map.Entry<String, Stats> entry : sortedQueryStats()) {
+            queries.put(entry.getKey(), entry.getValue().toMap());
+        }
+        root.put("queries", queries);
+
+        List<Map<String, Object>> slowest = new ArrayList<>();
+        for (Map.Entry<String, Stats> entry : getSlowestTables(slowestLimit)) {
+            Map<String, Object> table = new LinkedHashMap<>();
+            table.put("table", entry.getKey());
+            table.putAll(entry.getValue().toMap());
+            slowest.add(table);
+        }
+        root.put("slowestTables", slowest);
+
+        Map<String, Object> tables = new LinkedHashMap<>();
+        tableStats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> tables.put(entry.getKey(), entry.getValue().toMap()));
+        root.put("tables", tables);
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        Files.write(path, JsonUtils.convertObject2Json(root).getBytes(StandardCharsets.UTF_8));
+        log.info("表结构读取统计已写入: {}", path);
+    }
+
+    private List<Map.Entry<String, Stats>> sortedQueryStats() {
+        return queryStats.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().getTotalNanos())
+                        .reversed())
+                .collect(Collectors.toList());
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * 单项统计：次数、行数、总耗时、最大耗时
+     */
+    public static class Stats {
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong rows = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void add(long nanos, int rowCount) {
+            count.incrementAndGet();
+            rows.addAndGet(rowCount);
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        public int getCount() { return count.get(); }
+        public long getRows() { return rows.get(); }
+        public long getTotalNanos() { return totalNanos.get(); }
+        public long getMaxNanos() { return maxNanos.get(); }
+
+        public long getAverageNanos() {
+            int n = count.get();
+            return n == 0 ? 0 : totalNanos.get() / n;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", getCount());
+            map.put("rows", getRows());
+            map.put("totalMillis", toMillis(getTotalNanos()));
+            map.put("avgMillis", toMillis(getAverageNanos()));
+            map.put("maxMillis", toMillis(getMaxNanos()));
+            return map;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.easyjava.schema;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.TableInfoAssembler.KeyIndexCollector;
+
+/**
+ * 通用 JDBC 元数据表结构读取器
+ * 通过 {@link DatabaseMetaData} 读取表、字段、主键和索引，不依赖任何数据库方言，
+ * 可用于 H2、PostgreSQL 等非 MySQL 数据库；主键统一以 PRIMARY 作为索引名，与 MySQL 保持一致。
+ * 数据库把未加引号的标识符存为大写时（如 H2、Oracle），表名和字段名转为小写，保证生成的类名、属性名与 MySQL 一致
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class JdbcMetaDataSchemaReader extends AbstractSchemaReader {
+
+    private static final String PRIMARY_KEY_NAME = "PRIMARY";
+
+    // 查询统计中使用的查询类型
+    private static final String QUERY_TABLES = "getTables";
+    private static final String QUERY_COLUMNS = "getColumns";
+    private static final String QUERY_PRIMARY_KEYS = "getPrimaryKeys";
+    private static final String QUERY_INDEX_INFO = "getIndexInfo";
+
+    /**
+     * 各数据库驱动返回的类型名与 SqlTypeMapper 中类型名的对应关系
+     */
+    private static final Map<String, String> TYPE_ALIASES = new HashMap<>();
+
+    static {
+        TYPE_ALIASES.put("int2", "smallint");
+        TYPE_ALIASES.put("int4", "int");
+        TYPE_ALIASES.put("int8", "bigint");
+        TYPE_ALIASES.put("float4", "real");
+        TYPE_ALIASES.put("float8", "double");
+        TYPE_ALIASES.put("bool", "boolean");
+        TYPE_ALIASES.put("bpchar", "char");
+        TYPE_ALIASES.put("character large object", "clob");
+        TYPE_ALIASES.put("binary large object", "blob");
+        TYPE_ALIASES.put("binary varying", "varbinary");
+    }
+
+    private final Connection connection;
+
+    public JdbcMetaDataSchemaReader(Connection connection) {
+        this.connection = connection;
+    }
+
+    @Override
+    public String getName() {
+        return "jdbc-metadata";
+    }
+
+    @Override
+    protected void doRead(TableFilter filter, Consumer<TableInfo> consumer) throws Exception {
+        DatabaseMetaData metaData = connection.getMetaData();
+        String catalog = connection.getCatalog();
+        String schema = connection.getSchema();
+
+        boolean lowerCase = metaData.storesUpperCaseIdentifiers();
+
+        Deque<Map.Entry<String, TableInfo>> pending = new ArrayDeque<>(
+                listTables(metaData, catalog, schema, filter, lowerCase).entrySet());
+
+        Map.Entry<String, TableInfo> entry;
+        while ((entry = pending.poll()) != null) {
+            TableInfo tableInfo = entry.getValue();
+
+            readFieldInfo(metaData, catalog, schema, entry.getKey(), tableInfo, lowerCase);
+
+            readKeyIndexInfo(metaData, catalog, schema, entry.getKey(), tableInfo, lowerCase);
+
+            consumer.accept(tableInfo);
+        }
+    }
+
+    /**
+     * 读取表清单，按表名排序
+     *
+     * @return 数据库中的原始表名到表信息的映射
+     */
+    private Map<String, TableInfo> listTables(DatabaseMetaData metaData, String catalog, String schema,
+            TableFilter filter, boolean lowerCase) throws SQLException {
+        Map<String, TableInfo> tables = new TreeMap<>();
+        long start = System.nanoTime();
+        int rows = 0;
+
+        try (ResultSet rs = metaData.getTables(catalog, schema, "%", new String[] { "TABLE" })) {
+            while (rs.next()) {
+                rows++;
+                String tableName = rs.getString("TABLE_NAME");
+                if (!filter.matches(tableName)) {
+                    continue;
+                }
+                String remarks = rs.getString("REMARKS");
+                tables.put(tableName, TableInfoAssembler.createTableInfo(identifier(tableName, lowerCase),
+                        remarks == null ? "" : remarks));
+            }
+        } finally {
+            recordQuery(QUERY_TABLES, null, start, rows);
+        }
+
+        return tables;
+    }
+
+    private void readFieldInfo(DatabaseMetaData metaData, String catalog, String schema, String tableName,
+            TableInfo tableInfo, boolean lowerCase) throws SQLException {
+        long start = System.nanoTime();
+        int rows = 0;
+
+        try (ResultSet rs = metaData.getColumns(catalog, schema, tableName, "%")) {
+            while (rs.next()) {
+                rows++;
+                String remarks = rs.getString("REMARKS");
+                String extra = "YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")) ? "auto_increment" : "";
+
+                TableInfoAssembler.addField(tableInfo, identifier(rs.getString("COLUMN_NAME"), lowerCase),
+                        normalizeType(rs.getString("TYPE_NAME")), extra, remarks == null ? "" : remarks);
+            }
+        } finally {
+            recordQuery(QUERY_COLUMNS, tableInfo.getTableName(), start, rows);
+        }
+    }
+
+    private void readKeyIndexInfo(DatabaseMetaData metaData, String catalog, String schema, String tableName,
+            TableInfo tableInfo, boolean lowerCase) throws SQLException {
+        tableInfo.getKeyIndexMap().clear();
+
+        KeyIndexCollector collector = TableInfoAssembler.keyIndexCollector(tableInfo);
+
+        // 主键
+        Map<Integer, String> primaryColumns = new TreeMap<>();
+        long start = System.nanoTime();
+        int rows = 0;
+        try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+            while (rs.next()) {
+                rows++;
+                primaryColumns.put(rs.getInt("KEY_SEQ"), identifier(rs.getString("COLUMN_NAME"), lowerCase));
+            }
+        } finally {
+            recordQuery(QUERY_PRIMARY_KEYS, tableInfo.getTableName(), start, rows);
+        }
+        for (Map.Entry<Integer, String> entry : primaryColumns.entrySet()) {
+            collector.add(PRIMARY_KEY_NAME, entry.getValue(), entry.getKey());
+        }
+
+        // 其他索引，跳过与主键字段完全相同的主键索引
+        Map<String, Map<Integer, String>> indexes = new LinkedHashMap<>();
+        start = System.nanoTime();
+        rows = 0;
+        try (ResultSet rs = metaData.getIndexInfo(catalog, schema, tableName, false, true)) {
+            while (rs.next()) {
+                rows++;
+                String indexName = rs.getString("INDEX_NAME");
+                String columnName = rs.getString("COLUMN_NAME");
+                if (indexName == null || columnName == null) {
+                    continue;
+                }
+                indexes.computeIfAbsent(identifier(indexName, lowerCase), k -> new TreeMap<>())
+                        .put((int) rs.getShort("ORDINAL_POSITION"), identifier(columnName, lowerCase));
+            }
+        } finally {
+            recordQuery(QUERY_INDEX_INFO, tableInfo.getTableName(), start, rows);
+        }
+
+        List<String> primaryList = new ArrayList<>(primaryColumns.values());
+        for (Map.Entry<String, Map<Integer, String>> index : indexes.entrySet()) {
+            if (PRIMARY_KEY_NAME.equalsIgnoreCase(index.getKey())
+                    || new ArrayList<>(index.getValue().values()).equals(primaryList)) {
+                continue;
+            }
+            for (Map.Entry<Integer, String> column : index.getValue().entrySet()) {
+                collector.add(index.getKey(), column.getValue(), column.getKey());
+            }
+        }
+
+        collector.fill();
+    }
+
+    private static String identifier(String name, boolean lowerCase) {
+        return lowerCase ? name.toLowerCase() : name;
+    }
+
+    /**
+     * 类型名转小写并统一别名，如 CHARACTER VARYING -> character varying、int8 -> bigint
+     */
+    static String normalizeType(String typeName) {
+        if (typeName == null) {
+            return "";
+        }
+        String type = typeName.trim().toLowerCase();
+        String alias = TYPE_ALIASES.get(type);
+        return alias != null ? alias : type;
+    }
+}
@@ -0,0 +1,216 @@
+package com.easyjava.schema;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.TableInfoAssembler.KeyIndexCollector;
+import com.easyjava.utils.ConnectionProvider;
+
+/**
+ * MySQL show 语句表结构读取器
+ * 表清单来自 show table status，逐表执行 show full fields / show index；
+ * 并行度大于1时，逐表查询分发到多个线程，各自从全局连接池借用连接并行执行
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class MySqlShowSchemaReader extends AbstractSchemaReader {
+
+    private static final Logger log = LoggerFactory.getLogger(MySqlShowSchemaReader.class);
+
+    private static final String SQL_SHOW_TABLES_STATUS = "show table status";
+    private static final String SQL_SHOW_TABLE_FIELDS = "show full fields from %s";
+    private static final String SQL_SHOW_TABLE_INDEX = "show index from %s";
+
+    // 查询统计中使用的查询类型
+    private static final String QUERY_TABLE_STATUS = "show table status";
+    private static final String QUERY_FIELDS = "show full fields";
+    private static final String QUERY_INDEX = "show index";
+
+    private final Connection connection;
+    private final int parallelism;
+
+    /**
+     * @param connection  读取表清单（并行度为1时也用于逐表查询）的连接
+     * @param parallelism 并行度，大于1时从全局连接池借用连接并行读取
+     */
+    public MySqlShowSchemaReader(Connection connection, int parallelism) {
+        this.connection = connection;
+        this.parallelism = parallelism;
+    }
+
+    @Override
+    public String getName() {
+        return parallelism > 1 ? "mysql-show-parallel" : "mysql-show";
+    }
+
+    @Override
+    protected void doRead(TableFilter filter, Consumer<TableInfo> consumer) throws Exception {
+        if (parallelism > 1) {
+            // 主连接已占用连接池中的一个连接，没有剩余连接时在主连接上逐表读取，否则工作线程会一直等待连接
+            if (ConnectionProvider.getMaxSize() > 1) {
+                readParallel(filter, consumer);
+                return;
+            }
+            log.warn("连接池只有一个连接，表结构改为在主连接上逐表读取");
+        }
+
+        Deque<TableInfo> pending = new ArrayDeque<>(listTables(filter));
+
+        TableInfo tableInfo;
+        while ((tableInfo = pending.poll()) != null) {
+            readFieldInfo(connection, tableInfo);
+
+            readKeyIndexInfo(connection, tableInfo);
+
+            consumer.accept(tableInfo);
+        }
+    }
+
+    /**
+     * 并行读取表结构
+     * 表清单仍由主连接读取，每个表的字段和索引查询分发到工作线程，
+     * 每个工作线程从全局连接池借用一个连接，线程数不超过连接池剩余的连接数；同时提交的任务数限制为连接数的两倍，
+     * 按表清单顺序等待结果并交给消费者，保持原有表顺序，消费者变慢时也不会无限读取
+     */
+    private void readParallel(TableFilter filter, Consumer<TableInfo> consumer) throws Exception {
+        Deque<TableInfo> pending = new ArrayDeque<>(listTables(filter));
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 主连接已占用连接池中的一个连接
+        int available = ConnectionProvider.getMaxSize() - 1;
+        if (parallelism > available) {
+            log.warn("表结构读取并行度 {} 超过连接池可用的连接数 {}（spring.datasource.pool.size 减去主连接），按 {} 个线程读取",
+                    parallelism, available, available);
+        }
+        int threadCount = Math.min(Math.min(parallelism, pending.size()), available);
+        int window = threadCount * 2;
+        AtomicInteger threadIndex = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, r -> {
+            Thread thread = new Thread(r, "introspect-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Deque<Future<TableInfo>> inFlight = new ArrayDeque<>(window);
+
+            while (!pending.isEmpty() || !inFlight.isEmpty()) {
+                while (!pending.isEmpty() && inFlight.size() < window) {
+                    TableInfo tableInfo = pending.poll();
+                    inFlight.add(executor.submit(() -> {
+                        try (Connection pooled = ConnectionProvider.getConnection()) {
+                            readFieldInfo(pooled, tableInfo);
+                            readKeyIndexInfo(pooled, tableInfo);
+                        }
+                        return tableInfo;
+                    }));
+                }
+
+                try {
+                    consumer.accept(inFlight.poll().get());
+                } catch (ExecutionException e) {
+                    // 任一表读取失败即停止，由调用方决定是否继续
+                    Throwable cause = e.getCause();
+                    throw cause instanceof Exception ? (Exception) cause : e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("并行读取表结构被中断", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * 读取表清单，只填充表级信息
+     * 过滤条件通过 show table status where 下推，返回结果再按过滤器精确匹配一次
+     */
+    private List<TableInfo> listTables(TableFilter filter) throws SQLException {
+        List<TableInfo> tableInfos = new ArrayList<>();
+
+        List<String> params = new ArrayList<>();
+        String condition = filter.toSqlCondition("Name", params);
+        String sql = condition == null ? SQL_SHOW_TABLES_STATUS : SQL_SHOW_TABLES_STATUS + " where " + condition;
+
+        long start = System.nanoTime();
+        int rows = 0;
+
+        try (PreparedStatement ps = prepare(connection, sql, params, false);
+                ResultSet tableResult = ps.executeQuery()) {
+            while (tableResult.next()) {
+                rows++;
+                String tableName = tableResult.getString("name");
+                if (!filter.matches(tableName)) {
+                    continue;
+                }
+                tableInfos.add(TableInfoAssembler.createTableInfo(tableName, tableResult.getString("comment")));
+            }
+        } finally {
+            recordQuery(QUERY_TABLE_STATUS, null, start, rows);
+        }
+
+        return tableInfos;
+    }
+
+    private void readFieldInfo(Connection connection, TableInfo tableInfo) throws SQLException {
+        String sql = String.format(SQL_SHOW_TABLE_FIELDS, tableInfo.getTableName());
+        long start = System.nanoTime();
+        int rows = 0;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+                ResultSet fieldResult = ps.executeQuery()) {
+            while (fieldResult.next()) {
+                rows++;
+                TableInfoAssembler.addField(tableInfo, fieldResult.getString("field"), fieldResult.getString("type"),
+                        fieldResult.getString("extra"), fieldResult.getString("comment"));
+            }
+        } finally {
+            recordQuery(QUERY_FIELDS, tableInfo.getTableName(), start, rows);
+        }
+    }
+
+    private void readKeyIndexInfo(Connection connection, TableInfo tableInfo) throws SQLException {
+        // 清空旧的索引信息
+        tableInfo.getKeyIndexMap().clear();
+
+        String sql = String.format(SQL_SHOW_TABLE_INDEX, tableInfo.getTableName());
+        long start = System.nanoTime();
+        int rows = 0;
+
+        try (PreparedStatement ps = connection.prepareStatement(sql);
+                ResultSet indexResult = ps.executeQuery()) {
+            KeyIndexCollector collector = TableInfoAssembler.keyIndexCollector(tableInfo);
+
+            while (indexResult.next()) {
+                rows++;
+                collector.add(indexResult.getString("key_name"), indexResult.getString("column_name"),
+                        indexResult.getInt("seq_in_index"));
+            }
+
+            collector.fill();
+        } finally {
+            recordQuery(QUERY_INDEX, tableInfo.getTableName(), start, rows);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.easyjava.schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.easyjava.bean.TableInfo;
+
+/**
+ * 表结构读取器
+ * 不同的表结构来源（MySQL show 语句、information_schema、JDBC元数据、快照文件、建表脚本）实现同一接口，
+ * 生成流程只依赖接口，按配置选择实现；每次读取后可以取得耗时和表数量，便于在不同环境下比较选择最快的读取器
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public interface SchemaReader {
+
+    /**
+     * 读取器名称，用于日志和统计
+     */
+    String getName();
+
+    /**
+     * 逐表读取表结构，每个表读取完成后交给消费者
+     *
+     * @param filter   表名过滤
+     * @param consumer 表信息消费者
+     */
+    void read(TableFilter filter, Consumer<TableInfo> consumer) throws Exception;
+
+    /**
+     * 读取所有满足过滤条件的表
+     */
+    default List<TableInfo> readAll(TableFilter filter) throws Exception {
+        List<TableInfo> tables = new ArrayList<>();
+        read(filter, tables::add);
+        return tables;
+    }
+
+    /**
+     * 最近一次读取的耗时（毫秒），包含消费者的处理时间
+     */
+    long getLastElapsedMillis();
+
+    /**
+     * 最近一次读取的表数量
+     */
+    int getLastTableCount();
+
+    /**
+     * 设置查询统计，读取过程中每条元数据查询的耗时和行数都会记录到其中
+     * 不执行查询的读取器（快照、建表脚本）忽略此设置
+     */
+    default void setMetrics(IntrospectionMetrics metrics) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.easyjava.schema;
+
+import java.nio.file.Paths;
+import java.sql.Connection;
+
+import com.easyjava.bean.GenerateOptions;
+
+/**
+ * 表结构读取器工厂，按生成选项中的表结构来源和读取模式创建对应的读取器
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class SchemaReaders {
+
+    public static final String SOURCE_DATABASE = "database";
+    public static final String SOURCE_SNAPSHOT = "snapshot";
+    public static final String SOURCE_DDL = "ddl";
+
+    public static final String MODE_SHOW = "show";
+    public static final String MODE_BULK = "bulk";
+    public static final String MODE_PARALLEL = "parallel";
+    public static final String MODE_JDBC = "jdbc";
+
+    /**
+     * 创建表结构读取器
+     *
+     * @param options    生成选项
+     * @param connection 数据库连接，表结构来源不是数据库时可以为null
+     */
+    public static SchemaReader create(GenerateOptions options, Connection connection) {
+        String source = options.getSchemaSource();
+
+        if (SOURCE_SNAPSHOT.equalsIgnoreCase(source)) {
+            return new SnapshotSchemaReader(Paths.get(options.getSnapshotPath()));
+        }
+
+        if (SOURCE_DDL.equalsIgnoreCase(source)) {
+            return new DdlSchemaReader(Paths.get(options.getDdlPath()));
+        }
+
+        return createDatabaseReader(options.getIntrospectMode(), options.getIntrospectPoolSize(), connection);
+    }
+
+    /**
+     * 按读取模式创建数据库表结构读取器
+     *
+     * @param mode       读取模式：show / bulk / parallel / jdbc
+     * @param poolSize   parallel 模式的连接数
+     * @param connection 数据库连接
+     */
+    public static SchemaReader createDatabaseReader(String mode, int poolSize, Connection connection) {
+        if (MODE_BULK.equalsIgnoreCase(mode)) {
+            return new InformationSchemaReader(connection);
+        }
+
+        if (MODE_PARALLEL.equalsIgnoreCase(mode)) {
+            return new MySqlShowSchemaReader(connection, poolSize);
+        }
+
+        if (MODE_JDBC.equalsIgnoreCase(mode)) {
+            return new JdbcMetaDataSchemaReader(connection);
+        }
+
+        return new MySqlShowSchemaReader(connection, 1);
+    }
+}
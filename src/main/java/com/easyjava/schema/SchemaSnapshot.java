@@ -0,0 +1,393 @@
+package com.easyjava.schema;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.FieldInfo;
+import com.easyjava.bean.TableInfo;
+
+/**
+ * 表结构快照
+ * 将 BuilderTable 读取出的完整 TableInfo 列表保存为紧凑的二进制文件，之后可以脱离数据库直接生成代码
+ *
+ * 文件格式（版本 1）：
+ * <pre>
+ * int    魔数 "EJSS"
+ * short  版本号
+ * int    表数量
+ * 索引区  每个表: UTF 表名, long 数据偏移, int 数据长度
+ * 数据区  每个表一个独立压缩的数据块
+ * </pre>
+ * 打开快照时只读取索引区，表数据在访问时才解压反序列化，只生成少数表时不必加载整个库。
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class SchemaSnapshot implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaSnapshot.class);
+
+    private static final int MAGIC = 0x454A5353;
+
+    public static final short VERSION = 1;
+
+    private static final byte NULL_VALUE = 0;
+    private static final byte FALSE_VALUE = 1;
+    private static final byte TRUE_VALUE = 2;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final long dataStart;
+    private final Map<String, IndexEntry> index;
+
+    private static class IndexEntry {
+        final long offset;
+        final int length;
+
+        IndexEntry(long offset, int length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private SchemaSnapshot(Path path, FileChannel channel, long dataStart, Map<String, IndexEntry> index) {
+        this.path = path;
+        this.channel = channel;
+        this.dataStart = dataStart;
+        this.index = index;
+    }
+
+    /**
+     * 保存表结构快照
+     *
+     * @param tables 表信息列表
+     * @param path   快照文件路径
+     */
+    public static void save(List<TableInfo> tables, Path path) throws IOException {
+        List<byte[]> blocks = new ArrayList<>(tables.size());
+        for (TableInfo table : tables) {
+            blocks.add(encodeTable(table));
+        }
+
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+
+        Path tempPath = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (OutputStream out = Files.newOutputStream(tempPath);
+                DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(out))) {
+            dos.writeInt(MAGIC);
+            dos.writeShort(VERSION);
+            dos.writeInt(tables.size());
+
+            long offset = 0;
+            for (int i = 0; i < tables.size(); i++) {
+                dos.writeUTF(tables.get(i).getTableName());
+                dos.writeLong(offset);
+                dos.writeInt(blocks.get(i).length);
+                offset += blocks.get(i).length;
+            }
+
+            for (byte[] block : blocks) {
+                dos.write(block);
+            }
+        }
+
+        Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING);
+        log.info("保存表结构快照: {}，共 {} 个表", path, tables.size());
+    }
+
+    /**
+     * 打开快照，只读取索引区
+     *
+     * @param path 快照文件路径
+     */
+    public static SchemaSnapshot open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+
+        try {
+            CountingInputStream counter = new CountingInputStream(
+                    new BufferedInputStream(Channels.newInputStream(channel)));
+            DataInputStream dis = new DataInputStream(counter);
+
+            if (dis.readInt() != MAGIC) {
+                throw new IOException("不是有效的表结构快照文件: " + path);
+            }
+
+            short version = dis.readShort();
+            if (version != VERSION) {
+                throw new IOException("不支持的快照版本: " + version + "，当前支持版本: " + VERSION);
+            }
+
+            int count = dis.readInt();
+            Map<String, IndexEntry> index = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) {
+                String tableName = dis.readUTF();
+                long offset = dis.readLong();
+                int length = dis.readInt();
+                index.put(tableName, new IndexEntry(offset, length));
+            }
+
+            return new SchemaSnapshot(path, channel, counter.getCount(), index);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 读取整个快照
+     */
+    public static List<TableInfo> load(Path path) throws IOException {
+        try (SchemaSnapshot snapshot = open(path)) {
+            return snapshot.readTables(tableName -> true);
+        }
+    }
+
+    /**
+     * 获取快照中的所有表名（按保存时的顺序）
+     */
+    public List<String> getTableNames() {
+        return new ArrayList<>(index.keySet());
+    }
+
+    /**
+     * 读取单个表
+     *
+     * @param tableName 表名
+     * @return 表信息，不存在时返回null
+     */
+    public TableInfo readTable(String tableName) throws IOException {
+        IndexEntry entry = index.get(tableName);
+        if (entry == null) {
+            return null;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        long position = dataStart + entry.offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("快照文件已损坏: " + path);
+            }
+        }
+
+        return decodeTable(buffer.array());
+    }
+
+    /**
+     * 只读取名称满足条件的表，其余表的数据块不会被解压
+     */
+    public List<TableInfo> readTables(Predicate<String> tableFilter) throws IOException {
+        List<TableInfo> tables = new ArrayList<>();
+        for (String tableName : index.keySet()) {
+            if (tableFilter.test(tableName)) {
+                tables.add(readTable(tableName));
+            }
+        }
+        return tables;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] encodeTable(TableInfo table) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+
+        try (DataOutputStream dos = new DataOutputStream(new DeflaterOutputStream(bos, deflater))) {
+            writeString(dos, table.getTableName());
+            writeString(dos, table.getBeanName());
+            writeString(dos, table.getBeanParamName());
+            writeString(dos, table.getComment());
+            writeBoolean(dos, table.getHaveDate());
+            writeBoolean(dos, table.getHaveDateTime());
+            writeBoolean(dos, table.getHaveBigDecimal());
+
+            List<FieldInfo> fieldList = table.getFieldList();
+            writeFieldList(dos, fieldList);
+            writeFieldList(dos, table.getFieldListExtend());
+
+            // 索引字段与 fieldList 是同一批对象，只记录下标以保持对象一致并减小体积
+            Map<String, List<FieldInfo>> keyIndexMap = table.getKeyIndexMap();
+            dos.writeInt(keyIndexMap == null ? -1 : keyIndexMap.size());
+            if (keyIndexMap != null) {
+                for (Map.Entry<String, List<FieldInfo>> entry : keyIndexMap.entrySet()) {
+                    dos.writeUTF(entry.getKey());
+                    dos.writeInt(entry.getValue().size());
+                    for (FieldInfo field : entry.getValue()) {
+                        int fieldIndex = fieldList == null ? -1 : fieldList.indexOf(field);
+                        dos.writeInt(fieldIndex);
+                        if (fieldIndex < 0) {
+                            writeField(dos, field);
+                        }
+                    }
+                }
+            }
+        } finally {
+            deflater.end();
+        }
+
+        return bos.toByteArray();
+    }
+
+    private static TableInfo decodeTable(byte[] block) throws IOException {
+        try (DataInputStream dis = new DataInputStream(
+                new InflaterInputStream(new ByteArrayInputStream(block)))) {
+            TableInfo table = new TableInfo();
+            table.setTableName(readString(dis));
+            table.setBeanName(readString(dis));
+            table.setBeanParamName(readString(dis));
+            table.setComment(readString(dis));
+            table.setHaveDate(readBoolean(dis));
+            table.setHaveDateTime(readBoolean(dis));
+            table.setHaveBigDecimal(readBoolean(dis));
+
+            List<FieldInfo> fieldList = readFieldList(dis);
+            table.setFieldList(fieldList);
+            table.setFieldListExtend(readFieldList(dis));
+
+            int keyCount = dis.readInt();
+            if (keyCount < 0) {
+                table.setKeyIndexMap(null);
+            }
+            for (int i = 0; i < keyCount; i++) {
+                String keyName = dis.readUTF();
+                int size = dis.readInt();
+                List<FieldInfo> keyFields = new ArrayList<>(size);
+                for (int j = 0; j < size; j++) {
+                    int fieldIndex = dis.readInt();
+                    keyFields.add(fieldIndex < 0 ? readField(dis) : fieldList.get(fieldIndex));
+                }
+                table.getKeyIndexMap().put(keyName, keyFields);
+            }
+
+            return table;
+        }
+    }
+
+    private static void writeFieldList(DataOutputStream dos, List<FieldInfo> fields) throws IOException {
+        dos.writeInt(fields == null ? -1 : fields.size());
+        if (fields != null) {
+            for (FieldInfo field : fields) {
+                writeField(dos, field);
+            }
+        }
+    }
+
+    private static List<FieldInfo> readFieldList(DataInputStream dis) throws IOException {
+        int size = dis.readInt();
+        if (size < 0) {
+            return null;
+        }
+
+        List<FieldInfo> fields = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            fields.add(readField(dis));
+        }
+        return fields;
+    }
+
+    private static void writeField(DataOutputStream dos, FieldInfo field) throws IOException {
+        writeString(dos, field.getFieldName());
+        writeString(dos, field.getPropertyName());
+        writeString(dos, field.getSqlType());
+        writeString(dos, field.getJavaType());
+        writeString(dos, field.getComment());
+        writeBoolean(dos, field.getIsAutoIncrement());
+    }
+
+    private static FieldInfo readField(DataInputStream dis) throws IOException {
+        FieldInfo field = new FieldInfo();
+        field.setFieldName(readString(dis));
+        field.setPropertyName(readString(dis));
+        field.setSqlType(readString(dis));
+        field.setJavaType(readString(dis));
+        field.setComment(readString(dis));
+        field.setIsAutoIncrement(readBoolean(dis));
+        return field;
+    }
+
+    private static void writeString(DataOutputStream dos, String value) throws IOException {
+        dos.writeBoolean(value != null);
+        if (value != null) {
+            dos.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInputStream dis) throws IOException {
+        return dis.readBoolean() ? dis.readUTF() : null;
+    }
+
+    private static void writeBoolean(DataOutputStream dos, Boolean value) throws IOException {
+        dos.writeByte(value == null ? NULL_VALUE : (value ? TRUE_VALUE : FALSE_VALUE));
+    }
+
+    private static Boolean readBoolean(DataInputStream dis) throws IOException {
+        byte value = dis.readByte();
+        return value == NULL_VALUE ? null : value == TRUE_VALUE;
+    }
+
+    /**
+     * 记录已读取字节数，用于定位数据区起始位置
+     */
+    private static class CountingInputStream extends FilterInputStream {
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+
+        long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.easyjava.schema;
+
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+import com.easyjava.bean.TableInfo;
+
+/**
+ * 表结构快照读取器
+ * 只读取快照索引区，逐表解压满足过滤条件的表
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class SnapshotSchemaReader extends AbstractSchemaReader {
+
+    private final Path path;
+
+    public SnapshotSchemaReader(Path path) {
+        this.path = path;
+    }
+
+    @Override
+    public String getName() {
+        return "snapshot";
+    }
+
+    @Override
+    protected void doRead(TableFilter filter, Consumer<TableInfo> consumer) throws Exception {
+        try (SchemaSnapshot snapshot = SchemaSnapshot.open(path)) {
+            for (String tableName : snapshot.getTableNames()) {
+                if (filter.matches(tableName)) {
+                    consumer.accept(snapshot.readTable(tableName));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.easyjava.schema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import com.easyjava.bean.TableInfo;
+import com.easyjava.schema.TableInfoAssembler.KeyIndexCollector;
+import com.easyjava.utils.SqlTypeMapper;
+
+/**
+ * 合成表结构，用于在没有数据库的情况下评估大规模表结构的生成耗时和内存
+ * 每个表第一列为自增主键，其余列的类型从给定的类型中随机选取，除主键外再建若干个一到两列的唯一索引；
+ * 与从数据库读取时一样通过 {@link TableInfoAssembler} 组装，相同的参数和随机种子总是得到相同的表结构
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public final class SyntheticSchema {
+
+    private static final String PRIMARY_KEY_NAME = "PRIMARY";
+
+    private static final String TABLE_PREFIX = "synthetic_table_";
+
+    private static final String COLUMN_PREFIX = "column_name_";
+
+    private SyntheticSchema() {
+    }
+
+    /**
+     * SqlTypeMapper 支持的所有类型，按名称排序
+     */
+    public static String[] getDefaultTypes() {
+        String[] types = SqlTypeMapper.getSupportedSqlTypes();
+        Arrays.sort(types);
+        return types;
+    }
+
+    /**
+     * 创建多个合成表
+     *
+     * @param tables  表数量
+     * @param columns 每个表的列数，包括主键
+     * @param indexes 每个表主键以外的唯一索引数
+     * @param types   可选的字段类型，为空时使用 SqlTypeMapper 支持的所有类型
+     * @param seed    随机种子
+     */
+    public static List<TableInfo> create(int tables, int columns, int indexes, String[] types, long seed) {
+        if (tables < 0 || columns < 1 || indexes < 0) {
+            throw new IllegalArgumentException("表数量和索引数不能为负数，列数至少为1");
+        }
+        String[] typeMix = types == null || types.length == 0 ? getDefaultTypes() : types;
+
+        Random random = new Random(seed);
+        int width = String.valueOf(tables).length();
+        List<TableInfo> result = new ArrayList<>(tables);
+        for (int i = 1; i <= tables; i++) {
+            String tableName = TABLE_PREFIX + String.format("%0" + width + "d", i);
+            result.add(createTable(tableName, columns, indexes, typeMix, random));
+        }
+        return result;
+    }
+
+    /**
+     * 创建一个合成表
+     */
+    public static TableInfo createTable(String tableName, int columns, int indexes, String[] types, Random random) {
+        TableInfo tableInfo = TableInfoAssembler.createTableInfo(tableName, "合成表 " + tableName);
+
+        TableInfoAssembler.addField(tableInfo, "id", "bigint", "auto_increment", "主键");
+        for (int i = 1; i < columns; i++) {
+            TableInfoAssembler.addField(tableInfo, COLUMN_PREFIX + i, types[random.nextInt(types.length)], "",
+                    "字段" + i);
+        }
+
+        // 时间类型字段不会加入索引，与读取数据库时一致
+        KeyIndexCollector collector = TableInfoAssembler.keyIndexCollector(tableInfo);
+        collector.add(PRIMARY_KEY_NAME, "id", 1);
+        for (int i = 0; i < indexes && columns > 1; i++) {
+            String indexName = "uk_" + tableName + "_" + i;
+            int first = 1 + random.nextInt(columns - 1);
+            collector.add(indexName, COLUMN_PREFIX + first, 1);
+            if (random.nextBoolean() && columns > 2) {
+                collector.add(indexName, COLUMN_PREFIX + (first % (columns - 1) + 1), 2);
+            }
+        }
+        collector.fill();
+
+        return tableInfo;
+    }
+}
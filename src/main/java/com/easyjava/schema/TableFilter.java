@@ -0,0 +1,294 @@
+package com.easyjava.schema;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * 表名过滤器
+ * 包含、排除规则均为逗号分隔的列表，每一项可以是：
+ * <ul>
+ * <li>精确表名，如 user_info</li>
+ * <li>通配符，* 匹配任意字符，? 匹配单个字符，如 sys_*</li>
+ * <li>正则表达式，以 regex: 开头，如 regex:t_order_\d+</li>
+ * </ul>
+ * 包含规则为空时表示包含所有表；排除规则优先于包含规则。匹配不区分大小写。
+ *
+ * 非正则规则可以转换成 SQL 条件下推到表结构查询中，使无关表的字段和索引根本不会被读取；
+ * 下推只是预过滤，读取结果仍会再经过 {@link #matches(String)} 精确过滤。
+ * 服务器上表名的比较规则取决于排序规则和 lower_case_table_names（Linux 上 information_schema 区分大小写），
+ * 因此下推的条件比较小写后的表名和小写的参数，与内存中的匹配保持一致；{@link #ofNames(Collection)} 中的表名
+ * 来自数据库，按原样比较，可以使用 information_schema 的表名查找。
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class TableFilter implements Predicate<String> {
+
+    private static final String REGEX_PREFIX = "regex:";
+
+    private static final TableFilter ACCEPT_ALL = new TableFilter(new ArrayList<>(), new ArrayList<>(), true);
+
+    private final List<Rule> includes;
+    private final List<Rule> excludes;
+
+    /** 下推的条件是否忽略大小写 */
+    private final boolean ignoreCase;
+
+    private TableFilter(List<Rule> includes, List<Rule> excludes, boolean ignoreCase) {
+        this.includes = includes;
+        this.excludes = excludes;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * 根据包含、排除规则创建过滤器
+     *
+     * @param include 包含规则，为空表示全部
+     * @param exclude 排除规则，可为空
+     */
+    public static TableFilter of(String include, String exclude) {
+        List<Rule> includes = parseRules(include);
+        List<Rule> excludes = parseRules(exclude);
+        if (includes.isEmpty() && excludes.isEmpty()) {
+            return ACCEPT_ALL;
+        }
+        return new TableFilter(includes, excludes, true);
+    }
+
+    /**
+     * 只包含指定表名的过滤器，表名按精确名称匹配，不解析通配符
+     *
+     * @param tableNames 表名集合
+     */
+    public static TableFilter ofNames(Collection<String> tableNames) {
+        List<Rule> includes = new ArrayList<>(tableNames.size());
+        for (String tableName : tableNames) {
+            includes.add(new Rule(tableName, null, false, null));
+        }
+        return new TableFilter(includes, new ArrayList<>(), false);
+    }
+
+    /**
+     * 不过滤任何表
+     */
+    public static TableFilter acceptAll() {
+        return ACCEPT_ALL;
+    }
+
+    /**
+     * 是否不过滤任何表
+     */
+    public boolean isAcceptAll() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    /**
+     * 判断表名是否满足过滤条件
+     */
+    public boolean matches(String tableName) {
+        if (tableName == null) {
+            return false;
+        }
+
+        for (Rule rule : excludes) {
+            if (rule.matches(tableName)) {
+                return false;
+            }
+        }
+
+        if (includes.isEmpty()) {
+            return true;
+        }
+
+        for (Rule rule : includes) {
+            if (rule.matches(tableName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean test(String tableName) {
+        return matches(tableName);
+    }
+
+    /**
+     * 生成可下推到SQL中的过滤条件
+     * 包含规则中有正则时无法下推包含条件；排除规则中的正则单独跳过，其余仍然下推
+     *
+     * @param column 表名列，如 TABLE_NAME、Name
+     * @param params 输出参数，按占位符顺序追加
+     * @return 不带 where/and 前缀的条件，没有可下推的条件时返回null
+     */
+    public String toSqlCondition(String column, List<String> params) {
+        List<String> conditions = new ArrayList<>();
+        if (ignoreCase) {
+            column = "lower(" + column + ")";
+        }
+
+        boolean includePushable = !includes.isEmpty() && includes.stream().noneMatch(rule -> rule.regex);
+        if (includePushable) {
+            conditions.add(buildCondition(column, includes, false, ignoreCase, params));
+        }
+
+        List<Rule> pushableExcludes = new ArrayList<>();
+        for (Rule rule : excludes) {
+            if (!rule.regex) {
+                pushableExcludes.add(rule);
+            }
+        }
+        if (!pushableExcludes.isEmpty()) {
+            conditions.add(buildCondition(column, pushableExcludes, true, ignoreCase, params));
+        }
+
+        return conditions.isEmpty() ? null : String.join(" and ", conditions);
+    }
+
+    /**
+     * 精确表名合并为 IN，通配符转换为 LIKE
+     *
+     * @param ignoreCase 参数是否转换为小写，此时 column 应为小写后的表名
+     */
+    private static String buildCondition(String column, List<Rule> rules, boolean negate, boolean ignoreCase,
+            List<String> params) {
+        List<String> exactNames = new ArrayList<>();
+        List<String> likePatterns = new ArrayList<>();
+        for (Rule rule : rules) {
+            String value = rule.likePattern == null ? rule.text : rule.likePattern;
+            if (ignoreCase) {
+                value = value.toLowerCase(Locale.ROOT);
+            }
+            if (rule.likePattern == null) {
+                exactNames.add(value);
+            } else {
+                likePatterns.add(value);
+            }
+        }
+
+        List<String> parts = new ArrayList<>();
+        if (!exactNames.isEmpty()) {
+            StringBuilder in = new StringBuilder(column).append(negate ? " not in (" : " in (");
+            for (int i = 0; i < exactNames.size(); i++) {
+                in.append(i == 0 ? "?" : ", ?");
+                params.add(exactNames.get(i));
+            }
+            parts.add(in.append(")").toString());
+        }
+        for (String likePattern : likePatterns) {
+            parts.add(column + (negate ? " not like ?" : " like ?"));
+            params.add(likePattern);
+        }
+
+        return "(" + String.join(negate ? " and " : " or ", parts) + ")";
+    }
+
+    private static List<Rule> parseRules(String value) {
+        List<Rule> rules = new ArrayList<>();
+        if (value == null || value.trim().isEmpty()) {
+            return rules;
+        }
+
+        for (String item : value.split(",")) {
+            String text = item.trim();
+            if (!text.isEmpty()) {
+                rules.add(new Rule(text));
+            }
+        }
+        return rules;
+    }
+
+    @Override
+    public String toString() {
+        return "include=" + includes + ", exclude=" + excludes;
+    }
+
+    /**
+     * 单条过滤规则
+     */
+    private static class Rule {
+        final String text;
+        /** 正则或通配符编译后的表达式，精确表名为null */
+        final Pattern pattern;
+        /** 正则规则无法下推到SQL */
+        final boolean regex;
+        /** 通配符规则对应的 LIKE 模式，其余为null */
+        final String likePattern;
+
+        Rule(String text) {
+            this.text = text;
+            if (text.startsWith(REGEX_PREFIX)) {
+                this.pattern = Pattern.compile(text.substring(REGEX_PREFIX.length()), Pattern.CASE_INSENSITIVE);
+                this.regex = true;
+                this.likePattern = null;
+            } else if (text.indexOf('*') >= 0 || text.indexOf('?') >= 0) {
+                this.pattern = Pattern.compile(globToRegex(text), Pattern.CASE_INSENSITIVE);
+                this.regex = false;
+                this.likePattern = globToLike(text);
+            } else {
+                this.pattern = null;
+                this.regex = false;
+                this.likePattern = null;
+            }
+        }
+
+        Rule(String text, Pattern pattern, boolean regex, String likePattern) {
+            this.text = text;
+            this.pattern = pattern;
+            this.regex = regex;
+            this.likePattern = likePattern;
+        }
+
+        boolean matches(String tableName) {
+            return pattern != null ? pattern.matcher(tableName).matches() : text.equalsIgnoreCase(tableName);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+
+        private static String globToLike(String glob) {
+            StringBuilder sb = new StringBuilder(glob.length() + 8);
+            for (char c : glob.toCharArray()) {
+                switch (c) {
+                    case '*':
+                        sb.append('%');
+                        break;
+                    case '?':
+                        sb.append('_');
+                        break;
+                    case '%':
+                    case '_':
+                    case '\\':
+                        sb.append('\\').append(c);
+                        break;
+                    default:
+                        sb.append(c);
+                }
+            }
+            return sb.toString();
+        }
+
+        private static String globToRegex(String glob) {
+            StringBuilder sb = new StringBuilder(glob.length() + 8);
+            for (char c : glob.toCharArray()) {
+                switch (c) {
+                    case '*':
+                        sb.append(".*");
+                        break;
+                    case '?':
+                        sb.append('.');
+                        break;
+                    default:
+                        sb.append(Pattern.quote(String.valueOf(c)));
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
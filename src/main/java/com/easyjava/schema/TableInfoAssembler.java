@@ -0,0 +1,241 @@
+package com.easyjava.schema;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.lang3.ArrayUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.easyjava.bean.Constants;
+import com.easyjava.bean.FieldInfo;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.utils.SqlTypeMapper;
+import com.easyjava.utils.StringUtils;
+
+/**
+ * 表结构模型组装器
+ * 把表、字段、索引的原始行数据组装成 TableInfo / FieldInfo / keyIndexMap，
+ * 不依赖数据库连接，供各种表结构来源（show语句、information_schema、DDL脚本等）共用，保证生成的模型一致
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class TableInfoAssembler {
+
+    private static final Logger log = LoggerFactory.getLogger(TableInfoAssembler.class);
+
+    /**
+     * 创建表信息，字段列表和扩展字段列表初始化为空
+     *
+     * @param tableName 表名
+     * @param comment   表注释
+     */
+    public static TableInfo createTableInfo(String tableName, String comment) {
+        TableInfo tableInfo = new TableInfo();
+
+        String beanName = tableName;
+
+        if (Constants.IGNORE_TABLE_PREFIX) {
+            beanName = tableName.substring(beanName.indexOf("_") + 1);
+        }
+
+        beanName = processField(tableName, true);
+
+        tableInfo.setTableName(tableName);
+        tableInfo.setComment(comment);
+        tableInfo.setBeanName(beanName);
+        tableInfo.setBeanParamName(beanName + processField(Constants.SUFFIX_BEAN_PARAM, true));
+
+        // 初始化haveDate和haveDateTime属性
+        tableInfo.setHaveDate(false);
+        tableInfo.setHaveDateTime(false);
+
+        tableInfo.setFieldList(new ArrayList<>());
+        // 添加扩展字段，这是做扩展表的时候临时添加的字段
+        tableInfo.setFieldListExtend(new ArrayList<>());
+
+        return tableInfo;
+    }
+
+    /**
+     * 根据一行字段信息组装 FieldInfo 及其扩展查询字段，追加到表的字段列表中
+     *
+     * @param tableInfo 表信息
+     * @param field     字段名
+     * @param type      字段类型，如 varchar(64)、int unsigned
+     * @param extra     额外属性，如 auto_increment
+     * @param comment   字段注释
+     */
+    public static FieldInfo addField(TableInfo tableInfo, String field, String type, String extra, String comment) {
+        String propertyName = processField(field, false);
+
+        FieldInfo fieldInfo = new FieldInfo();
+
+        if (type.indexOf("(") > 0) {
+            type = type.substring(0, type.indexOf("("));
+        }
+
+        boolean autoIncrement = "auto_increment".equalsIgnoreCase(extra);
+
+        fieldInfo.setFieldName(field);
+        fieldInfo.setPropertyName(propertyName);
+        fieldInfo.setSqlType(type);
+        fieldInfo.setComment(comment);
+        fieldInfo.setIsAutoIncrement(autoIncrement);
+        fieldInfo.setJavaType(processJavaType(type));
+
+        // 使用新的类型检查方法
+        if (SqlTypeMapper.isDateTimeType(type)) {
+            if (ArrayUtils.contains(Constants.SQL_DATE_TIME_TYPES, type)) {
+                tableInfo.setHaveDateTime(true);
+            }
+            if (ArrayUtils.contains(Constants.SQL_DATE_TYPE, type)) {
+                tableInfo.setHaveDate(true);
+            }
+        }
+
+        if (SqlTypeMapper.isNumericType(type) &&
+            ArrayUtils.contains(Constants.SQL_DECIMAL_TYPE, type)) {
+            tableInfo.setHaveBigDecimal(true);
+        }
+
+        List<FieldInfo> fieldExtendList = tableInfo.getFieldListExtend();
+
+        // 后面添加的扩展表字段判断
+        if (SqlTypeMapper.isStringType(type)) {
+            fieldExtendList.add(new FieldInfo(field, propertyName + Constants.SUFFIX_BEAN_PARAM_FUZZY,
+                    type, processJavaType(type), comment, autoIncrement));
+        }
+
+        else if (SqlTypeMapper.isDateTimeType(type)) {
+
+            fieldExtendList.add(new FieldInfo(field, propertyName + Constants.SUFFIX_BEAN_PARAM_TIME_START,
+                    type, "String", comment, autoIncrement));
+
+            fieldExtendList.add(new FieldInfo(field, propertyName + Constants.SUFFIX_BEAN_PARAM_TIME_END,
+                    type, "String", comment, autoIncrement));
+        }
+
+        tableInfo.getFieldList().add(fieldInfo);
+
+        return fieldInfo;
+    }
+
+    /**
+     * 创建索引收集器，字段需要先全部添加到表中
+     */
+    public static KeyIndexCollector keyIndexCollector(TableInfo tableInfo) {
+        return new KeyIndexCollector(tableInfo);
+    }
+
+    /**
+     * 索引收集器
+     * 逐行接收 (索引名, 字段名, 字段在索引中的顺序)，最后按顺序填充到 keyIndexMap
+     */
+    public static class KeyIndexCollector {
+
+        private final TableInfo tableInfo;
+        private final Map<String, FieldInfo> fieldMap = new HashMap<>();
+
+        // 临时存储索引字段及其顺序
+        private final Map<String, List<FieldInfoWithOrder>> indexFieldOrderMap = new HashMap<>();
+
+        private KeyIndexCollector(TableInfo tableInfo) {
+            this.tableInfo = tableInfo;
+            for (FieldInfo fieldInfo : tableInfo.getFieldList()) {
+                fieldMap.put(fieldInfo.getFieldName(), fieldInfo);
+            }
+        }
+
+        public void add(String keyName, String columnName, int seqInIndex) {
+            FieldInfo field = fieldMap.get(columnName);
+            if (field == null) {
+                return;
+            }
+
+            // 跳过时间类型字段
+            String type = field.getSqlType();
+            if (SqlTypeMapper.isDateTimeType(type)) {
+                return;
+            }
+
+            List<FieldInfoWithOrder> fieldList = indexFieldOrderMap.computeIfAbsent(keyName, k -> new ArrayList<>());
+            fieldList.add(new FieldInfoWithOrder(field, seqInIndex));
+        }
+
+        /**
+         * 按顺序填充到 keyIndexMap
+         */
+        public void fill() {
+            for (Map.Entry<String, List<FieldInfoWithOrder>> entry : indexFieldOrderMap.entrySet()) {
+                List<FieldInfoWithOrder> list = entry.getValue();
+                list.sort((a, b) -> Integer.compare(a.seq, b.seq));
+                List<FieldInfo> sortedFields = new ArrayList<>();
+                for (FieldInfoWithOrder f : list) {
+                    sortedFields.add(f.fieldInfo);
+                }
+                tableInfo.getKeyIndexMap().put(entry.getKey(), sortedFields);
+            }
+        }
+    }
+
+    private static class FieldInfoWithOrder {
+        FieldInfo fieldInfo;
+        int seq;
+        FieldInfoWithOrder(FieldInfo fieldInfo, int seq) {
+            this.fieldInfo = fieldInfo;
+            this.seq = seq;
+        }
+    }
+
+    /**
+     * 下划线命名转驼峰命名
+     */
+    public static String processField(String field, Boolean upCaseFirstLetter) {
+        StringBuffer sb = new StringBuffer();
+        String[] fields = field.split("_");
+        sb.append(upCaseFirstLetter ? StringUtils.uperCaseFirstLetter(fields[0]) : fields[0]);
+
+        for (int i = 1, len = fields.length; i < len; i++) {
+            sb.append(StringUtils.uperCaseFirstLetter(fields[i]));
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * 将SQL类型转换为Java类型
+     * 使用增强的类型映射器，支持更多数据库类型
+     *
+     * @param type SQL数据类型
+     * @return Java类型名称
+     */
+    public static String processJavaType(String type) {
+        try {
+            // 使用新的类型映射器
+            return SqlTypeMapper.getJavaType(type);
+        } catch (Exception e) {
+            log.error("类型转换失败，SQL类型: {}, 错误: {}", type, e.getMessage());
+
+            // 回退到原有的类型映射逻辑
+            if (ArrayUtils.contains(Constants.SQL_INTEGER_TYPE, type)) {
+                return "Integer";
+            } else if (ArrayUtils.contains(Constants.SQL_DATE_TYPE, type)
+                    || ArrayUtils.contains(Constants.SQL_DATE_TIME_TYPES, type)) {
+                return "Date";
+            } else if (ArrayUtils.contains(Constants.SQL_DECIMAL_TYPE, type)) {
+                return "BigDecimal";
+            } else if (ArrayUtils.contains(Constants.SQL_LONG_TYPE, type)) {
+                return "Long";
+            } else if (ArrayUtils.contains(Constants.SQL_STRING_TYPE, type)) {
+                return "String";
+            } else {
+                log.warn("未识别的SQL类型: {}，使用String作为默认类型", type);
+                return "String";
+            }
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.easyjava.sharding;
 
 import com.easyjava.bean.ShardingConfig;
+import com.easyjava.utils.ConnectionProvider;
 import com.easyjava.utils.PropertiesUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.*;
@@ -323,7 +323,7 @@ public class ShardingExecutor {
     /**
      * 初始化数据库连接
      */
-    private void initializeDatabaseConnection() throws SQLException, ClassNotFoundException {
+    private void initializeDatabaseConnection() throws SQLException {
         if (dbConnection != null && !dbConnection.isClosed()) {
             return;
         }
@@ -331,14 +331,12 @@ public class ShardingExecutor {
         String driverClass = PropertiesUtils.getString("spring.datasource.driver-class-name");
         String url = PropertiesUtils.getString("spring.datasource.url");
         String username = PropertiesUtils.getString("spring.datasource.username");
-        String password = PropertiesUtils.getString("spring.datasource.password");
         
         if (driverClass == null || url == null || username == null) {
             throw new IllegalStateException("数据库连接配置不完整，请检查配置文件");
         }
         
-        Class.forName(driverClass);
-        dbConnection = DriverManager.getConnection(url, username, password);
+        dbConnection = ConnectionProvider.getConnection();
         logger.info("数据库连接建立成功: {}", url.replaceAll("\\?.*", "")); // 隐藏URL参数
     }
     
@@ -348,8 +346,9 @@ public class ShardingExecutor {
     private void closeDatabaseConnection() {
         if (dbConnection != null) {
             try {
+                // 归还到全局连接池
                 dbConnection.close();
-                logger.info("数据库连接已关闭");
+                logger.info("数据库连接已归还");
             } catch (SQLException e) {
                 logger.error("关闭数据库连接失败", e);
             }
@@ -2,7 +2,6 @@ package com.easyjava.utils;
 
 import java.io.File;
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
@@ -75,12 +74,26 @@ public class ConfigValidator {
      * @return 验证结果
      */
     public static ValidationResult validateAllConfig() {
+        return validateAllConfig(true);
+    }
+    
+    /**
+     * 验证所有配置
+     * 
+     * @param checkDatabase 是否验证数据库连接（离线读取表结构时不需要）
+     * @return 验证结果
+     */
+    public static ValidationResult validateAllConfig(boolean checkDatabase) {
         log.info("开始验证配置...");
         
         ValidationResult result = new ValidationResult();
         
         // 验证数据库连接
-        validateDatabaseConnection(result);
+        if (checkDatabase) {
+            validateDatabaseConnection(result);
+        } else {
+            log.info("表结构来源不依赖数据库，跳过数据库连接验证");
+        }
         
         // 验证路径配置
         validatePathConfig(result);
@@ -102,7 +115,6 @@ public class ConfigValidator {
         try {
             String url = PropertiesUtils.geString("spring.datasource.url");
             String username = PropertiesUtils.geString("spring.datasource.username");
-            String password = PropertiesUtils.geString("spring.datasource.password");
             String driverClassName = PropertiesUtils.geString("spring.datasource.driver-class-name");
             
             // 检查配置是否为空
@@ -121,8 +133,8 @@ public class ConfigValidator {
                 return;
             }
             
-            // 尝试连接数据库
-            try (Connection conn = DriverManager.getConnection(url, username, password)) {
+            // 尝试连接数据库，连接归还到全局连接池，后续读取表结构时直接复用
+            try (Connection conn = ConnectionProvider.getConnection()) {
                 if (conn != null && !conn.isClosed()) {
                     log.info("✅ 数据库连接验证成功");
                 } else {
@@ -0,0 +1,172 @@
+package com.easyjava.utils;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 简单的有界JDBC连接池
+ * 连接按需创建，数量不超过最大连接数，超出时借用方阻塞等待归还，等待超时后抛出异常
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionPool.class);
+
+    private final String url;
+    private final String username;
+    private final String password;
+    private final int maxSize;
+    private final long timeoutMillis;
+
+    private final BlockingQueue<Connection> idleConnections;
+    private final List<Connection> allConnections = new ArrayList<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * 使用 spring.datasource.* 配置创建连接池
+     *
+     * @param maxSize 最大连接数
+     */
+    public ConnectionPool(int maxSize) {
+        this(PropertiesUtils.geString("spring.datasource.driver-class-name"),
+                PropertiesUtils.geString("spring.datasource.url"),
+                PropertiesUtils.geString("spring.datasource.username"),
+                PropertiesUtils.geString("spring.datasource.password"),
+                maxSize, PropertiesUtils.getInt("spring.datasource.pool.timeout", 30000));
+    }
+
+    /**
+     * @param maxSize       最大连接数
+     * @param timeoutMillis 连接池耗尽时借用连接的最长等待时间（毫秒）
+     */
+    public ConnectionPool(String driverName, String url, String username, String password, int maxSize,
+            long timeoutMillis) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("连接池大小必须大于0: " + maxSize);
+        }
+
+        if (driverName != null && !driverName.isEmpty()) {
+            try {
+                Class.forName(driverName);
+            } catch (ClassNotFoundException e) {
+                log.error("加载数据库驱动失败: {}", driverName, e);
+            }
+        }
+
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.timeoutMillis = timeoutMillis;
+        this.idleConnections = new ArrayBlockingQueue<>(maxSize);
+    }
+
+    /**
+     * 借用连接，优先复用空闲连接，未达上限时新建，否则等待其他线程归还
+     *
+     * @throws SQLException 等待超时，连接池中的连接一直没有归还
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("连接池已关闭");
+        }
+
+        Connection connection = idleConnections.poll();
+        if (connection != null) {
+            return connection;
+        }
+
+        synchronized (allConnections) {
+            if (allConnections.size() < maxSize) {
+                connection = DriverManager.getConnection(url, username, password);
+                allConnections.add(connection);
+                log.debug("创建新的数据库连接，当前连接数: {}/{}", allConnections.size(), maxSize);
+                return connection;
+            }
+        }
+
+        try {
+            connection = idleConnections.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("等待数据库连接时被中断", e);
+        }
+        if (connection == null) {
+            throw new SQLException("等待数据库连接超时(" + timeoutMillis + " ms)，连接池已耗尽，最大连接数: " + maxSize);
+        }
+        return connection;
+    }
+
+    /**
+     * 归还连接
+     */
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        if (closed) {
+            closeQuietly(connection);
+            return;
+        }
+
+        idleConnections.offer(connection);
+    }
+
+    /**
+     * 丢弃失效的连接，释放其占用的名额，之后的借用会新建连接代替它
+     */
+    public void discard(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        synchronized (allConnections) {
+            allConnections.remove(connection);
+        }
+        closeQuietly(connection);
+    }
+
+    /**
+     * 获取最大连接数
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * 关闭所有连接
+     */
+    @Override
+    public void close() {
+        closed = true;
+        idleConnections.clear();
+
+        synchronized (allConnections) {
+            for (Connection connection : allConnections) {
+                closeQuietly(connection);
+            }
+            allConnections.clear();
+        }
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.warn("关闭数据库连接失败: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.easyjava.utils;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * 全局数据库连接提供者
+ * 配置校验、表结构读取、分表等各个阶段都从这里借用连接，共享同一个连接池，
+ * 同一进程内连接只在第一次使用时建立，之后反复复用，不再每个组件各自握手。
+ * 借出的连接调用 close() 时归还到连接池而不是真正关闭；借出前校验连接有效性，失效的连接会被丢弃并重建。
+ * 连接池在进程退出时自动关闭
+ *
+ * @author 唐伟
+ * @since 2025-07-30
+ */
+public class ConnectionProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(ConnectionProvider.class);
+
+    /** 校验连接有效性的超时时间（秒） */
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private static volatile ConnectionPool pool;
+
+    private static boolean shutdownHookRegistered = false;
+
+    private ConnectionProvider() {
+    }
+
+    /**
+     * 借用连接，用完后调用 close() 归还
+     */
+    public static Connection getConnection() throws SQLException {
+        ConnectionPool connectionPool = getPool();
+
+        // 连接池中的连接可能都已失效，最多尝试 maxSize + 1 次，最后一次必然是新建的连接
+        for (int i = 0; i <= connectionPool.getMaxSize(); i++) {
+            Connection connection = connectionPool.borrow();
+            if (isValid(connection)) {
+                return wrap(connectionPool, connection);
+            }
+            log.warn("丢弃失效的数据库连接");
+            connectionPool.discard(connection);
+        }
+
+        throw new SQLException("无法获取有效的数据库连接");
+    }
+
+    /**
+     * 连接池最大连接数
+     */
+    public static int getMaxSize() {
+        return getPool().getMaxSize();
+    }
+
+    /**
+     * 关闭连接池中的所有连接，之后再借用连接时会重新创建连接池
+     */
+    public static synchronized void shutdown() {
+        if (pool != null) {
+            pool.close();
+            pool = null;
+            log.debug("数据库连接池已关闭");
+        }
+    }
+
+    private static ConnectionPool getPool() {
+        ConnectionPool connectionPool = pool;
+        if (connectionPool == null) {
+            synchronized (ConnectionProvider.class) {
+                connectionPool = pool;
+                if (connectionPool == null) {
+                    String url = PropertiesUtils.geString("spring.datasource.url");
+                    if (url == null || url.trim().isEmpty()) {
+                        throw new IllegalStateException("数据库连接配置不完整，请检查配置文件");
+                    }
+
+                    int maxSize = PropertiesUtils.getInt("spring.datasource.pool.size", 8);
+                    connectionPool = new ConnectionPool(
+                            PropertiesUtils.geString("spring.datasource.driver-class-name"), url,
+                            PropertiesUtils.geString("spring.datasource.username"),
+                            PropertiesUtils.geString("spring.datasource.password"), maxSize,
+                            PropertiesUtils.getInt("spring.datasource.pool.timeout", 30000));
+                    pool = connectionPool;
+                    log.debug("创建数据库连接池，最大连接数: {}", maxSize);
+
+                    if (!shutdownHookRegistered) {
+                        Runtime.getRuntime().addShutdownHook(
+                                new Thread(ConnectionProvider::shutdown, "connection-provider-shutdown"));
+                        shutdownHookRegistered = true;
+                    }
+                }
+            }
+        }
+        return connectionPool;
+    }
+
+    private static boolean isValid(Connection connection) {
+        try {
+            return connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 包装连接，close() 改为归还到连接池，重复调用 close() 只归还一次
+     */
+    private static Connection wrap(ConnectionPool connectionPool, Connection connection) {
+        InvocationHandler handler = new InvocationHandler() {
+            private boolean released = false;
+
+            @Override
+            public synchronized Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!released) {
+                            released = true;
+                            connectionPool.release(connection);
+                        }
+                        return null;
+                    case "isClosed":
+                        return released || connection.isClosed();
+                    default:
+                        if (released) {
+                            throw new SQLException("连接已归还到连接池");
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        };
+
+        return (Connection) Proxy.newProxyInstance(ConnectionProvider.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, handler);
+    }
+}
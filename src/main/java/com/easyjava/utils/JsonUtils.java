@@ -1,6 +1,7 @@
 package com.easyjava.utils;
 
 import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.TypeReference;
 import com.alibaba.fastjson.serializer.SerializerFeature;
 
 public class JsonUtils {
@@ -10,4 +11,11 @@ public class JsonUtils {
         }
         return JSON.toJSONString(object, SerializerFeature.DisableCircularReferenceDetect);
     }
+
+    public static <T> T convertJson2Object(String json, TypeReference<T> type) {
+        if (json == null || json.trim().isEmpty()) {
+            return null;
+        }
+        return JSON.parseObject(json, type);
+    }
 }
@@ -166,6 +166,21 @@ public class PropertiesUtils {
         }
     }
     
+    /**
+     * 实际加载的配置文件，配置文件不在文件系统中（如打包在 jar 中）时返回null
+     */
+    public static java.nio.file.Path getConfigFile() {
+        java.net.URL url = PropertiesUtils.class.getClassLoader().getResource(CONFIG_FILE);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            return java.nio.file.Paths.get(url.toURI());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
     /**
      * 重新加载配置文件
      */
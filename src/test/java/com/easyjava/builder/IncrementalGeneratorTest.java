@@ -0,0 +1,141 @@
+package com.easyjava.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.easyjava.bean.GenerateOptions;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.output.GeneratedFiles;
+import com.easyjava.schema.SyntheticSchema;
+
+/**
+ * 增量生成缓存测试：只有生成成功并提交后的表才记入缓存
+ */
+public class IncrementalGeneratorTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private List<TableInfo> tables;
+    private GenerateOptions options;
+    private List<ArtifactGenerator> generators;
+
+    /**
+     * 把表名写到临时目录中的生成器，指定的表渲染失败
+     */
+    private class TestGenerator implements ArtifactGenerator {
+        private final String name;
+        private final String failingTable;
+
+        TestGenerator(String name, String failingTable) {
+            this.name = name;
+            this.failingTable = failingTable;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public File getOutputFile(TableModel model) {
+            return new File(folder.getRoot(), "out/" + model.getTableName() + "." + name);
+        }
+
+        @Override
+        public void render(TableModel model, Appendable out) throws IOException {
+            if (model.getTableName().equals(failingTable)) {
+                throw new IllegalStateException("渲染失败: " + model.getTableName());
+            }
+            out.append(model.getTableName());
+        }
+    }
+
+    @Before
+    public void setUp() {
+        IncrementalGenerator.cacheFile = new File(folder.getRoot(), "cache.json").toPath();
+
+        tables = SyntheticSchema.create(3, 5, 1, null, 1);
+        options = GenerateOptions.getDefault();
+        options.setIncrementalGenerate(true);
+        options.setOverwriteExisting(true);
+        options.setParallelGenerate(false);
+        options.setStagedOutput(false);
+        generators = Arrays.asList(new TestGenerator("a", null),
+                new TestGenerator("b", tables.get(1).getTableName()));
+    }
+
+    @After
+    public void tearDown() {
+        GeneratedFiles.abortStaging();
+        IncrementalGenerator.cacheFile = null;
+    }
+
+    @Test
+    public void failedTableIsNotCached() {
+        List<Runnable> afterCommit = new ArrayList<>();
+
+        assertTrue(IncrementalGenerator.generateChangedTables(tables, generators, options, afterCommit));
+
+        // 提交前不写缓存
+        assertFalse(IncrementalGenerator.cacheFile.toFile().exists());
+        afterCommit.forEach(Runnable::run);
+
+        assertEquals(Collections.singletonList(tables.get(1)), IncrementalGenerator.getChangedTables(tables, options));
+    }
+
+    @Test
+    public void failedTableFingerprintIsNotRecorded() {
+        Map<String, String> fingerprints = new HashMap<>();
+        for (TableInfo table : tables) {
+            fingerprints.put(table.getTableName(), "fp-" + table.getTableName());
+        }
+
+        List<Runnable> afterCommit = new ArrayList<>();
+        IncrementalGenerator.generateChangedTables(tables, generators, options, afterCommit);
+        afterCommit.forEach(Runnable::run);
+        IncrementalGenerator.recordSchemaFingerprints(tables, fingerprints);
+
+        assertEquals(Collections.singleton(tables.get(1).getTableName()),
+                IncrementalGenerator.getTablesToIntrospect(fingerprints));
+    }
+
+    @Test
+    public void abortedStagingCachesNothing() throws IOException {
+        options.setStagedOutput(true);
+        GeneratedFiles.beginStaging(folder.getRoot().toPath().resolve(".staging/1"), false);
+        List<Runnable> afterCommit = new ArrayList<>();
+
+        assertFalse(IncrementalGenerator.generateChangedTables(tables, generators, options, afterCommit));
+
+        assertTrue(afterCommit.isEmpty());
+        assertEquals(tables, IncrementalGenerator.getChangedTables(tables, options));
+    }
+
+    @Test
+    public void allTablesCachedWhenAllTasksSucceed() {
+        List<Runnable> afterCommit = new ArrayList<>();
+
+        assertTrue(IncrementalGenerator.generateChangedTables(tables,
+                Collections.singletonList(new TestGenerator("a", null)), options, afterCommit));
+        afterCommit.forEach(Runnable::run);
+
+        assertTrue(IncrementalGenerator.getChangedTables(tables, options).isEmpty());
+    }
+}
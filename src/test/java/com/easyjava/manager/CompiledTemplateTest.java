@@ -0,0 +1,231 @@
+package com.easyjava.manager;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * 模板编译与渲染测试
+ */
+public class CompiledTemplateTest {
+
+    public static class Field {
+        private final String propertyName;
+        private final String javaType;
+        private final boolean key;
+
+        public Field(String propertyName, String javaType, boolean key) {
+            this.propertyName = propertyName;
+            this.javaType = javaType;
+            this.key = key;
+        }
+
+        public String getPropertyName() {
+            return propertyName;
+        }
+
+        public String getJavaType() {
+            return javaType;
+        }
+
+        public boolean isKey() {
+            return key;
+        }
+    }
+
+    public static class Table {
+        private final String beanName;
+        private final List<Field> fieldList;
+
+        public Table(String beanName, List<Field> fieldList) {
+            this.beanName = beanName;
+            this.fieldList = fieldList;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        public List<Field> getFieldList() {
+            return fieldList;
+        }
+    }
+
+    private static String render(String template, Map<String, Object> variables) {
+        return CompiledTemplate.compile(template).render(variables, null);
+    }
+
+    private static Map<String, Object> tableVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("table", new Table("UserInfo", Arrays.asList(new Field("userId", "Long", true),
+                new Field("nickName", "String", false))));
+        return variables;
+    }
+
+    @Test
+    public void literalAndVariables() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", "user");
+        variables.put("count", 3);
+
+        assertEquals("plain text", render("plain text", variables));
+        assertEquals("user has 3 rows.", render("${name} has ${count} rows.", variables));
+        assertEquals("", render("", variables));
+    }
+
+    @Test
+    public void nestedPathsAndDottedKeys() {
+        Map<String, Object> variables = tableVariables();
+        variables.put("package.po", "com.demo.po");
+
+        assertEquals("UserInfo", render("${table.beanName}", variables));
+        assertEquals("package com.demo.po;", render("package ${package.po};", variables));
+
+        Map<String, Object> inner = new HashMap<>();
+        inner.put("name", "nested");
+        variables.put("map", Collections.singletonMap("inner", inner));
+        assertEquals("nested", render("${map.inner.name}", variables));
+    }
+
+    @Test
+    public void globalsAreUsedWhenLocalIsMissing() {
+        Map<String, Object> globals = new HashMap<>();
+        globals.put("author", "global");
+        globals.put("name", "global");
+
+        CompiledTemplate template = CompiledTemplate.compile("${author}/${name}");
+        assertEquals("global/local", template.render(Collections.singletonMap("name", "local"), globals));
+    }
+
+    @Test
+    public void unresolvedPlaceholdersAreKeptVerbatim() {
+        Map<String, Object> variables = tableVariables();
+
+        assertEquals("a ${missing} b", render("a ${missing} b", variables));
+        assertEquals("${table.unknown}", render("${table.unknown}", variables));
+        // 没有闭合的 ${ 作为普通文本
+        assertEquals("cost ${ 5", render("cost ${ 5", variables));
+    }
+
+    @Test
+    public void valuesAreNotReparsed() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("value", "${other}");
+        variables.put("other", "x");
+
+        assertEquals("${other}", render("${value}", variables));
+    }
+
+    @Test
+    public void defaultsAndBuiltins() {
+        Map<String, Object> variables = tableVariables();
+        variables.put("empty", null);
+
+        assertEquals("[]", render("[${missing!}]", variables));
+        assertEquals("none", render("${empty!\"none\"}", variables));
+        assertEquals("userInfo", render("${table.beanName?uncap_first}", variables));
+        assertEquals("USERINFO", render("${table.beanName?upper_case}", variables));
+        assertEquals("2", render("${table.fieldList?size}", variables));
+        assertEquals("UserIdNickName",
+                render("<#list table.fieldList as f>${f.propertyName?cap_first}</#list>", variables));
+    }
+
+    @Test
+    public void listWithIndexAndHasNext() {
+        String template = "(<#list table.fieldList as field>${field_index}:${field.javaType} ${field.propertyName}"
+                + "<#if field_has_next>, </#if></#list>)";
+
+        assertEquals("(0:Long userId, 1:String nickName)", render(template, tableVariables()));
+    }
+
+    @Test
+    public void listOverMapEntries() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put("b", 2);
+
+        assertEquals("a=1;b=2;", render("<#list map as e>${e.key}=${e.value};</#list>",
+                Collections.singletonMap("map", map)));
+    }
+
+    @Test
+    public void ifElseIfElse() {
+        String template = "<#list table.fieldList as field><#if field.key>K<#elseif field.javaType == \"String\">S"
+                + "<#else>O</#if></#list>";
+        assertEquals("KS", render(template, tableVariables()));
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("n", 5);
+        variables.put("list", Collections.emptyList());
+        variables.put("flag", false);
+        assertEquals("gt", render("<#if n gt 3 && !flag>gt<#else>le</#if>", variables));
+        assertEquals("empty", render("<#if list>items<#else>empty</#if>", variables));
+        assertEquals("yes", render("<#if (n >= 5) || flag>yes</#if>", variables));
+        assertEquals("missing", render("<#if other??>has<#else>missing</#if>", variables));
+    }
+
+    @Test
+    public void directiveOnlyLinesAreRemoved() {
+        String template = "begin\n"
+                + "<#list items as item>\n"
+                + "    <#if item != \"skip\">\n"
+                + "    - ${item}\n"
+                + "    </#if>\n"
+                + "</#list>\n"
+                + "end";
+
+        assertEquals("begin\n    - a\n    - c\nend",
+                render(template, Collections.singletonMap("items", Arrays.asList("a", "skip", "c"))));
+    }
+
+    @Test
+    public void inlineDirectivesKeepSurroundingText() {
+        assertEquals("x = 1;\n",
+                render("x = <#if n == 1>1</#if>;\n", Collections.singletonMap("n", 1)));
+    }
+
+    @Test
+    public void noparseAndUnknownDirectivesAreLiteral() {
+        Map<String, Object> variables = Collections.singletonMap("name", "v");
+
+        assertEquals("#{orderBy} ${name}", render("<#noparse>#{orderBy} ${name}</#noparse>", variables));
+        assertEquals("<#assign x = 1>v", render("<#assign x = 1>${name}", variables));
+    }
+
+    @Test
+    public void variableNamesAreCollected() {
+        CompiledTemplate template = CompiledTemplate.compile(
+                "${a} <#list table.fieldList as f>${f.propertyName}</#list> ${b.c}");
+
+        assertTrue(template.getVariableNames().contains("a"));
+        assertTrue(template.getVariableNames().contains("b.c"));
+    }
+
+    @Test
+    public void syntaxErrorsReportLineNumbers() {
+        assertSyntaxError("line1\nline2\n<#list items>\n</#list>", "第3行");
+        assertSyntaxError("a\n<#if x>\nno end", "第2行");
+        assertSyntaxError("a\nb\nc\n</#list>", "第4行");
+        assertSyntaxError("<#if x>\n<#list items as i>\n</#if>\n</#list>", "第3行");
+        assertSyntaxError("ok\n${name?no_such_builtin}", "第2行");
+    }
+
+    private static void assertSyntaxError(String template, String expectedLine) {
+        try {
+            CompiledTemplate.compile(template);
+            fail("应抛出语法错误: " + template);
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("模板语法错误"));
+            assertTrue(e.getMessage(), e.getMessage().contains(expectedLine));
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.easyjava.output;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.jar.JarFile;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 归档输出测试：条目名称、STORED 条目的大小和 CRC、重复条目、jar 清单
+ */
+public class ArchiveOutputTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() throws IOException {
+        GeneratedFiles.closeArchive();
+    }
+
+    @Test
+    public void storedArchiveEntriesHaveCorrectCrc() throws IOException {
+        Path base = folder.getRoot().toPath().resolve("project");
+        Path archive = folder.getRoot().toPath().resolve("out/generated.zip");
+        byte[] content = "public class A {}\n".getBytes(StandardCharsets.UTF_8);
+
+        GeneratedFiles.openArchive(archive, base, 0);
+        GeneratedFiles.write(base.resolve("src/A.java").toFile(), content);
+        GeneratedFiles.write(base.resolve("src/B.java").toFile(), "B");
+        // 同名条目只保留第一次写入的内容
+        GeneratedFiles.write(base.resolve("src/A.java").toFile(), "duplicate");
+        GeneratedFiles.closeArchive();
+
+        // 归档输出不在输出目录中创建文件
+        assertFalse(Files.exists(base));
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            assertEquals(2, zip.size());
+            ZipEntry entry = zip.getEntry("src/A.java");
+            assertNotNull(entry);
+            assertEquals(ZipEntry.STORED, entry.getMethod());
+            assertEquals(content.length, entry.getSize());
+
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            assertEquals(crc.getValue(), entry.getCrc());
+
+            // 读取时会按条目中的 CRC 校验内容
+            try (InputStream in = zip.getInputStream(entry)) {
+                assertArrayEquals(content, in.readAllBytes());
+            }
+        }
+    }
+
+    @Test
+    public void compressedJarHasManifest() throws IOException {
+        Path base = folder.getRoot().toPath();
+        Path archive = base.resolve("generated.jar");
+        String content = "package demo;\n\npublic class A {\n}\n".repeat(50);
+
+        GeneratedFiles.openArchive(archive, base, 9);
+        GeneratedFiles.write(base.resolve("demo/A.java").toFile(), content);
+        GeneratedFiles.closeArchive();
+
+        try (JarFile jar = new JarFile(archive.toFile())) {
+            assertNotNull(jar.getManifest());
+            ZipEntry entry = jar.getEntry("demo/A.java");
+            assertEquals(ZipEntry.DEFLATED, entry.getMethod());
+            assertTrue(entry.getCompressedSize() < entry.getSize());
+            try (InputStream in = jar.getInputStream(entry)) {
+                assertEquals(content, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertFalse(Files.exists(base.resolve("demo")));
+    }
+}
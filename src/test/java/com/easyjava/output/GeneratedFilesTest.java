@@ -0,0 +1,147 @@
+package com.easyjava.output;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 生成文件输出测试：只写入变化内容、渲染失败时保留原文件
+ */
+public class GeneratedFilesTest {
+
+    private static final String OLD_DATE = "/**\n * 用户信息\n *\n * @date 2025-07-30 10:00:00\n */\npublic class A {\n}\n";
+    private static final String NEW_DATE = "/**\n * 用户信息\n *\n * @date 2025-08-01 23:59:59\n */\npublic class A {\n}\n";
+
+    /** 已存在文件的修改时间，文件被重写后会变化 */
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1_000_000_000_000L);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OutputStats stats;
+
+    @Before
+    public void setUp() {
+        GeneratedFiles.setWriteIfChanged(true);
+        stats = GeneratedFiles.getStats();
+        stats.reset();
+    }
+
+    @After
+    public void tearDown() {
+        GeneratedFiles.setWriteIfChanged(true);
+    }
+
+    private Path existing(String name, String content) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(path, OLD_TIME);
+        return path;
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void onlyDateChangedIsNotWritten() throws IOException {
+        Path path = existing("A.java", OLD_DATE);
+
+        GeneratedFiles.write(path.toFile(), NEW_DATE);
+
+        assertEquals(OLD_DATE, read(path));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(path));
+        assertEquals(1, stats.getUnchanged());
+        assertEquals(0, stats.getWritten());
+    }
+
+    @Test
+    public void identicalContentIsNotWritten() throws IOException {
+        Path path = existing("A.java", OLD_DATE);
+
+        GeneratedFiles.write(path.toFile(), OLD_DATE.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(path));
+        assertEquals(1, stats.getUnchanged());
+    }
+
+    @Test
+    public void realChangesAreWritten() throws IOException {
+        // 大小相同、内容不同
+        Path sameSize = existing("A.java", OLD_DATE);
+        String changed = OLD_DATE.replace("class A", "class B");
+        GeneratedFiles.write(sameSize.toFile(), changed);
+        assertEquals(changed, read(sameSize));
+
+        // 只有日期以外的一行变化，同时日期也变化
+        Path withDate = existing("B.java", OLD_DATE);
+        String changedWithDate = NEW_DATE.replace("用户信息", "用户资料");
+        GeneratedFiles.write(withDate.toFile(), changedWithDate);
+        assertEquals(changedWithDate, read(withDate));
+
+        // 大小不同
+        Path longer = existing("C.java", OLD_DATE);
+        GeneratedFiles.write(longer.toFile(), OLD_DATE + "// end\n");
+        assertEquals(OLD_DATE + "// end\n", read(longer));
+
+        assertEquals(3, stats.getWritten());
+        assertEquals(0, stats.getUnchanged());
+    }
+
+    @Test
+    public void newFilesAreCreatedWithParentDirectories() throws IOException {
+        File file = new File(folder.getRoot(), "a/b/New.java");
+
+        GeneratedFiles.write(file, "class New {}");
+
+        assertEquals("class New {}", read(file.toPath()));
+        assertEquals(1, stats.getCreated());
+    }
+
+    @Test
+    public void writeIfChangedDisabledAlwaysWrites() throws IOException {
+        GeneratedFiles.setWriteIfChanged(false);
+        Path path = existing("A.java", OLD_DATE);
+
+        GeneratedFiles.write(path.toFile(), NEW_DATE);
+
+        assertEquals(NEW_DATE, read(path));
+        assertEquals(1, stats.getWritten());
+    }
+
+    @Test
+    public void failedRenderKeepsExistingFile() throws IOException {
+        for (boolean writeIfChanged : new boolean[] { true, false }) {
+            GeneratedFiles.setWriteIfChanged(writeIfChanged);
+            Path path = existing("A.java", OLD_DATE);
+
+            try {
+                GeneratedFiles.write(path.toFile(), writer -> {
+                    writer.write("partial content");
+                    throw new IllegalStateException("渲染失败");
+                });
+                fail("应抛出渲染异常");
+            } catch (IllegalStateException e) {
+                assertEquals("渲染失败", e.getMessage());
+            }
+
+            assertEquals(OLD_DATE, read(path));
+            // 直接写入模式的临时文件已删除
+            assertArrayEquals(new String[] { "A.java" }, folder.getRoot().list());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.easyjava.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * 暂存输出测试：全部提交或全部放弃
+ */
+public class StagingAreaTest {
+
+    private static final String OLD_DATE = "/**\n * @date 2025-07-30 10:00:00\n */\npublic class A {\n}\n";
+    private static final String NEW_DATE = "/**\n * @date 2025-08-01 23:59:59\n */\npublic class A {\n}\n";
+
+    /** 已存在文件的修改时间，文件被重写后会变化 */
+    private static final FileTime OLD_TIME = FileTime.fromMillis(1_000_000_000_000L);
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private OutputStats stats;
+    private Path stagingDir;
+
+    @Before
+    public void setUp() {
+        GeneratedFiles.setWriteIfChanged(true);
+        stats = GeneratedFiles.getStats();
+        stats.reset();
+        stagingDir = folder.getRoot().toPath().resolve(".staging/1");
+    }
+
+    @After
+    public void tearDown() {
+        GeneratedFiles.abortStaging();
+    }
+
+    private Path existing(String name, String content) throws IOException {
+        Path path = folder.getRoot().toPath().resolve(name);
+        Files.createDirectories(path.getParent());
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(path, OLD_TIME);
+        return path;
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void stagedFilesAreCommittedTogether() throws IOException {
+        Path existingFile = existing("out/A.java", OLD_DATE);
+        File newFile = new File(folder.getRoot(), "out/sub/B.java");
+
+        GeneratedFiles.beginStaging(stagingDir, false);
+        GeneratedFiles.write(existingFile.toFile(), "changed");
+        GeneratedFiles.write(newFile, "created");
+
+        // 提交前目标目录不变
+        assertEquals(OLD_DATE, read(existingFile));
+        assertFalse(newFile.exists());
+
+        assertEquals(2, GeneratedFiles.commitStaging());
+        assertFalse(GeneratedFiles.isStaging());
+        assertEquals("changed", read(existingFile));
+        assertEquals("created", read(newFile.toPath()));
+        assertFalse(Files.exists(stagingDir));
+        assertEquals(1, stats.getCreated());
+        assertEquals(1, stats.getWritten());
+    }
+
+    @Test
+    public void abortedStagingLeavesOutputUntouched() throws IOException {
+        Path existingFile = existing("out/A.java", OLD_DATE);
+        File newFile = new File(folder.getRoot(), "out/B.java");
+
+        GeneratedFiles.beginStaging(stagingDir, false);
+        GeneratedFiles.write(existingFile.toFile(), "changed");
+        GeneratedFiles.write(newFile, "created");
+        GeneratedFiles.abortStaging();
+
+        assertEquals(OLD_DATE, read(existingFile));
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(existingFile));
+        assertFalse(newFile.exists());
+        assertFalse(Files.exists(stagingDir));
+        assertEquals(0, stats.getWritten() + stats.getCreated());
+    }
+
+    @Test
+    public void unchangedFilesAreNotStaged() throws IOException {
+        Path existingFile = existing("out/A.java", OLD_DATE);
+
+        GeneratedFiles.beginStaging(stagingDir, false);
+        GeneratedFiles.write(existingFile.toFile(), NEW_DATE);
+
+        assertEquals(0, GeneratedFiles.commitStaging());
+        assertEquals(OLD_TIME, Files.getLastModifiedTime(existingFile));
+        assertEquals(1, stats.getUnchanged());
+    }
+
+    @Test
+    public void failedRenderIsNotStaged() throws IOException {
+        Path existingFile = existing("out/A.java", OLD_DATE);
+
+        GeneratedFiles.beginStaging(stagingDir, false);
+        try {
+            GeneratedFiles.write(existingFile.toFile(), writer -> {
+                writer.write("partial content");
+                throw new IllegalStateException("渲染失败");
+            });
+        } catch (IllegalStateException e) {
+            // 预期的渲染异常
+        }
+
+        assertEquals(0, GeneratedFiles.commitStaging());
+        assertEquals(OLD_DATE, read(existingFile));
+    }
+}
@@ -0,0 +1,74 @@
+package com.easyjava.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.easyjava.bean.FieldInfo;
+import com.easyjava.bean.TableInfo;
+
+/**
+ * DDL脚本解析测试
+ */
+public class DdlSchemaReaderTest {
+
+    private static final String DDL = ""
+            + "-- 用户表\n"
+            + "CREATE TABLE IF NOT EXISTS `user_info` (\n"
+            + "  `user_id` bigint(20) unsigned NOT NULL AUTO_INCREMENT COMMENT '用户ID',\n"
+            + "  `nick_name` varchar(64) DEFAULT NULL COMMENT '昵称; 含''分号''',\n"
+            + "  `email` varchar(128) NOT NULL,\n"
+            + "  `balance` decimal(10, 2) DEFAULT '0.00' COMMENT '余额',\n"
+            + "  `create_time` datetime DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',\n"
+            + "  PRIMARY KEY (`user_id`),\n"
+            + "  UNIQUE KEY `idx_email` (`email`(32)),\n"
+            + "  KEY (`nick_name`, `create_time` DESC)\n"
+            + ") ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COMMENT='用户信息';\n"
+            + "/* 临时表 */\n"
+            + "CREATE TABLE tmp_log (id int);\n"
+            + "DROP TABLE IF EXISTS tmp_log;\n"
+            + "CREATE TABLE `order_info` (order_id integer PRIMARY KEY, user_id bigint,\n"
+            + "  CONSTRAINT fk_user FOREIGN KEY (user_id) REFERENCES user_info (user_id));\n";
+
+    @Test
+    public void parseCreateTable() {
+        List<TableInfo> tables = DdlSchemaReader.parse(DDL);
+
+        assertEquals(2, tables.size());
+        assertEquals("order_info", tables.get(0).getTableName());
+
+        TableInfo user = tables.get(1);
+        assertEquals("user_info", user.getTableName());
+        assertEquals("用户信息", user.getComment());
+        assertEquals(5, user.getFieldList().size());
+        assertTrue(user.getHaveDateTime());
+        assertTrue(user.getHaveBigDecimal());
+
+        FieldInfo userId = user.getFieldList().get(0);
+        assertEquals("userId", userId.getPropertyName());
+        assertEquals("bigint", userId.getSqlType());
+        assertTrue(userId.getIsAutoIncrement());
+        assertEquals("昵称; 含'分号'", user.getFieldList().get(1).getComment());
+        assertEquals("", user.getFieldList().get(2).getComment());
+        assertFalse(user.getFieldList().get(2).getIsAutoIncrement());
+
+        assertEquals(3, user.getKeyIndexMap().size());
+        assertEquals("user_id", user.getKeyIndexMap().get("PRIMARY").get(0).getFieldName());
+        assertEquals("email", user.getKeyIndexMap().get("idx_email").get(0).getFieldName());
+        // 时间字段不参与索引方法生成
+        assertEquals(1, user.getKeyIndexMap().get("nick_name").size());
+    }
+
+    @Test
+    public void parseInlineKeysAndForeignKey() {
+        TableInfo order = DdlSchemaReader.parse(DDL).get(0);
+
+        assertEquals("int", order.getFieldList().get(0).getSqlType());
+        assertEquals("order_id", order.getKeyIndexMap().get("PRIMARY").get(0).getFieldName());
+        assertEquals("user_id", order.getKeyIndexMap().get("fk_user").get(0).getFieldName());
+    }
+}
@@ -0,0 +1,119 @@
+package com.easyjava.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import com.easyjava.bean.FieldInfo;
+import com.easyjava.bean.TableInfo;
+
+/**
+ * JDBC元数据表结构读取器测试，使用内嵌 H2 数据库，
+ * 同时与解析同一份建表脚本的 DDL 读取器比较结果
+ */
+public class JdbcMetaDataSchemaReaderTest {
+
+    private static final String DDL = ""
+            + "create table user_info (\n"
+            + "  user_id bigint auto_increment primary key,\n"
+            + "  nick_name varchar(64),\n"
+            + "  email varchar(128) not null,\n"
+            + "  balance decimal(10, 2),\n"
+            + "  create_time timestamp\n"
+            + ");\n"
+            + "create unique index idx_email on user_info (email);\n"
+            + "create index idx_nick_name on user_info (nick_name);\n"
+            + "comment on table user_info is '用户信息';\n"
+            + "comment on column user_info.nick_name is '昵称';\n"
+            + "create table order_info (order_id int primary key, user_id bigint);\n";
+
+    private static Connection connection;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        connection = DriverManager.getConnection("jdbc:h2:mem:schema_reader;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : DDL.split(";")) {
+                if (!sql.trim().isEmpty()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        connection.close();
+    }
+
+    @Test
+    public void readTables() throws Exception {
+        SchemaReader reader = new JdbcMetaDataSchemaReader(connection);
+        List<TableInfo> tables = reader.readAll(TableFilter.acceptAll());
+
+        assertEquals(2, tables.size());
+        assertEquals(2, reader.getLastTableCount());
+        assertTrue(reader.getLastElapsedMillis() >= 0);
+
+        TableInfo user = tables.get(1);
+        assertEquals("user_info", user.getTableName());
+        assertEquals("UserInfo", user.getBeanName());
+        assertEquals("用户信息", user.getComment());
+        assertTrue(user.getHaveDateTime());
+        assertTrue(user.getHaveBigDecimal());
+
+        FieldInfo userId = user.getFieldList().get(0);
+        assertEquals("userId", userId.getPropertyName());
+        assertEquals("Long", userId.getJavaType());
+        assertTrue(userId.getIsAutoIncrement());
+        assertEquals("String", user.getFieldList().get(1).getJavaType());
+        assertEquals("昵称", user.getFieldList().get(1).getComment());
+
+        assertEquals(3, user.getKeyIndexMap().size());
+        assertEquals("user_id", user.getKeyIndexMap().get("PRIMARY").get(0).getFieldName());
+        assertEquals("email", user.getKeyIndexMap().get("idx_email").get(0).getFieldName());
+        assertEquals("nick_name", user.getKeyIndexMap().get("idx_nick_name").get(0).getFieldName());
+    }
+
+    @Test
+    public void readFilteredTables() throws Exception {
+        List<TableInfo> tables = new JdbcMetaDataSchemaReader(connection).readAll(TableFilter.of("order_*", null));
+
+        assertEquals(1, tables.size());
+        assertEquals("order_info", tables.get(0).getTableName());
+    }
+
+    @Test
+    public void recordMetrics() throws Exception {
+        IntrospectionMetrics metrics = new IntrospectionMetrics();
+        SchemaReader reader = new JdbcMetaDataSchemaReader(connection);
+        reader.setMetrics(metrics);
+        reader.readAll(TableFilter.acceptAll());
+
+        assertEquals(1, metrics.getQueryStats().get("getTables").getCount());
+        assertEquals(2, metrics.getQueryStats().get("getColumns").getCount());
+        assertEquals(7, metrics.getQueryStats().get("getColumns").getRows());
+        assertEquals(3, metrics.getTableStats().get("user_info").getCount());
+        assertEquals(2, metrics.getSlowestTables(5).size());
+    }
+
+    @Test
+    public void sameJavaTypesAsDdlReader() throws Exception {
+        TableInfo fromDatabase = new JdbcMetaDataSchemaReader(connection).readAll(TableFilter.of("user_info", null))
+                .get(0);
+        TableInfo fromDdl = DdlSchemaReader.parse(DDL.substring(0, DDL.indexOf("create unique index"))).get(0);
+
+        assertEquals(fromDdl.getFieldList().size(), fromDatabase.getFieldList().size());
+        for (int i = 0; i < fromDdl.getFieldList().size(); i++) {
+            assertEquals(fromDdl.getFieldList().get(i).getJavaType(), fromDatabase.getFieldList().get(i).getJavaType());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.easyjava.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.easyjava.bean.FieldInfo;
+import com.easyjava.bean.TableInfo;
+import com.easyjava.utils.JsonUtils;
+
+/**
+ * 合成表结构测试
+ */
+public class SyntheticSchemaTest {
+
+    @Test
+    public void createTables() {
+        List<TableInfo> tables = SyntheticSchema.create(12, 30, 3, null, 7);
+
+        assertEquals(12, tables.size());
+        assertEquals("synthetic_table_01", tables.get(0).getTableName());
+        assertEquals("SyntheticTable01", tables.get(0).getBeanName());
+
+        for (TableInfo table : tables) {
+            assertEquals(30, table.getFieldList().size());
+            FieldInfo id = table.getFieldList().get(0);
+            assertTrue(id.getIsAutoIncrement());
+            assertEquals("id", table.getKeyIndexMap().get("PRIMARY").get(0).getFieldName());
+            assertTrue(table.getKeyIndexMap().size() <= 4);
+        }
+    }
+
+    @Test
+    public void sameSeedSameSchema() {
+        String[] types = { "varchar", "int", "decimal" };
+        String first = JsonUtils.convertObject2Json(SyntheticSchema.create(3, 10, 2, types, 1));
+        String second = JsonUtils.convertObject2Json(SyntheticSchema.create(3, 10, 2, types, 1));
+
+        assertEquals(first, second);
+    }
+}